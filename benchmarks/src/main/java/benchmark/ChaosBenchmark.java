@@ -0,0 +1,46 @@
+package benchmark;
+
+import Game.GameManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo một bước {@link GameManager#update()} (headless) ở chế độ "chaos" với rất nhiều bóng
+ * cùng bay ({@link entity.BallPool}). Ngân sách cho 60 FPS là khoảng 16 ms mỗi bước.
+ * <p>
+ * Bóng rơi khỏi màn hình bị loại dần, nên màn được tải lại khi số bóng còn dưới một nửa
+ * để số bóng trong suốt vòng đo luôn cùng bậc với {@code balls}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Darkanoid.headless=true"})
+public class ChaosBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"100", "1000", "5000"})
+    public int balls;
+
+    private GameManager game;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        game = new GameManager(800, 600, true);
+        game.setChaosBalls(balls);
+        game.startDeterministic(SEED, 1, 0);
+    }
+
+    @Benchmark
+    public int update() {
+        game.update();
+        if (game.getBallCount() < balls / 2 || game.isGameOver() || game.isGameWin()) {
+            game.startDeterministic(SEED, 1, 0);
+        }
+        return game.getBallCount();
+    }
+}
@@ -0,0 +1,75 @@
+package benchmark;
+
+import entity.BallPool;
+import entity.Brick;
+import entity.BrickField;
+import entity.BrickHitListener;
+import entity.Paddle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo một bước {@link BallPool#update} của một quả bóng cạnh gạch hoặc paddle — đúng đường va chạm
+ * mà game chạy mỗi bước.
+ * <p>
+ * Trước mỗi phép đo, bóng được đặt lại (xóa pool, thêm lại) để bước kế tiếp đi vào gạch/paddle
+ * ({@code hit}) hoặc ở xa ({@code miss}), với cả hai chế độ va chạm. Gạch không bị trừ máu
+ * (bộ nghe chỉ đếm), nên bàn giữ nguyên qua mọi phép đo.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Darkanoid.headless=true"})
+public class CollisionBenchmark {
+
+    private static final int WIDTH = 800;
+    /** Thời lượng một bước mô phỏng ở tần số mặc định (60 Hz). */
+    private static final double TICK_SECONDS = 1.0 / 60;
+
+    @Param({"hit", "miss"})
+    public String contact;
+
+    @Param({"SWEPT", "DISCRETE"})
+    public String mode;
+
+    private final BallPool balls = new BallPool();
+    private BrickField bricks;
+    private Paddle paddle;
+    private int hits;
+    private final BrickHitListener countHits = cell -> hits++;
+    private int brickBallX, brickBallY, paddleBallX, paddleBallY;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        balls.setCollisionMode(BallPool.CollisionMode.valueOf(mode));
+        bricks = new BrickField(380, 100, 1, 1);   // gạch 40x20, mép dưới y = 120
+        bricks.place(Brick.NORMAL, 380, 100);
+        paddle = new Paddle(360, 560, 80, 15, 6);  // mặt trên y = 560
+
+        boolean hit = contact.equals("hit");
+        brickBallX = hit ? 395 : 100;
+        brickBallY = hit ? 123 : 400;   // bước kế tiếp chạm mép dưới của gạch
+        paddleBallX = hit ? 395 : 100;
+        paddleBallY = hit ? 546 : 300;  // bước kế tiếp chạm mặt trên của paddle
+    }
+
+    @Benchmark
+    public double stepIntoBrick() {
+        balls.clear();
+        balls.add(brickBallX, brickBallY, 4, -4);
+        balls.update(TICK_SECONDS, WIDTH, paddle, bricks, countHits);
+        return balls.getDy(0) + hits;
+    }
+
+    @Benchmark
+    public double stepIntoPaddle() {
+        balls.clear();
+        balls.add(paddleBallX, paddleBallY, 4, 4);
+        balls.update(TICK_SECONDS, WIDTH, paddle, bricks, countHits);
+        return balls.getDy(0);
+    }
+}
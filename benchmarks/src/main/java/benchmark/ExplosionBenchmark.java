@@ -0,0 +1,80 @@
+package benchmark;
+
+import entity.BlastResolver;
+import entity.Brick;
+import entity.BrickField;
+import entity.BrickFactory;
+import entity.BrickHitListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo một chuỗi nổ dây chuyền ({@link BlastResolver}) trên bàn gạch dày đặc
+ * kích thước {@code size x size}.
+ * <p>
+ * {@code density} là tỉ lệ (%) gạch nổ trên bàn: 100 = toàn bộ là gạch nổ ("minefield"),
+ * chuỗi nổ lan khắp bàn.
+ * </p>
+ * <p>
+ * Vụ nổ phá hủy gạch nên mỗi phép đo cần một bàn mới. Thay vì dựng lại bàn trước từng phép đo
+ * ({@code Level.Invocation}, làm sai lệch thời gian của các phép đo ngắn cỡ micro giây), mỗi vòng
+ * dựng sẵn {@value #BATCH} bàn rồi đo theo lô {@value #BATCH} phép nổ, mỗi phép dùng một bàn;
+ * thời gian cả lô được chia cho {@value #BATCH} để ra thời gian một phép nổ.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = ExplosionBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = ExplosionBenchmark.BATCH)
+@OperationsPerInvocation(ExplosionBenchmark.BATCH)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Darkanoid.headless=true"})
+public class ExplosionBenchmark {
+
+    @Param({"10", "20", "40"})
+    public int size;
+
+    @Param({"25", "100"})
+    public int density;
+
+    /** Số phép nổ (và số bàn dựng sẵn) mỗi vòng đo. */
+    static final int BATCH = 200;
+
+    private final BlastResolver blasts = new BlastResolver();
+    private final BrickField[] boards = new BrickField[BATCH];
+    private int trigger;
+    private int next;
+    private int hits;
+    private final BrickHitListener countHits = cell -> hits++;
+
+    @Setup(Level.Iteration)
+    public void buildBoards() {
+        for (int i = 0; i < BATCH; i++) boards[i] = buildBoard();
+        next = 0;
+        hits = 0;
+    }
+
+    private BrickField buildBoard() {
+        BrickField bricks = new BrickField(0, 0, size, size);
+        int w = BrickFactory.BRICK_WIDTH, h = BrickFactory.BRICK_HEIGHT;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                // Phân bố gạch nổ đều theo mật độ, luôn có gạch nổ ở ô giữa để châm ngòi
+                boolean explosive = ((row * size + col) * density) % 100 < density;
+                bricks.place(explosive ? Brick.EXPLOSIVE : Brick.NORMAL, col * w, row * h);
+            }
+        }
+        int center = size / 2;
+        trigger = bricks.place(Brick.EXPLOSIVE, center * w, center * h);
+        return bricks;
+    }
+
+    @Benchmark
+    public int explode() {
+        BrickField bricks = boards[next++];
+        bricks.hit(trigger);
+        blasts.detonate(bricks, trigger, countHits);
+        return hits;
+    }
+}
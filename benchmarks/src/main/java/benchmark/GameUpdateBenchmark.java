@@ -0,0 +1,43 @@
+package benchmark;
+
+import Game.GameManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo một bước {@link GameManager#update()} (headless) trên từng bố cục của
+ * {@code BrickFactory.createLevel(1..5)}.
+ * <p>
+ * Ván chơi được gieo seed cố định nên mọi lần chạy đo cùng một chuỗi trạng thái.
+ * Khi thua, ván được bắt đầu lại ngay (hiếm, không đáng kể so với số bước đo).
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Darkanoid.headless=true"})
+public class GameUpdateBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"1", "2", "3", "4", "5"})
+    public int level;
+
+    private GameManager game;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        game = new GameManager(800, 600, true);
+        game.startDeterministic(SEED, level, 0);
+    }
+
+    @Benchmark
+    public long update() {
+        game.update();
+        if (game.isGameOver() || game.isGameWin()) game.startDeterministic(SEED, level, 0);
+        return game.getTickCount();
+    }
+}
@@ -0,0 +1,30 @@
+package benchmark;
+
+import entity.BrickFactory;
+import entity.BrickField;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo {@link BrickFactory#createLevel(int, Random)} cho từng màn (dựng toàn bộ lưới gạch).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class LevelBuildBenchmark {
+
+    @Param({"1", "2", "3", "4", "5"})
+    public int level;
+
+    private final Random random = new Random(42L);
+
+    @Benchmark
+    public BrickField createLevel() {
+        return BrickFactory.createLevel(level, random);
+    }
+}
@@ -0,0 +1,61 @@
+package benchmark;
+
+import Powerup.PowerUpManager;
+import entity.BallPool;
+import entity.Paddle;
+import org.openjdk.jmh.annotations.*;
+import sound.SoundPlayer;
+import timing.GameClock;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo {@link PowerUpManager#update} khi có nhiều vật phẩm đang rơi cùng lúc.
+ * <p>
+ * Vật phẩm được tạo qua {@link PowerUpManager#spawnPowerUp} với bộ sinh ngẫu nhiên luôn
+ * "trúng", rải đều theo chiều ngang; paddle đặt ngoài đường rơi và đáy màn hình rất xa
+ * nên số vật phẩm không đổi trong suốt một vòng đo.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Darkanoid.headless=true"})
+public class PowerUpBenchmark {
+
+    /** Thời lượng một bước mô phỏng ở tần số mặc định (60 Hz). */
+    private static final double TICK_SECONDS = 1.0 / 60;
+
+    @Param({"10", "100", "1000"})
+    public int count;
+
+    private PowerUpManager manager;
+    private BallPool balls;
+    private Paddle paddle;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Random alwaysDrop = new Random() {
+            @Override
+            public double nextDouble() {
+                return 0.0; // luôn rơi vật phẩm
+            }
+        };
+        manager = new PowerUpManager(alwaysDrop, new GameClock(), SoundPlayer.SILENT);
+        for (int i = 0; i < count; i++) {
+            manager.spawnPowerUp((i * 40) % 760 + 20, 50 + (i / 19) * 20 + 10);
+        }
+        balls = new BallPool();
+        balls.add(400, 300, 4, -4);
+        paddle = new Paddle(-1000, -1000, 80, 15, 6);
+    }
+
+    @Benchmark
+    public int update() {
+        manager.update(balls, paddle, Integer.MAX_VALUE, TICK_SECONDS);
+        return manager.getActiveCount();
+    }
+}
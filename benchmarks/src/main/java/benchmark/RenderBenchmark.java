@@ -0,0 +1,63 @@
+package benchmark;
+
+import Game.GameManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo {@link GameManager#render(Graphics2D, double)} vào một {@link BufferedImage} ngoài màn hình.
+ * <p>
+ * Ảnh thật được tải (không headless) để đo đúng chi phí vẽ sprite. Trước mỗi vòng đo,
+ * mô phỏng chạy thêm {@value #TICKS_PER_ITERATION} bước để các vòng vẽ những khung hình khác nhau
+ * như khi chơi (thay vì chạy một bước trước từng phép đo, làm sai lệch thời gian đo).
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class RenderBenchmark {
+
+    private static final int WIDTH = 800, HEIGHT = 600;
+    /** Số bước mô phỏng giữa hai vòng đo (1 giây chơi ở 60 Hz). */
+    private static final int TICKS_PER_ITERATION = 60;
+
+    @Param({"1", "2", "3", "4", "5"})
+    public int level;
+
+    private GameManager game;
+    private BufferedImage frame;
+    private Graphics2D g;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = new GameManager(WIDTH, HEIGHT);
+        game.startDeterministic(42L, level, 0);
+        frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        g = frame.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Setup(Level.Iteration)
+    public void advance() {
+        for (int t = 0; t < TICKS_PER_ITERATION; t++) {
+            game.update();
+            if (game.isGameOver() || game.isGameWin()) game.startDeterministic(42L, level, 0);
+        }
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        game.render(g, 1.0);
+        return frame;
+    }
+}
@@ -0,0 +1,61 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import timing.TimerWheel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo {@link TimerWheel}: chi phí một tick khi có {@code timers} hẹn giờ đang chờ,
+ * và chi phí làm mới (hủy + đặt lại) một hẹn giờ như khi nhặt lại vật phẩm đang có hiệu lực.
+ * <p>
+ * Thời hạn được rải đều trên 10 giây (600 tick) và mỗi hẹn giờ hết hạn lại tự đặt lại,
+ * nên số hẹn giờ đang chờ không đổi trong suốt một vòng đo.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Darkanoid.headless=true"})
+public class TimerWheelBenchmark {
+
+    private static final int SPAN_TICKS = 600;
+
+    @Param({"10", "1000", "100000"})
+    public int timers;
+
+    private TimerWheel wheel;
+    private long refreshed;
+    private int fired;
+
+    private final Runnable rearm = new Runnable() {
+        @Override
+        public void run() {
+            fired++;
+            wheel.schedule(SPAN_TICKS, this);
+        }
+    };
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        wheel = new TimerWheel();
+        for (int i = 0; i < timers; i++) {
+            wheel.schedule(1 + i % SPAN_TICKS, rearm);
+        }
+        refreshed = wheel.schedule(SPAN_TICKS, rearm);
+    }
+
+    @Benchmark
+    public int advance() {
+        wheel.advance();
+        return fired;
+    }
+
+    @Benchmark
+    public long reschedule() {
+        refreshed = wheel.reschedule(refreshed, SPAN_TICKS, rearm);
+        return refreshed;
+    }
+}
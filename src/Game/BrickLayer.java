@@ -0,0 +1,156 @@
+package Game;
+
+import asset.AssetCache;
+import asset.SpriteCache;
+import entity.BrickField;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Lớp {@code BrickLayer} là lớp vẽ tĩnh (static layer) chứa ảnh nền và toàn bộ viên gạch.
+ * <p>
+ * Thay vì vẽ lại ảnh nền toàn màn hình và từng viên gạch ở mỗi khung hình, lớp này giữ
+ * một ảnh đệm đã vẽ sẵn. Chỉ những vùng có gạch thay đổi trạng thái (bị đánh trúng,
+ * bị phá hủy, {@code StrongBrick} chuyển sang ảnh nứt) mới được vẽ lại. Mỗi khung hình
+ * {@link GameManager} chỉ cần chép ảnh đệm này một lần rồi vẽ các vật thể chuyển động
+ * và HUD lên trên.
+ * </p>
+ *
+ * @see GameManager#render(Graphics2D, double)
+ */
+public class BrickLayer {
+
+    /** Kích thước của lớp vẽ (bằng khu vực chơi). */
+    private final int width, height;
+
+    /** Ảnh nền (có thể {@code null} → nền đen). */
+    private final Image background;
+
+    /** Ảnh đệm chứa nền và gạch đã vẽ sẵn. */
+    private BufferedImage layer;
+
+    /** Cần vẽ lại toàn bộ (ví dụ khi vừa tải màn mới). */
+    private boolean fullRedraw = true;
+
+    /** Các vùng cần vẽ lại, mỗi vùng 4 số: x, y, rộng, cao. */
+    private int[] dirty = new int[4 * 16];
+
+    /** Số vùng cần vẽ lại. */
+    private int dirtyCount;
+
+    /**
+     * Khởi tạo lớp vẽ tĩnh.
+     *
+     * @param width      chiều rộng khu vực chơi
+     * @param height     chiều cao khu vực chơi
+     * @param background ảnh nền (hoặc {@code null})
+     */
+    public BrickLayer(int width, int height, Image background) {
+        this.width = width;
+        this.height = height;
+        this.background = background;
+    }
+
+    /**
+     * Đánh dấu cần vẽ lại toàn bộ lớp (gọi khi tải màn chơi mới).
+     */
+    public void invalidateAll() {
+        fullRedraw = true;
+        dirtyCount = 0;
+    }
+
+    /**
+     * Đánh dấu vùng của một viên gạch cần vẽ lại (gạch bị đánh trúng hoặc bị phá hủy).
+     *
+     * @param bricks lưới gạch của màn chơi
+     * @param cell   ô của viên gạch vừa thay đổi trạng thái
+     */
+    public void invalidate(BrickField bricks, int cell) {
+        invalidate(bricks.getX(cell), bricks.getY(cell), bricks.getCellWidth(), bricks.getCellHeight());
+    }
+
+    /**
+     * Đánh dấu một vùng hình chữ nhật cần vẽ lại.
+     *
+     * @param x      hoành độ
+     * @param y      tung độ
+     * @param width  chiều rộng
+     * @param height chiều cao
+     */
+    public void invalidate(int x, int y, int width, int height) {
+        if (fullRedraw) return;
+        if (dirtyCount * 4 == dirty.length) dirty = Arrays.copyOf(dirty, dirty.length * 2);
+        int i = dirtyCount * 4;
+        dirty[i] = x;
+        dirty[i + 1] = y;
+        dirty[i + 2] = width;
+        dirty[i + 3] = height;
+        dirtyCount++;
+    }
+
+    /**
+     * Cập nhật các vùng bẩn (nếu có) rồi chép lớp tĩnh lên màn hình.
+     *
+     * @param g      đối tượng {@link Graphics2D} của khung hình
+     * @param bricks lưới gạch của màn chơi
+     */
+    public void render(Graphics2D g, BrickField bricks) {
+        if (layer == null || fullRedraw) {
+            prepare(bricks);
+        } else if (dirtyCount > 0) {
+            Graphics2D lg = layer.createGraphics();
+            for (int d = 0; d < dirtyCount; d++) {
+                int x = dirty[d * 4], y = dirty[d * 4 + 1];
+                int w = dirty[d * 4 + 2], h = dirty[d * 4 + 3];
+                lg.setClip(x, y, w, h);
+                drawBackground(lg);
+                // Vẽ lại các viên gạch còn lại chạm vào vùng bẩn (kể cả gạch lệch nửa ô)
+                int candidates = bricks.query(x, y, w, h);
+                for (int i = 0; i < candidates; i++) {
+                    bricks.render(lg, bricks.resultAt(i));
+                }
+            }
+            lg.dispose();
+            dirtyCount = 0;
+        }
+
+        g.drawImage(layer, 0, 0, null);
+    }
+
+    /**
+     * Vẽ lại toàn bộ lớp (nền và mọi viên gạch còn sống) mà không chép lên màn hình.
+     * <p>
+     * Có thể gọi ở luồng nền cho một lớp chưa được dùng để vẽ (ví dụ khi
+     * {@link LevelPrefetcher} dựng sẵn màn kế tiếp).
+     * </p>
+     *
+     * @param bricks lưới gạch của màn chơi
+     */
+    public void prepare(BrickField bricks) {
+        if (layer == null) layer = AssetCache.createCompatibleImage(width, height);
+        Graphics2D lg = layer.createGraphics();
+        drawBackground(lg);
+        for (int c = bricks.nextLive(0); c >= 0; c = bricks.nextLive(c + 1)) {
+            bricks.render(lg, c);
+        }
+        lg.dispose();
+        fullRedraw = false;
+        dirtyCount = 0;
+    }
+
+    /**
+     * Vẽ ảnh nền (hoặc nền đen) trong vùng clip hiện tại.
+     *
+     * @param g đối tượng {@link Graphics2D} của lớp đệm
+     */
+    private void drawBackground(Graphics2D g) {
+        if (background != null) {
+            SpriteCache.getInstance().draw(g, background, 0, 0, width, height);
+        } else {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, width, height);
+        }
+    }
+}
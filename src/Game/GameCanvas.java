@@ -0,0 +1,228 @@
+package Game;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.lang.reflect.Constructor;
+import java.util.function.Consumer;
+
+/**
+ * Lớp {@code GameCanvas} là bề mặt vẽ chủ động (active rendering) dùng {@link BufferStrategy}.
+ * <p>
+ * Khác với {@code repaint()} (Swing có thể gộp hoặc trì hoãn yêu cầu vẽ, và phải vẽ trên EDT),
+ * luồng của {@link GameLoop} tự vẽ vào bộ đệm sau rồi trình chiếu ({@link BufferStrategy#show()})
+ * ngay lập tức. Nhờ vậy mỗi khung hình được đưa ra màn hình đúng lúc vòng lặp quyết định,
+ * và có thể vượt quá 60 FPS trên màn hình tần số quét cao.
+ * </p>
+ * <ul>
+ * <li>Mặc định dùng 3 bộ đệm (triple buffering), tự lùi về 2 nếu không tạo được.</li>
+ * <li>Có tùy chọn đồng bộ dọc (vsync): yêu cầu bộ đệm lật trang có vsync
+ *     ({@code sun.java2d.pipe.hw.ExtendedBufferCapabilities}, {@code VSYNC_ON}), để
+ *     {@link BufferStrategy#show()} chờ khoảng trống dọc của màn hình. Lớp này nằm trong gói nội bộ
+ *     của JDK, chỉ dùng được khi chạy với
+ *     {@code --add-exports java.desktop/sun.java2d.pipe.hw=ALL-UNNAMED} và trên pipeline tăng tốc
+ *     phần cứng (Direct3D / OpenGL); nếu không, {@link #isVsyncActive()} trả về {@code false} và chỉ
+ *     còn giới hạn FPS theo tần số quét của {@link GamePanel}.</li>
+ * <li>Đo thời gian trình chiếu của khung hình gần nhất và trung bình trượt.</li>
+ * </ul>
+ */
+public class GameCanvas extends Canvas {
+
+    /** Số bộ đệm mặc định (triple buffering). */
+    public static final int DEFAULT_BUFFERS = 3;
+
+    /** Số bộ đệm yêu cầu. */
+    private final int buffers;
+
+    /** Chiến lược bộ đệm, được tạo khi canvas đã hiển thị được. */
+    private volatile BufferStrategy strategy;
+
+    /** Yêu cầu đồng bộ dọc. */
+    private volatile boolean vsync = false;
+
+    /** Chiến lược bộ đệm hiện tại được tạo với vsync thật (lật trang có {@code VSYNC_ON}). */
+    private volatile boolean vsyncActive = false;
+
+    /** Thời gian (ns) trình chiếu của khung hình gần nhất. */
+    private volatile long lastPresentNanos;
+
+    /** Thời gian (ns) trình chiếu trung bình trượt. */
+    private volatile double averagePresentNanos;
+
+    /**
+     * Khởi tạo canvas với số bộ đệm mặc định.
+     *
+     * @param width  chiều rộng
+     * @param height chiều cao
+     */
+    public GameCanvas(int width, int height) {
+        this(width, height, DEFAULT_BUFFERS);
+    }
+
+    /**
+     * Khởi tạo canvas.
+     *
+     * @param width   chiều rộng
+     * @param height  chiều cao
+     * @param buffers số bộ đệm (2 = double buffering, 3 = triple buffering)
+     */
+    public GameCanvas(int width, int height, int buffers) {
+        this.buffers = Math.max(2, buffers);
+        setPreferredSize(new Dimension(width, height));
+        setBackground(Color.BLACK);
+        setIgnoreRepaint(true); // Hệ thống không tự vẽ, vòng lặp game tự vẽ
+        setFocusable(true);
+    }
+
+    /**
+     * Vẽ và trình chiếu một khung hình. Được gọi từ luồng của {@link GameLoop}.
+     *
+     * @param painter hàm vẽ nội dung khung hình
+     * @return {@code false} nếu canvas chưa hiển thị (khung hình bị bỏ qua)
+     */
+    public boolean renderFrame(Consumer<Graphics2D> painter) {
+        if (!isShowing() || getWidth() <= 0 || getHeight() <= 0) return false;
+
+        BufferStrategy bs = strategy;
+        try {
+            if (bs == null) bs = createStrategy();
+
+            do {
+                do {
+                    Graphics2D g = (Graphics2D) bs.getDrawGraphics();
+                    try {
+                        painter.accept(g);
+                    } finally {
+                        g.dispose();
+                    }
+                } while (bs.contentsRestored()); // Bộ đệm bị khôi phục giữa chừng → vẽ lại
+
+                long start = System.nanoTime();
+                bs.show(); // Với vsync thật: chờ khoảng trống dọc của màn hình
+                if (vsync && !vsyncActive) Toolkit.getDefaultToolkit().sync(); // Chỉ đẩy hàng đợi vẽ, không chờ màn hình
+                recordPresent(System.nanoTime() - start);
+            } while (bs.contentsLost());
+            return true;
+        } catch (IllegalStateException e) {
+            // Canvas vừa bị gỡ khỏi cửa sổ (ví dụ quay về menu) → tạo lại ở khung hình sau
+            strategy = null;
+            return false;
+        }
+    }
+
+    /**
+     * Tạo chiến lược bộ đệm: khi bật vsync thử lật trang có vsync, rồi lật trang (page flipping),
+     * rồi lùi dần về bộ đệm thường.
+     *
+     * @return chiến lược bộ đệm đã tạo
+     */
+    private synchronized BufferStrategy createStrategy() {
+        if (strategy != null) return strategy;
+        vsyncActive = false;
+        BufferCapabilities vsyncFlip = vsync ? vsyncCapabilities() : null;
+        if (vsyncFlip != null) {
+            try {
+                createBufferStrategy(buffers, vsyncFlip);
+                vsyncActive = true;
+                strategy = getBufferStrategy();
+                return strategy;
+            } catch (AWTException e) {
+                // Pipeline hiện tại không lật trang được → không có vsync, thử các cách dưới
+            }
+        }
+        try {
+            BufferCapabilities flip = new BufferCapabilities(
+                    new ImageCapabilities(true), new ImageCapabilities(true),
+                    BufferCapabilities.FlipContents.UNDEFINED);
+            createBufferStrategy(buffers, flip);
+        } catch (AWTException e) {
+            createBufferStrategy(buffers); // AWT tự lùi về blit / 2 bộ đệm khi cần
+        }
+        strategy = getBufferStrategy();
+        return strategy;
+    }
+
+    /**
+     * Khả năng bộ đệm lật trang có vsync ({@code ExtendedBufferCapabilities} với {@code VSYNC_ON}),
+     * tạo qua phản chiếu vì lớp này không thuộc API công khai.
+     *
+     * @return khả năng bộ đệm, hoặc {@code null} nếu JDK không cho truy cập
+     *         (thiếu {@code --add-exports java.desktop/sun.java2d.pipe.hw=ALL-UNNAMED})
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static BufferCapabilities vsyncCapabilities() {
+        try {
+            Class<?> type = Class.forName("sun.java2d.pipe.hw.ExtendedBufferCapabilities");
+            Class<? extends Enum> vsyncType = (Class<? extends Enum>)
+                    Class.forName("sun.java2d.pipe.hw.ExtendedBufferCapabilities$VSyncType");
+            Constructor<?> constructor = type.getConstructor(ImageCapabilities.class, ImageCapabilities.class,
+                    BufferCapabilities.FlipContents.class, vsyncType);
+            return (BufferCapabilities) constructor.newInstance(
+                    new ImageCapabilities(true), new ImageCapabilities(true),
+                    BufferCapabilities.FlipContents.UNDEFINED, Enum.valueOf(vsyncType, "VSYNC_ON"));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Ghi nhận thời gian trình chiếu (trung bình trượt với hệ số 1/16).
+     *
+     * @param nanos thời gian trình chiếu (ns) của khung hình vừa vẽ
+     */
+    private void recordPresent(long nanos) {
+        lastPresentNanos = nanos;
+        double avg = averagePresentNanos;
+        averagePresentNanos = avg == 0 ? nanos : avg + (nanos - avg) / 16.0;
+    }
+
+    @Override
+    public void removeNotify() {
+        strategy = null;
+        super.removeNotify();
+    }
+
+    /** @return {@code true} nếu đang yêu cầu đồng bộ dọc */
+    public boolean isVsync() { return vsync; }
+
+    /**
+     * @return {@code true} nếu chiến lược bộ đệm hiện tại thật sự chờ khoảng trống dọc
+     *         (ngược lại vsync chỉ còn là giới hạn FPS theo tần số quét)
+     */
+    public boolean isVsyncActive() { return vsyncActive; }
+
+    /**
+     * Bật/tắt đồng bộ dọc. Chiến lược bộ đệm được tạo lại ở khung hình kế tiếp.
+     *
+     * @param vsync {@code true} để bật
+     */
+    public void setVsync(boolean vsync) {
+        if (this.vsync == vsync) return;
+        this.vsync = vsync;
+        strategy = null;
+    }
+
+    /** @return thời gian (ns) trình chiếu của khung hình gần nhất */
+    public long getLastPresentNanos() { return lastPresentNanos; }
+
+    /** @return thời gian (ns) trình chiếu trung bình trượt */
+    public double getAveragePresentNanos() { return averagePresentNanos; }
+
+    /**
+     * Tần số quét của màn hình đang chứa canvas.
+     *
+     * @return số Hz, hoặc {@code 0} nếu không xác định được
+     */
+    public int getRefreshRate() {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        GraphicsDevice device;
+        if (gc != null) {
+            device = gc.getDevice();
+        } else if (!GraphicsEnvironment.isHeadless()) {
+            device = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice(); // Chưa hiển thị
+        } else {
+            return 0;
+        }
+        int rate = device.getDisplayMode().getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? 0 : rate;
+    }
+}
@@ -0,0 +1,164 @@
+package Game;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Lớp {@code GameLoop} là vòng lặp trò chơi chạy trên một luồng (thread) riêng,
+ * thay thế cho {@link javax.swing.Timer} chạy trên EDT.
+ * <p>
+ * Vòng lặp sử dụng bước mô phỏng cố định (fixed timestep):
+ * <ul>
+ * <li>Thời gian thực trôi qua (tính bằng nano giây) được cộng dồn vào bộ tích lũy.</li>
+ * <li>Mỗi khi bộ tích lũy đủ một bước, hàm cập nhật (update) được gọi một lần.</li>
+ * <li>Phần dư còn lại được chuyển thành hệ số nội suy {@code alpha} (0..1)
+ *     để vẽ mượt giữa trạng thái trước và trạng thái hiện tại.</li>
+ * </ul>
+ * Nhờ vậy tốc độ vật lý không còn phụ thuộc vào tốc độ khung hình hay độ nghẽn của EDT.
+ * </p>
+ */
+public class GameLoop implements Runnable {
+
+    /** Số bước cập nhật mặc định mỗi giây. */
+    public static final int DEFAULT_TICK_RATE = 60;
+
+    /** Giới hạn khung hình mặc định mỗi giây ({@code 0} = không giới hạn). */
+    public static final int DEFAULT_MAX_FPS = 120;
+
+    /** Số bước cập nhật tối đa trong một khung hình (tránh "vòng xoáy chết"). */
+    public static final int DEFAULT_MAX_TICKS_PER_FRAME = 5;
+
+    /** Thời gian tối đa (ns) được tính cho một khung hình, ví dụ khi máy bị treo tạm thời. */
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    /** Hàm cập nhật logic, được gọi đúng một lần mỗi bước cố định. */
+    private final Runnable updater;
+
+    /** Hàm vẽ, nhận hệ số nội suy {@code alpha} trong khoảng [0, 1). */
+    private final DoubleConsumer renderer;
+
+    /** Số bước cập nhật mỗi giây. */
+    private volatile int tickRate = DEFAULT_TICK_RATE;
+
+    /** Số khung hình tối đa mỗi giây ({@code 0} = không giới hạn). */
+    private volatile int maxFps = DEFAULT_MAX_FPS;
+
+    /** Số bước cập nhật tối đa được chạy bù trong một khung hình. */
+    private volatile int maxTicksPerFrame = DEFAULT_MAX_TICKS_PER_FRAME;
+
+    /** Cờ cho biết vòng lặp đang chạy. */
+    private volatile boolean running = false;
+
+    /** Luồng chạy vòng lặp (luồng cũ tự thoát khi không còn là luồng hiện hành). */
+    private volatile Thread thread;
+
+    /**
+     * Khởi tạo vòng lặp trò chơi.
+     *
+     * @param updater  hàm cập nhật logic (gọi mỗi bước cố định)
+     * @param renderer hàm vẽ, nhận hệ số nội suy giữa hai bước
+     */
+    public GameLoop(Runnable updater, DoubleConsumer renderer) {
+        this.updater = updater;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Bắt đầu vòng lặp trên một luồng mới (nếu chưa chạy).
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this, "GameLoop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Dừng vòng lặp. Luồng sẽ kết thúc sau khi hoàn thành khung hình hiện tại.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            thread.interrupt();
+        }
+        thread = null;
+    }
+
+    /** @return {@code true} nếu vòng lặp đang chạy */
+    public boolean isRunning() { return running; }
+
+    /** @return số bước cập nhật mỗi giây */
+    public int getTickRate() { return tickRate; }
+
+    /** @param tickRate số bước cập nhật mỗi giây (tối thiểu 1) */
+    public void setTickRate(int tickRate) { this.tickRate = Math.max(1, tickRate); }
+
+    /** @return số khung hình tối đa mỗi giây ({@code 0} = không giới hạn) */
+    public int getMaxFps() { return maxFps; }
+
+    /** @param maxFps số khung hình tối đa mỗi giây ({@code 0} = không giới hạn) */
+    public void setMaxFps(int maxFps) { this.maxFps = Math.max(0, maxFps); }
+
+    /** @return số bước cập nhật tối đa trong một khung hình */
+    public int getMaxTicksPerFrame() { return maxTicksPerFrame; }
+
+    /** @param maxTicksPerFrame số bước cập nhật tối đa trong một khung hình (tối thiểu 1) */
+    public void setMaxTicksPerFrame(int maxTicksPerFrame) { this.maxTicksPerFrame = Math.max(1, maxTicksPerFrame); }
+
+    /**
+     * Thân vòng lặp: cộng dồn thời gian thực, chạy đủ số bước cập nhật,
+     * vẽ với hệ số nội suy rồi ngủ cho đến khung hình tiếp theo (nếu có giới hạn FPS).
+     */
+    @Override
+    public void run() {
+        Thread self = Thread.currentThread();
+        long previous = System.nanoTime();
+        long accumulator = 0;
+
+        while (running && thread == self) {
+            long frameStart = System.nanoTime();
+            long elapsed = Math.min(frameStart - previous, MAX_FRAME_NANOS);
+            previous = frameStart;
+            accumulator += elapsed;
+
+            long tickNanos = 1_000_000_000L / tickRate;
+            int ticks = 0;
+            while (accumulator >= tickNanos && ticks < maxTicksPerFrame) {
+                updater.run();
+                accumulator -= tickNanos;
+                ticks++;
+            }
+            // Máy quá chậm: bỏ phần thời gian không kịp xử lý thay vì chạy bù mãi
+            if (accumulator >= tickNanos) accumulator %= tickNanos;
+
+            renderer.accept(accumulator / (double) tickNanos);
+
+            if (!sleepUntilNextFrame(frameStart, tickNanos - accumulator)) return;
+        }
+    }
+
+    /**
+     * Ngủ cho đến khung hình kế tiếp.
+     * Nếu không giới hạn FPS, vẫn nhường CPU đến bước cập nhật tiếp theo.
+     *
+     * @param frameStart    thời điểm (ns) bắt đầu khung hình hiện tại
+     * @param untilNextTick thời gian (ns) còn lại đến bước cập nhật kế tiếp
+     * @return {@code false} nếu luồng bị ngắt (vòng lặp cần thoát)
+     */
+    private boolean sleepUntilNextFrame(long frameStart, long untilNextTick) {
+        int fps = maxFps;
+        long wait = fps > 0
+                ? frameStart + 1_000_000_000L / fps - System.nanoTime()
+                : Math.min(untilNextTick, 1_000_000L);
+        if (wait <= 0) {
+            Thread.yield();
+            return true;
+        }
+        try {
+            Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+}
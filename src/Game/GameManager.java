@@ -1,15 +1,18 @@
 package Game;
 
 import Powerup.PowerUpManager;
+import asset.AssetCache;
 import entity.*;
+import replay.ReplayRecorder;
 import sound.Sound;
+import sound.SoundPlayer;
+import timing.GameClock;
+import timing.TimerWheel;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.List;
+import java.util.Random;
 
 /**
  * Lớp {@code GameManager} là bộ điều khiển trung tâm của trò chơi Arkanoid.
@@ -18,21 +21,40 @@ import java.util.List;
  * <ul>
  * <li>Vòng lặp trò chơi (cập nhật logic {@link #update()} và vẽ đồ họa {@link #render(Graphics2D)}).</li>
  * <li>Trạng thái trò chơi (điểm số, mạng sống, thắng, thua, tạm dừng).</li>
- * <li>Quản lý các đối tượng trong game ({@link Paddle}, {@link Ball}, {@link Brick}).</li>
+ * <li>Quản lý các đối tượng trong game ({@link Paddle}, các quả bóng trong {@link BallPool}, {@link Brick}).</li>
  * <li>Xử lý tiến trình qua các màn chơi và chuyển màn.</li>
  * <li>Quản lý vật phẩm (thông qua {@link PowerUpManager}).</li>
  * <li>Xử lý đầu vào (input) từ người dùng.</li>
  * </ul>
+ * <p>
+ * Mô phỏng là tất định (deterministic): mọi yếu tố ngẫu nhiên (bố cục màn ngẫu nhiên,
+ * vật phẩm rơi ra) đều lấy từ một bộ sinh số đã gieo {@link #getSeed() seed} của phiên chơi,
+ * và mọi thời hạn đều đo bằng số bước mô phỏng. Cùng seed và cùng chuỗi phím theo tick
+ * sẽ cho ra đúng cùng ván chơi — đó là cơ sở của {@link ReplayRecorder} và
+ * {@link replay.ReplayPlayer}.
+ * </p>
  */
 public class GameManager {
     /** Chiều rộng và chiều cao của khu vực chơi game. */
     private int width, height;
     /** Đối tượng thanh đỡ của người chơi. */
     private Paddle paddle;
-    /** Đối tượng quả bóng. */
-    private Ball ball;
-    /** Danh sách các viên gạch trong màn chơi hiện tại. */
-    private List<Brick> bricks;
+    /** Các quả bóng đang bay (multi-ball, trạng thái lưu theo mảng). */
+    private BallPool balls;
+    /** Số bóng thêm vào mỗi màn ở chế độ "chaos" ({@code 0} = chơi thường). */
+    private int chaosBalls = 0;
+    /** Lưới gạch của màn chơi hiện tại (mảng nguyên thủy theo ô, cũng là chỉ mục không gian). */
+    private BrickField bricks;
+    /** Xử lý khi bóng chạm gạch (tạo một lần, dùng cho cả hai chế độ va chạm). */
+    private final BrickHitListener brickHitHandler = this::handleBrickHit;
+    /** Bộ lan vụ nổ (BFS qua lưới gạch, có thể đặt ngòi nổ theo tick). */
+    private final BlastResolver blasts = new BlastResolver();
+    /** Xử lý khi vụ nổ đánh trúng gạch (tạo một lần). */
+    private final BrickHitListener blastHitHandler = this::handleBlastHit;
+    /** Xử lý khi lưới gạch báo hết gạch phá được (tạo một lần). */
+    private final LevelClearListener levelClearHandler = () -> levelClearPending = true;
+    /** Cờ: lưới gạch vừa báo hết gạch phá được, chờ chốt ở cuối bước mô phỏng. */
+    private boolean levelClearPending = false;
     /** Đối tượng quản lý các vật phẩm (power-up). */
     private PowerUpManager powerUpManager;
 
@@ -55,29 +77,72 @@ public class GameManager {
 
     /** Hình ảnh nền của trò chơi. */
     private BufferedImage backgroundImage;
-    /** Đối tượng quản lý âm thanh (Singleton). */
-    private Sound sound;
+    /** Lớp vẽ tĩnh chứa nền và gạch, chỉ vẽ lại vùng có gạch thay đổi. */
+    private BrickLayer brickLayer;
+    /** Lớp vẽ tĩnh dự phòng, nơi {@link LevelPrefetcher} vẽ sẵn màn kế tiếp ({@code null} khi headless). */
+    private BrickLayer spareLayer;
+    /** Chữ của thanh thông tin và các màn hình phủ, vẽ sẵn thành ảnh ({@code null} khi headless). */
+    private final Hud hud;
+    /** Bộ dựng sẵn màn kế tiếp trong lúc đếm ngược ({@code null} khi headless: dựng đồng bộ). */
+    private final LevelPrefetcher prefetcher;
+    /**
+     * Nơi phát âm thanh của phiên chơi: singleton {@link Sound} khi chơi thật,
+     * {@link SoundPlayer#SILENT} khi headless (không chạm trạng thái tĩnh dùng chung).
+     */
+    private final SoundPlayer sound;
+    /** Chế độ headless: chỉ chạy logic, không vẽ, không phát âm thanh. */
+    private final boolean headless;
 
     /** Màn chơi hiện tại. */
     private int currentLevel = 1;
-    /** Tổng số màn chơi tối đa. */
-    private static final int MAX_LEVEL = 5;
+    /** Tổng số màn chơi (màn dựng sẵn và màn thêm từ file). */
+    private static final int MAX_LEVEL = BrickFactory.LEVEL_COUNT;
 
     // ⚡ Trạng thái chuyển màn
     /** Cờ trạng thái: vừa hoàn thành một màn chơi. */
     private boolean levelComplete = false;
-    /** Mốc thời gian (ms) khi màn chơi hoàn thành. */
-    private long levelCompleteTime = 0;
+    /** Hẹn giờ tự động chuyển màn trên đồng hồ mô phỏng (đặt khi màn chơi hoàn thành). */
+    private long nextLevelTimer = TimerWheel.NONE;
+    /** Hành động của hẹn giờ chuyển màn (tạo một lần, không cấp phát mỗi màn). */
+    private final Runnable nextLevelTask = this::goToNextLevel;
+    /** Mốc thời gian mô phỏng (ms) khi màn hiện tại bắt đầu (tính thời gian qua màn). */
+    private long levelStartTime = 0;
+    /** Cờ: đã ghi nhận lần chơi màn hiện tại vào tiến độ chưa (ở bước mô phỏng đầu tiên). */
+    private boolean attemptRecorded = false;
     /** Thời gian chờ (ms) trước khi tự động chuyển màn. */
     private final int LEVEL_DELAY_MS = 5000; // 5 giây chờ
 
     /** Callback (hàm) được gọi khi người chơi chọn quay về menu. */
     private Runnable onReturnToMenu;
-    /** Đối tượng quản lý bảng xếp hạng. */
-    private final LeaderboardManager leaderboardManager = new LeaderboardManager();
+    /** Đối tượng quản lý bảng xếp hạng ({@code null} khi headless: không mở file bảng điểm). */
+    private final LeaderboardManager leaderboardManager;
     /** Cờ đảm bảo điểm chỉ được lưu một lần mỗi phiên chơi. */
     private boolean scoreSaved = false;
 
+    /** Số bước mô phỏng mỗi giây, do {@link GameLoop} quyết định. */
+    private int tickRate = GameLoop.DEFAULT_TICK_RATE;
+    /** Độ dài (giây) của một bước mô phỏng cố định. */
+    private double tickSeconds = 1.0 / GameLoop.DEFAULT_TICK_RATE;
+
+    /**
+     * Bộ sinh số ngẫu nhiên của phiên chơi (seed của từng màn, vật phẩm rơi ra).
+     * Bố cục mỗi màn được dựng từ một bộ sinh riêng gieo bằng seed rút từ bộ sinh này.
+     */
+    private final Random random = new Random();
+    /**
+     * Seed bố cục của màn kế tiếp, rút từ {@link #random} ngay khi hoàn thành màn; màn dựng sẵn
+     * ở luồng nền và màn dựng đồng bộ khi chuyển màn đều dựng từ seed này nên luôn giống hệt nhau.
+     */
+    private long nextLevelSeed;
+    /** Seed của phiên chơi. */
+    private long seed;
+    /** Số lần gọi {@link #update()} (kể cả lúc tạm dừng), dùng để đánh số tick của replay. */
+    private long tickCount = 0;
+    /** Đồng hồ mô phỏng: chỉ tiến khi trò chơi đang chạy; giữ bánh xe hẹn giờ của hiệu ứng. */
+    private final GameClock clock = new GameClock(GameLoop.DEFAULT_TICK_RATE);
+    /** Bộ ghi replay đang hoạt động ({@code null} nếu không ghi). */
+    private ReplayRecorder recorder;
+
     /**
      * Kiểm tra xem trò chơi đã kết thúc (thua) chưa.
      * @return true nếu đã thua, ngược lại false.
@@ -97,26 +162,183 @@ public class GameManager {
      * @param height Chiều cao của khu vực chơi game.
      */
     public GameManager(int width, int height) {
+        this(width, height, false);
+    }
+
+    /**
+     * Khởi tạo GameManager, có thể ở chế độ headless (mô phỏng không đồ họa, không âm thanh).
+     * <p>
+     * Ở chế độ headless, không ảnh nào được tải, không phát âm thanh, không mở bảng xếp hạng
+     * hay tiến độ, không in nhật ký và {@link #render(Graphics2D, double)} không vẽ gì. Logic {@link #update()} và
+     * {@link #onKeyPressed(int)} giữ nguyên, nên có thể chạy hàng triệu bước mô phỏng
+     * trên máy CI để soak test, huấn luyện AI hoặc kiểm tra replay.
+     * </p>
+     *
+     * @param width    Chiều rộng của khu vực chơi game.
+     * @param height   Chiều cao của khu vực chơi game.
+     * @param headless {@code true} để chạy không đồ họa, không âm thanh.
+     */
+    public GameManager(int width, int height, boolean headless) {
         this.width = width;
         this.height = height;
+        this.headless = headless;
 
-        try {
-            backgroundImage = ImageIO.read(getClass().getResource("/img/game_bg.jpg"));
-        } catch (IOException | IllegalArgumentException e) {
-            System.out.println("Không tìm thấy ảnh nền, dùng nền đen mặc định");
-            backgroundImage = null;
+        if (headless) {
+            sound = SoundPlayer.SILENT;
+            leaderboardManager = null;
+            prefetcher = null;
+            hud = null;
+        } else {
+            backgroundImage = AssetCache.getInstance().getImage(AssetCache.GAME_BACKGROUND);
+            sound = Sound.getInstance();
+            leaderboardManager = new LeaderboardManager();
+            prefetcher = new LevelPrefetcher();
+            spareLayer = new BrickLayer(width, height, backgroundImage);
+            hud = new Hud();
         }
+        brickLayer = new BrickLayer(width, height, backgroundImage);
+        balls = new BallPool();
+        balls.setSoundPlayer(sound);
 
-        sound = Sound.getInstance();
+        setSeed(new Random().nextLong());
         reset();
     }
 
+    /**
+     * Gieo lại seed cho bộ sinh số ngẫu nhiên của phiên chơi.
+     * Có tác dụng từ lần tải màn kế tiếp.
+     *
+     * @param seed seed mới
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        if (prefetcher != null) prefetcher.discard(); // Màn dựng sẵn theo seed cũ không còn đúng
+        random.setSeed(seed);
+    }
+
+    /**
+     * Lấy seed của phiên chơi.
+     * @return seed đã gieo gần nhất.
+     */
+    public long getSeed() { return seed; }
+
+    /**
+     * Số bước mô phỏng đã chạy kể từ khi khởi tạo (hoặc từ {@link #startDeterministic}).
+     * @return số tick.
+     */
+    public long getTickCount() { return tickCount; }
+
+    /**
+     * Đồng hồ mô phỏng tính bằng mili giây, suy ra từ số bước đã chạy khi trò chơi không tạm dừng.
+     * Dùng thay cho {@link System#currentTimeMillis()} để thời hạn không phụ thuộc tốc độ chạy
+     * và dừng lại khi tạm dừng.
+     *
+     * @return thời gian mô phỏng (ms)
+     */
+    public long simulationMillis() {
+        return clock.getMillis();
+    }
+
+    /**
+     * Đưa mô phỏng về một trạng thái bắt đầu tái lập được: gieo seed, đặt lại đồng hồ mô phỏng
+     * và các phím đang giữ, rồi tải màn chơi.
+     *
+     * @param seed       seed của phiên chơi
+     * @param level      màn bắt đầu
+     * @param totalScore tổng điểm lúc bắt đầu
+     */
+    public void startDeterministic(long seed, int level, int totalScore) {
+        setSeed(seed);
+        tickCount = 0;
+        clock.reset();
+        leftPressed = false;
+        rightPressed = false;
+        this.totalScore = totalScore;
+        scoreSaved = false;
+        loadLevel(level);
+    }
+
+    /**
+     * Bắt đầu ghi replay từ màn chơi cho trước (với một seed mới).
+     *
+     * @param recorder bộ ghi replay
+     * @param level    màn bắt đầu
+     */
+    public void startRecording(ReplayRecorder recorder, int level) {
+        long newSeed = new Random().nextLong();
+        startDeterministic(newSeed, level, totalScore);
+        recorder.begin(width, height, tickRate, newSeed, level, totalScore, chaosBalls, blasts.getFuseTicks());
+        this.recorder = recorder;
+    }
+
+    /**
+     * Kết thúc ghi replay.
+     *
+     * @return bộ ghi đã kết thúc, hoặc {@code null} nếu không ghi
+     */
+    public ReplayRecorder stopRecording() {
+        ReplayRecorder finished = recorder;
+        recorder = null;
+        if (finished != null) finished.finish(totalScore, score);
+        return finished;
+    }
+
+    /**
+     * Hash của trạng thái mô phỏng hiện tại (bóng, paddle, điểm, mạng, gạch, vật phẩm, cờ),
+     * dùng để phát hiện replay bị lệch. Không cấp phát bộ nhớ.
+     *
+     * @return hash 32 bit
+     */
+    public int stateHash() {
+        int h = balls.hash(0);
+        h = 31 * h + paddle.getX();
+        h = 31 * h + paddle.getWidth();
+        h = 31 * h + score;
+        h = 31 * h + totalScore;
+        h = 31 * h + lives;
+        h = 31 * h + currentLevel;
+        h = 31 * h + bricks.getLiveCount();
+        h = 31 * h + powerUpManager.getActiveCount();
+        int flags = (paused ? 1 : 0) | (gameOver ? 2 : 0) | (gameWin ? 4 : 0) | (levelComplete ? 8 : 0);
+        return 31 * h + flags;
+    }
+
+    /** @return điểm của màn hiện tại */
+    public int getScore() { return score; }
+
+    /** @return tổng điểm của phiên chơi */
+    public int getTotalScore() { return totalScore; }
+
+    /** @return số mạng còn lại */
+    public int getLives() { return lives; }
+
+    /** @return màn chơi hiện tại */
+    public int getCurrentLevel() { return currentLevel; }
+
+    /** @return {@code true} nếu màn hiện tại đã hoàn thành (đang chờ chuyển màn) */
+    public boolean isLevelComplete() { return levelComplete; }
+
+    /** @return chiều rộng khu vực chơi */
+    public int getWidth() { return width; }
+
+    /** @return thanh đỡ của màn hiện tại (chỉ đọc, ví dụ cho bộ điều khiển tự chơi) */
+    public Paddle getPaddle() { return paddle; }
+
+    /** @return các quả bóng đang bay (chỉ đọc, ví dụ cho bộ điều khiển tự chơi) */
+    public BallPool getBalls() { return balls; }
+
+    /**
+     * Kiểm tra GameManager có đang chạy ở chế độ headless không.
+     * @return true nếu không có đồ họa và âm thanh.
+     */
+    public boolean isHeadless() { return headless; }
+
     /**
      * Reset toàn bộ trò chơi về trạng thái ban đầu (như mới khởi động).
      * Đặt lại tổng điểm (totalScore) về 0 và bắt đầu từ màn 1.
      */
     public void resetGame() {
-        System.out.println("🔁 FULL RESET GAME CALLED");
+        log("🔁 FULL RESET GAME CALLED");
         score = 0;
         totalScore = 0;
         lives = 3;
@@ -129,7 +351,7 @@ public class GameManager {
         scoreSaved = false;
 
         loadLevel(currentLevel);
-        System.out.println("✅ Game reset hoàn toàn! totalScore = " + totalScore);
+        log("✅ Game reset hoàn toàn! totalScore = " + totalScore);
     }
 
     /**
@@ -138,7 +360,7 @@ public class GameManager {
      * Đặt lại tổng điểm (totalScore) về 0 và bắt đầu từ màn 1.
      */
     public void startNewGame() {
-        System.out.println("🎮 Start New Game!");
+        log("🎮 Start New Game!");
         totalScore = 0;
         score = 0;
         lives = 3;
@@ -157,7 +379,7 @@ public class GameManager {
      * Đặt lại tổng điểm (totalScore) về 0.
      */
     public void resetSession() {
-        System.out.println("🔄 Reset session (return to menu or new play)!");
+        log("🔄 Reset session (return to menu or new play)!");
         totalScore = 0;
         score = 0;
         lives = 3;
@@ -188,11 +410,41 @@ public class GameManager {
      * @param level Số thứ tự của màn chơi cần tải.
      */
     public void loadLevel(int level) {
+        if (prefetcher != null) prefetcher.discard();
+        loadLevel(level, random.nextLong(), null);
+    }
+
+    /**
+     * Tải màn chơi, dùng màn đã dựng sẵn nếu có.
+     *
+     * @param level     số màn
+     * @param levelSeed seed bố cục của màn (màn dựng sẵn cũng được dựng từ seed này)
+     * @param prepared  màn do {@link LevelPrefetcher} dựng sẵn, hoặc {@code null} để dựng đồng bộ
+     */
+    private void loadLevel(int level, long levelSeed, LevelPrefetcher.PreparedLevel prepared) {
         this.currentLevel = level;
-        this.bricks = BrickFactory.createLevel(level);
-        this.paddle = new Paddle(width / 2 - 40, height - 40, 80, 15, 6);
-        this.ball = new Ball(width / 2, height / 2, 12, 12, 4, -4);
-        this.powerUpManager = new PowerUpManager();
+        if (prepared != null) {
+            // 🔁 Thay vào màn dựng sẵn: lưới gạch, lớp vẽ đã vẽ sẵn và thanh đỡ
+            this.bricks = prepared.bricks;
+            this.spareLayer = brickLayer;
+            this.brickLayer = prepared.layer;
+            this.paddle = prepared.paddle;
+        } else {
+            this.bricks = BrickFactory.createLevel(level, new Random(levelSeed));
+            if (brickLayer != null) brickLayer.invalidateAll();
+            this.paddle = newPaddle();
+        }
+        this.bricks.setClearListener(levelClearHandler);
+        this.bricks.setSoundPlayer(sound);
+        this.levelClearPending = false;
+        this.levelStartTime = simulationMillis();
+        this.attemptRecorded = false;
+        this.blasts.clear();
+        clock.getTimers().clear(); // Hiệu ứng có thời hạn của màn trước không còn ý nghĩa
+        this.balls.clear();
+        serveBall();
+        spawnChaosBalls(chaosBalls);
+        this.powerUpManager = new PowerUpManager(random, clock, sound);
 
         this.score = 0;
         this.lives = 3;
@@ -201,7 +453,7 @@ public class GameManager {
         this.levelComplete = false;
         this.paused = false;
 
-        System.out.println("🔹 Loaded Level: " + level + " | totalScore = " + totalScore);
+        log("🔹 Loaded Level: " + level + " | totalScore = " + totalScore);
     }
 
     /**
@@ -219,7 +471,7 @@ public class GameManager {
     public void togglePause() {
         paused = !paused;
         sound.play(14); // Giả sử 14 là âm thanh pause
-        System.out.println(paused ? "⏸ Game paused" : "▶ Game resumed");
+        log(paused ? "⏸ Game paused" : "▶ Game resumed");
     }
 
     /**
@@ -231,6 +483,18 @@ public class GameManager {
         this.score += points;
     }
 
+    /**
+     * Thiết lập tần số cập nhật (số bước mô phỏng mỗi giây).
+     * Vận tốc của bóng được nhân theo độ dài bước để tốc độ không đổi.
+     *
+     * @param tickRate số bước cập nhật mỗi giây
+     */
+    public void setTickRate(int tickRate) {
+        this.tickRate = Math.max(1, tickRate);
+        this.tickSeconds = 1.0 / this.tickRate;
+        clock.setTickRate(this.tickRate);
+    }
+
     /**
      * Kiểm tra xem trò chơi có đang tạm dừng hay không.
      *
@@ -243,73 +507,66 @@ public class GameManager {
     /**
      * Vòng lặp cập nhật logic chính của trò chơi (game loop).
      * <p>
-     * Phương thức này được gọi liên tục (thường là 60 lần/giây) để
+     * Phương thức này được {@link GameLoop} gọi đúng một lần mỗi bước cố định
+     * (mặc định 60 lần/giây) để
      * xử lý di chuyển của người chơi, cập nhật vị trí bóng,
      * kiểm tra va chạm, xử lý vật phẩm, và kiểm tra các điều kiện thắng/thua/chuyển màn.
      * </p>
+     * <p>
+     * Mỗi lần gọi (kể cả khi đang tạm dừng) được tính là một tick của replay; nếu đang ghi
+     * replay, hash trạng thái sau bước này được ghi nhận. Đồng hồ mô phỏng ({@link GameClock})
+     * chỉ tiến khi trò chơi đang chạy, nên thời hạn hiệu ứng và thời gian chờ chuyển màn
+     * dừng lại khi tạm dừng.
+     * </p>
      */
     public void update() {
+        tickCount++;
+        balls.resetCounters();
+        step();
+        if (recorder != null) recorder.recordTick(stateHash());
+    }
+
+    /**
+     * Thân của một bước mô phỏng (xem {@link #update()}).
+     */
+    private void step() {
         if (paused || gameOver || gameWin) return; // Không cập nhật gì nếu đang tạm dừng/kết thúc
 
-        // 🕒 Nếu vừa hoàn thành level, đợi trước khi chuyển
-        if (levelComplete) {
-            long elapsed = System.currentTimeMillis() - levelCompleteTime;
-            if (elapsed > LEVEL_DELAY_MS) {
-                goToNextLevel(); // Hết thời gian chờ, tự động chuyển
-            }
-            return; // Không cập nhật logic game khi đang chờ
+        // 🕒 Nếu vừa hoàn thành level, chờ hẹn giờ chuyển màn (có thể hết hạn ngay trong lần tiến đồng hồ này)
+        boolean waitingForNextLevel = levelComplete;
+        clock.advance(); // Tiến đồng hồ mô phỏng, chạy các hẹn giờ hết hạn (hiệu ứng vật phẩm, chuyển màn)
+        if (waitingForNextLevel) return; // Không cập nhật logic game khi đang chờ (kể cả bước vừa chuyển màn)
+
+        // 📊 Bước đầu tiên của màn: tính là một lần chơi (chỉ khi chơi thật)
+        if (!attemptRecorded) {
+            attemptRecorded = true;
+            if (!headless) ProgressManager.recordAttempt(currentLevel);
         }
 
+        // Lưu vị trí cũ để vẽ nội suy giữa hai bước
+        paddle.savePreviousPosition();
+        balls.savePreviousPositions();
+
         // 🎮 Điều khiển paddle
-        if (leftPressed) paddle.moveLeft();
-        if (rightPressed) paddle.moveRight(width);
-
-        // ⚽ Cập nhật bóng
-        ball.update(1.0 / 60); // Giả sử 60 FPS
-        ball.bounceOffWalls(width, height);
-        ball.bounceOff(paddle);
-
-        // 💥 Va chạm gạch
-        Brick hitBrick = null;
-        for (Brick brick : bricks) {
-            if (!brick.isDestroyed() && ball.bounceOff(brick)) {
-                hitBrick = brick;
-                brick.takeHit(); // Gạch nhận sát thương
-
-                if (brick.isDestroyed() && !(brick instanceof UnbreakableBrick)) {
-                    addScore(10);
-                    powerUpManager.spawnPowerUp(brick); // Tạo vật phẩm
-                }
-                break; // Chỉ xử lý 1 va chạm gạch mỗi khung hình
-            }
-        }
+        if (leftPressed) paddle.moveLeft(tickSeconds);
+        if (rightPressed) paddle.moveRight(width, tickSeconds);
 
-        // Xử lý nổ nếu gạch là loại ExplosiveBrick
-        if (hitBrick != null && hitBrick.isDestroyed() && hitBrick instanceof ExplosiveBrick) {
-            ((ExplosiveBrick) hitBrick).explode(this.bricks, this);
-        }
+        // ⚽ Cập nhật mọi quả bóng: tường, paddle và gạch cho cả loạt bóng
+        balls.update(tickSeconds, width, paddle, bricks, brickHitHandler);
 
-        // Cập nhật vật phẩm (rơi, va chạm paddle)
-        powerUpManager.update(ball, paddle, height);
-        // Xóa gạch đã bị phá hủy
-        bricks.removeIf(Brick::isDestroyed);
-
-        // ⭐️ Kiểm tra điều kiện thắng màn
-        // (Tất cả gạch còn lại đều là loại không thể phá hủy)
-        boolean allUnbreakable = bricks.stream().allMatch(b -> b instanceof UnbreakableBrick);
-        if (allUnbreakable && !levelComplete) {
-            sound.play(6); // Âm thanh thắng màn
-            ProgressManager.unlockNextLevel(currentLevel); // Mở khóa màn tiếp theo
+        // 💣 Các gạch nổ đang chờ ngòi (chỉ khi bật ngòi nổ)
+        blasts.update(bricks, blastHitHandler);
 
-            totalScore += score; // Cộng điểm màn này vào tổng điểm
-            System.out.println("⭐ Level " + currentLevel + " hoàn thành! TotalScore = " + totalScore);
+        // Cập nhật vật phẩm (rơi, va chạm paddle)
+        powerUpManager.update(balls, paddle, height, tickSeconds);
 
-            levelComplete = true; // Bật cờ hoàn thành màn
-            levelCompleteTime = System.currentTimeMillis(); // Bắt đầu đếm giờ chờ
-        }
+        // ⭐️ Thắng màn: lưới gạch đã báo hết gạch phá được trong bước này
+        // (chốt ở cuối bước để điểm của viên gạch cuối cùng được cộng trước)
+        if (levelClearPending) completeLevel();
 
-        // 💔 Kiểm tra bóng rơi ra ngoài
-        if (ball.getY() > height) {
+        // 💔 Bóng rơi ra ngoài bị loại khỏi pool; chỉ mất mạng khi không còn quả nào
+        balls.removeFallen(height);
+        if (balls.isEmpty()) {
             lives--;
             if (lives <= 0) {
                 gameOver = true;
@@ -317,30 +574,182 @@ public class GameManager {
                 saveScoreToLeaderboardIfNeeded(); // Lưu điểm nếu thua
             } else {
                 sound.play(12); // Âm thanh mất mạng
-                ball.reset(width / 2, height / 2, 4, -4); // Reset bóng
+                serveBall(); // Phát bóng mới
             }
         }
     }
 
+    /**
+     * Xử lý khi bóng chạm một viên gạch: trừ máu gạch, cộng điểm và tạo vật phẩm
+     * nếu gạch vỡ, và kích nổ nếu đó là {@link ExplosiveBrick}.
+     *
+     * @param cell ô của viên gạch bị bóng chạm vào
+     */
+    private void handleBrickHit(int cell) {
+        if (bricks.getType(cell) == Brick.UNBREAKABLE) log("🧱 Unbreakable brick hit! No damage taken.");
+        boolean destroyed = bricks.hit(cell); // Gạch nhận sát thương (vỡ thì bị gỡ ngay khỏi lưới)
+        brickLayer.invalidate(bricks, cell); // Ảnh gạch có thể đã đổi (nứt / vỡ)
+        if (!destroyed) return;
+
+        addScore(10);
+        powerUpManager.spawnPowerUp(bricks.getX(cell) + bricks.getCellWidth() / 2,
+                bricks.getY(cell) + bricks.getCellHeight() / 2); // Tạo vật phẩm
+
+        // Xử lý nổ nếu gạch là loại ExplosiveBrick
+        if (bricks.getType(cell) == Brick.EXPLOSIVE) {
+            blasts.detonate(bricks, cell, blastHitHandler);
+        }
+    }
+
+    /**
+     * Xử lý khi vụ nổ đánh trúng một viên gạch (gạch đã bị trừ máu):
+     * vẽ lại vùng gạch và cộng điểm nếu gạch vỡ.
+     *
+     * @param cell ô của viên gạch bị vụ nổ đánh trúng
+     */
+    private void handleBlastHit(int cell) {
+        brickLayer.invalidate(bricks, cell);
+        if (!bricks.isLive(cell)) addScore(10);
+    }
+
+    /**
+     * Chốt hoàn thành màn sau khi viên gạch phá được cuối cùng vỡ (do bóng hoặc do vụ nổ):
+     * cộng điểm màn vào tổng điểm, mở khóa màn tiếp theo và bắt đầu đếm giờ chuyển màn.
+     * Các gạch còn lại (nếu có) đều là loại không thể phá hủy.
+     */
+    private void completeLevel() {
+        levelClearPending = false;
+        if (levelComplete) return;
+        sound.play(6); // Âm thanh thắng màn
+        if (!headless) {
+            // Mô phỏng/replay headless không ghi vào tiến độ thật
+            ProgressManager.unlockNextLevel(currentLevel); // Mở khóa màn tiếp theo
+            ProgressManager.recordClear(currentLevel, score, simulationMillis() - levelStartTime);
+        }
+
+        totalScore += score; // Cộng điểm màn này vào tổng điểm
+        log("⭐ Level " + currentLevel + " hoàn thành! TotalScore = " + totalScore);
+
+        levelComplete = true; // Bật cờ hoàn thành màn
+        nextLevelTimer = clock.getTimers().schedule(clock.ticksFor(LEVEL_DELAY_MS), nextLevelTask); // Hẹn giờ chuyển màn
+        nextLevelSeed = random.nextLong(); // Chốt bố cục màn kế tiếp trước khi dựng sẵn
+        prefetchNextLevel(); // Dựng sẵn màn kế tiếp trong lúc chờ
+    }
+
+    /**
+     * Đặt ngòi nổ cho chuỗi nổ dây chuyền: mỗi mắt xích chậm {@code fuseTicks} bước,
+     * để chuỗi nổ lớn lan qua nhiều khung hình. {@code 0} (mặc định) = nổ hết ngay.
+     *
+     * @param fuseTicks số bước trễ giữa hai mắt xích
+     */
+    public void setBlastFuseTicks(int fuseTicks) {
+        blasts.setFuseTicks(fuseTicks);
+    }
+
+    /** @return số bước trễ giữa hai mắt xích của chuỗi nổ */
+    public int getBlastFuseTicks() { return blasts.getFuseTicks(); }
+
+    /**
+     * Bật chế độ "chaos": mỗi màn bắt đầu với thêm {@code count} quả bóng bay tỏa ra
+     * từ giữa màn hình. Có tác dụng từ lần tải màn kế tiếp.
+     *
+     * @param count số bóng thêm ({@code 0} = chơi thường)
+     */
+    public void setChaosBalls(int count) {
+        this.chaosBalls = Math.max(0, count);
+    }
+
+    /** @return số bóng thêm mỗi màn ở chế độ "chaos" */
+    public int getChaosBalls() { return chaosBalls; }
+
+    /** @return số quả bóng đang bay */
+    public int getBallCount() { return balls.size(); }
+
+    /** @return số phép kiểm tra va chạm (paddle + gạch) trong bước mô phỏng gần nhất */
+    public int getCollisionChecks() { return balls.getCollisionChecks(); }
+
+    /** @return số viên gạch được kiểm tra va chạm trong bước mô phỏng gần nhất */
+    public int getBricksTested() { return balls.getBricksTested(); }
+
+    /** @return số vật phẩm đang rơi */
+    public int getActivePowerUps() { return powerUpManager.getActiveCount(); }
+
+    /**
+     * @return thanh đỡ mới ở vị trí bắt đầu màn
+     */
+    private Paddle newPaddle() {
+        return new Paddle(width / 2 - 40, height - 40, 80, 15, 6);
+    }
+
+    /**
+     * Bắt đầu dựng sẵn màn kế tiếp ở luồng nền (không làm gì khi headless hoặc đã ở màn cuối),
+     * từ seed {@link #nextLevelSeed} đã chốt khi hoàn thành màn.
+     */
+    private void prefetchNextLevel() {
+        if (prefetcher == null || currentLevel >= MAX_LEVEL) return;
+        int next = currentLevel + 1;
+        long levelSeed = nextLevelSeed;
+        BrickLayer layer = spareLayer;
+        prefetcher.prefetch(next, () -> {
+            BrickField field = BrickFactory.createLevel(next, new Random(levelSeed));
+            layer.prepare(field); // Vẽ sẵn nền và gạch (kể cả thu phóng sprite lần đầu)
+            return new LevelPrefetcher.PreparedLevel(next, field, layer, newPaddle());
+        });
+    }
+
+    /**
+     * Phát một quả bóng mới từ giữa màn hình (đầu màn hoặc sau khi mất mạng).
+     */
+    private void serveBall() {
+        balls.add(width / 2, height / 2, 4, -4);
+    }
+
+    /**
+     * Thêm {@code count} quả bóng tỏa đều theo hình quạt hướng lên (không dùng bộ sinh
+     * ngẫu nhiên, để không làm lệch chuỗi ngẫu nhiên của phiên chơi).
+     *
+     * @param count số bóng thêm
+     */
+    private void spawnChaosBalls(int count) {
+        double speed = Math.sqrt(4 * 4 + 4 * 4);
+        for (int i = 0; i < count; i++) {
+            double angle = Math.toRadians(-160 + 140.0 * (i + 0.5) / count);
+            balls.add(width / 2, height / 2, Math.cos(angle) * speed, Math.sin(angle) * speed);
+        }
+    }
+
     /**
      * Xử lý logic chuyển sang màn chơi tiếp theo hoặc kết thúc game (khi thắng).
-     * Được gọi sau khi thời gian chờ {@code LEVEL_DELAY_MS} kết thúc,
+     * Được gọi khi hẹn giờ chờ {@code LEVEL_DELAY_MS} hết hạn,
      * hoặc khi người chơi nhấn 'N'.
      */
     private void goToNextLevel() {
         levelComplete = false;
+        clock.getTimers().cancel(nextLevelTimer); // Nhấn 'N' trước khi hết giờ: bỏ hẹn giờ còn chờ
+        nextLevelTimer = TimerWheel.NONE;
 
         if (currentLevel < MAX_LEVEL) {
             currentLevel++;
-            loadLevel(currentLevel); // Tải màn tiếp theo
+            // Tải màn tiếp theo: dùng màn đã dựng sẵn trong lúc đếm ngược (nếu có)
+            loadLevel(currentLevel, nextLevelSeed, prefetcher != null ? prefetcher.take(currentLevel) : null);
         } else {
             gameWin = true; // Thắng toàn bộ game
             sound.play(13); // Âm thanh thắng cuối cùng
             saveScoreToLeaderboardIfNeeded(); // Lưu điểm khi thắng
-            System.out.println("🏆 YOU WIN ALL LEVELS! Final Score = " + totalScore);
+            log("🏆 YOU WIN ALL LEVELS! Final Score = " + totalScore);
         }
     }
 
+    /**
+     * In một dòng nhật ký ra console (bỏ qua khi headless, để hàng nghìn phiên mô phỏng
+     * chạy song song không tranh nhau {@code System.out}).
+     *
+     * @param message nội dung
+     */
+    private void log(String message) {
+        if (!headless) System.out.println(message);
+    }
+
     /**
      * Lưu tổng điểm ({@code totalScore}) vào bảng xếp hạng.
      * Phương thức này kiểm tra cờ {@code scoreSaved} để đảm bảo điểm
@@ -348,22 +757,26 @@ public class GameManager {
      */
     private void saveScoreToLeaderboardIfNeeded() {
         if (scoreSaved) {
-            System.out.println("ℹ️ Score already saved for this session, skipping.");
+            log("ℹ️ Score already saved for this session, skipping.");
             return;
         }
         if (totalScore <= 0) {
-            System.out.println("ℹ️ No score to save.");
+            log("ℹ️ No score to save.");
+            return;
+        }
+        if (headless) {
+            scoreSaved = true; // Mô phỏng/replay headless không ghi vào bảng xếp hạng thật
             return;
         }
         leaderboardManager.addScore(totalScore);
         scoreSaved = true; // Đánh dấu đã lưu
-        System.out.println("💾 Saved TOTAL score: " + totalScore + " vào bảng xếp hạng!");
+        log("💾 Saved TOTAL score: " + totalScore + " vào bảng xếp hạng!");
     }
 
     /**
      * Vòng lặp vẽ (render) chính.
      * <p>
-     * Vẽ tất cả các đối tượng (nền, paddle, bóng, gạch, vật phẩm)
+     * Vẽ tất cả các đối tượng (nền và gạch qua {@link BrickLayer}, paddle, bóng, vật phẩm)
      * và giao diện người dùng (UI) như điểm số, mạng sống, và các
      * màn hình thông báo (Tạm dừng, Thắng, Thua, Hoàn thành màn).
      * </p>
@@ -371,92 +784,42 @@ public class GameManager {
      * @param g Đối tượng {@link Graphics2D} để thực hiện vẽ.
      */
     public void render(Graphics2D g) {
-        // Vẽ nền
-        if (backgroundImage != null)
-            g.drawImage(backgroundImage, 0, 0, width, height, null);
-        else {
-            g.setColor(Color.BLACK);
-            g.fillRect(0, 0, width, height);
-        }
+        render(g, 1.0);
+    }
 
-        // Vẽ các đối tượng game
-        paddle.render(g);
-        ball.render(g);
-        bricks.forEach(b -> b.render(g));
-        powerUpManager.render(g);
+    /**
+     * Vẽ khung hình với vị trí các vật thể chuyển động được nội suy
+     * giữa bước cập nhật trước và bước hiện tại.
+     *
+     * @param g     Đối tượng {@link Graphics2D} để thực hiện vẽ.
+     * @param alpha Hệ số nội suy trong khoảng [0, 1] ({@code 1} = trạng thái hiện tại).
+     */
+    public void render(Graphics2D g, double alpha) {
+        if (headless) return; // Không có gì để vẽ khi chạy headless
 
-        // Vẽ UI (Điểm số, Mạng sống)
-        g.setFont(new Font("Arial", Font.PLAIN, 16));
-        g.setColor(Color.WHITE);
-        g.drawString("Score: " + score, 10, 20);
-        g.setColor(Color.YELLOW);
-        g.drawString("Total: " + totalScore, 10, 40);
+        // Lớp tĩnh: nền + gạch (chỉ vẽ lại vùng có gạch vừa thay đổi)
+        brickLayer.render(g, bricks);
 
-        g.setColor(Color.WHITE);
-        String levelText = "Level: " + currentLevel;
-        String livesText = "Lives: " + lives;
-        FontMetrics fm = g.getFontMetrics();
-        g.drawString(levelText, width - fm.stringWidth(levelText) - 10, 20);
-        g.drawString(livesText, width - fm.stringWidth(livesText) - 10, 40);
+        // Vẽ các đối tượng chuyển động lên trên
+        paddle.render(g, alpha);
+        balls.render(g, alpha);
+        powerUpManager.render(g);
+
+        // Vẽ UI (Điểm số, Mạng sống) từ chữ đã vẽ sẵn
+        hud.drawStatus(g, width, score, totalScore, bricks.getBreakableCount(), currentLevel, lives);
 
         // Vẽ màn hình Hoàn thành màn (Level Complete)
         if (levelComplete) {
-            drawCenteredText(g, "LEVEL " + currentLevel + " COMPLETE!", Color.GREEN, "Comic Sans MS", 48, height / 2 - 80);
-            drawCenteredText(g, "Total Score: " + totalScore, Color.ORANGE, "Comic Sans MS", 28, height / 2 - 30);
-
-            long elapsed = System.currentTimeMillis() - levelCompleteTime;
-            int remaining = Math.max(0, 5 - (int) (elapsed / 1000));
-            drawCenteredText(g, "Next level in: " + remaining + "s", Color.YELLOW, "Arial", 26, height / 2 + 10);
-
-            drawCenteredText(g, "Press N to continue now", Color.WHITE, "Arial", 20, height / 2 + 50);
-            drawCenteredText(g, "Press M to return to Menu", Color.WHITE, "Arial", 20, height / 2 + 75);
+            int tickRate = clock.getTickRate();
+            int remaining = (int) ((clock.getTimers().remaining(nextLevelTimer) + tickRate - 1) / tickRate);
+            hud.drawLevelComplete(g, width, height, currentLevel, totalScore, remaining);
         }
 
         // Vẽ màn hình Tạm dừng (Paused)
-        if (paused) {
-            g.setColor(new Color(0, 0, 0, 150)); // Lớp phủ mờ
-            g.fillRect(0, 0, width, height);
-            drawCenteredText(g, "PAUSED", Color.YELLOW, "Arial", 48, height / 2 - 30);
-            drawCenteredText(g, "Press C to continue", Color.WHITE, "Arial", 24, height / 2 + 20);
-            drawCenteredText(g, "Press M to return to Menu", Color.WHITE, "Arial", 24, height / 2 + 50);
-        }
+        if (paused) hud.drawPaused(g, width, height);
 
         // Vẽ màn hình Thua (Game Over) hoặc Thắng (You Win)
-        if (gameOver || gameWin) {
-            String mainText = gameOver ? "GAME OVER" : "YOU WIN!";
-            Color mainColor = gameOver ? Color.RED : new Color(0, 255, 100);
-
-            drawCenteredText(g, mainText, mainColor, "Arial Black", 50, height / 2 - 60);
-            drawCenteredText(g, "Total Score: " + totalScore, Color.ORANGE, "Comic Sans MS", 28, height / 2 - 15);
-            drawCenteredText(g, "Press R to Restart", Color.WHITE, "Arial", 20, height / 2 + 30);
-            drawCenteredText(g, "Press M for Menu", Color.WHITE, "Arial", 20, height / 2 + 55);
-        }
-    }
-
-    /**
-     * Phương thức tiện ích private để vẽ văn bản căn giữa màn hình
-     * với hiệu ứng bóng mờ đơn giản (vẽ 2 lần).
-     *
-     * @param g         Đối tượng Graphics2D để vẽ.
-     * @param text      Chuỗi văn bản cần vẽ.
-     * @param color     Màu sắc của văn bản.
-     * @param fontName  Tên font chữ.
-     * @param fontSize  Kích thước font chữ.
-     * @param y         Tọa độ y để vẽ văn bản.
-     */
-    private void drawCenteredText(Graphics2D g, String text, Color color, String fontName, int fontSize, int y) {
-        Font font = new Font(fontName, Font.BOLD, fontSize);
-        g.setFont(font);
-        FontMetrics fm = g.getFontMetrics();
-        int x = (width - fm.stringWidth(text)) / 2;
-
-        // Vẽ bóng (màu đen, lệch 2px)
-        g.setColor(Color.BLACK);
-        g.drawString(text, x + 2, y + 2);
-
-        // Vẽ chữ chính
-        g.setColor(color);
-        g.drawString(text, x, y);
+        if (gameOver || gameWin) hud.drawGameEnd(g, width, height, gameWin, totalScore);
     }
 
     /**
@@ -467,6 +830,8 @@ public class GameManager {
      * @param key Mã phím (ví dụ: {@link KeyEvent#VK_LEFT}).
      */
     public void onKeyPressed(int key) {
+        if (recorder != null) recorder.recordKey(key, true);
+
         // Điều khiển di chuyển
         if (key == KeyEvent.VK_LEFT) leftPressed = true;
         if (key == KeyEvent.VK_RIGHT) rightPressed = true;
@@ -477,7 +842,7 @@ public class GameManager {
 
         // Chơi lại
         if (key == KeyEvent.VK_R && (gameOver || gameWin)) {
-            System.out.println("🔁 Restart requested!");
+            log("🔁 Restart requested!");
             startNewGame();
         }
 
@@ -486,12 +851,12 @@ public class GameManager {
 
         // Quay về Menu (từ các trạng thái Paused, Win, Lose, LevelComplete)
         if ((paused || levelComplete || gameWin || gameOver) && key == KeyEvent.VK_M) {
-            System.out.println("🏠 Quay lại menu...");
+            log("🏠 Quay lại menu...");
             saveScoreToLeaderboardIfNeeded(); // Lưu điểm trước khi thoát
             resetSession(); // Reset điểm cho phiên mới
 
             if (onReturnToMenu != null) onReturnToMenu.run(); // Gọi callback
-            System.out.println("🏠 Trở về menu — totalScore đã reset = " + totalScore);
+            log("🏠 Trở về menu — totalScore đã reset = " + totalScore);
         }
     }
 
@@ -502,6 +867,7 @@ public class GameManager {
      * @param key Mã phím (ví dụ: {@link KeyEvent#VK_LEFT}).
      */
     public void onKeyReleased(int key) {
+        if (recorder != null) recorder.recordKey(key, false);
         if (key == KeyEvent.VK_LEFT) leftPressed = false;
         if (key == KeyEvent.VK_RIGHT) rightPressed = false;
     }
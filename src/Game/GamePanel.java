@@ -1,12 +1,18 @@
 package Game;
 
 import entity.*;
+import metrics.GameMetrics;
+import metrics.MetricsOverlay;
+import replay.ReplayRecorder;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
 
 /**
  * GamePanel là JPanel chính để chạy trò chơi Arkanoid.
@@ -14,22 +20,61 @@ import java.io.IOException;
  * Chịu trách nhiệm vẽ đồ họa, nhận input từ bàn phím và điều khiển GameManager.
  * Có khả năng quay lại menu và xử lý nhạc nền.
  * </p>
+ * <p>
+ * Mặc định dùng vẽ chủ động: panel chứa một {@link GameCanvas} và luồng {@link GameLoop}
+ * tự vẽ, trình chiếu từng khung hình qua {@link java.awt.image.BufferStrategy}.
+ * Chạy với {@code -Darkanoid.passiveRendering=true} để quay về cách cũ
+ * ({@code repaint()} + {@link #paintComponent(Graphics)} trên EDT).
+ * </p>
  */
-public class GamePanel extends JPanel implements ActionListener, KeyListener {
+public class GamePanel extends JPanel implements KeyListener {
     public static final int WIDTH = 800, HEIGHT = 600;
 
+    /**
+     * Thư mục lưu replay của mỗi ván chơi ({@code null} = không ghi).
+     * Bật bằng {@code -Darkanoid.replayDir=replays}.
+     */
+    private static final String REPLAY_DIR = System.getProperty("arkanoid.replayDir");
+
+    /** Số bóng thêm mỗi màn cho chế độ "chaos" (bật bằng {@code -Darkanoid.chaosBalls=2000}). */
+    private static final int CHAOS_BALLS = Integer.getInteger("arkanoid.chaosBalls", 0);
+
+    /** Ngòi nổ (số bước) giữa hai mắt xích của chuỗi nổ dây chuyền ({@code -Darkanoid.blastFuse=3}). */
+    private static final int BLAST_FUSE = Integer.getInteger("arkanoid.blastFuse", 0);
+
+    /** Dùng vẽ chủ động qua {@link GameCanvas} (tắt bằng {@code -Darkanoid.passiveRendering=true}). */
+    public static final boolean ACTIVE_RENDERING = !Boolean.getBoolean("arkanoid.passiveRendering");
+
+    /** Bật đồng bộ dọc khi vẽ chủ động ({@code -Darkanoid.vsync=true}, xem {@link GameCanvas}). */
+    private static final boolean VSYNC = Boolean.getBoolean("arkanoid.vsync");
+
     /** Quản lý trạng thái game, logic và vẽ game */
     private GameManager gameManager;
 
-    /** Timer để cập nhật game theo khung hình */
-    private Timer timer;
+    /** Vòng lặp game chạy trên luồng riêng với bước mô phỏng cố định */
+    private final GameLoop gameLoop;
+
+    /** Hệ số nội suy của khung hình gần nhất (do vòng lặp game cung cấp) */
+    private volatile double renderAlpha = 1.0;
+
+    /** Bề mặt vẽ chủ động ({@code null} khi dùng vẽ thụ động) */
+    private final GameCanvas canvas;
+
+    /** Hàm vẽ khung hình cho {@link GameCanvas} (tạo một lần, không cấp phát mỗi khung hình) */
+    private final Consumer<Graphics2D> activePainter = this::paintGame;
+
+    /** Số đo thời gian khung hình (hiển thị bằng F3, đọc được qua JMX) */
+    private final GameMetrics metrics = new GameMetrics();
+
+    /** Lớp phủ hiển thị số đo */
+    private final MetricsOverlay metricsOverlay = new MetricsOverlay();
+
+    /** Đang hiển thị lớp phủ số đo (bật/tắt bằng F3) */
+    private volatile boolean metricsVisible = false;
 
     /** Tham chiếu container chính chứa panel (CardLayout) */
     private JPanel container;
 
-    /** Ảnh nền của game */
-    private Image backgroundImage;
-
     /** Lưu level hiện tại */
     private int currentLevel = 1;
 
@@ -44,8 +89,22 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         setFocusable(true);
         addKeyListener(this);
 
+        if (ACTIVE_RENDERING) {
+            canvas = new GameCanvas(WIDTH, HEIGHT);
+            canvas.addKeyListener(this); // Canvas giữ focus bàn phím khi đang chơi
+            setLayout(new BorderLayout());
+            add(canvas, BorderLayout.CENTER);
+        } else {
+            canvas = null;
+        }
+
         gameManager = new GameManager(WIDTH, HEIGHT);
-        timer = new Timer(1000 / 60, this);
+        gameLoop = new GameLoop(this::tick, this::requestFrame);
+        gameManager.setTickRate(gameLoop.getTickRate());
+        gameManager.setChaosBalls(CHAOS_BALLS);
+        gameManager.setBlastFuseTicks(BLAST_FUSE);
+        if (VSYNC) setVsync(true);
+        metrics.register();
 
         // Gán callback cho gameManager để quay về menu
         gameManager.setOnReturnToMenu(() -> {
@@ -53,7 +112,8 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
                 if (container != null) {
                     CardLayout cl = (CardLayout) container.getLayout();
                     cl.show(container, "MENU");
-                    timer.stop();
+                    gameLoop.stop();
+                    saveReplay();
 
                     // Phát lại nhạc nền của menu
                     for (Component comp : container.getComponents()) {
@@ -68,18 +128,6 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
                 }
             });
         });
-
-        // Load ảnh nền
-        try {
-            var url = getClass().getResource("/img/game_bg.jpg");
-            if (url != null)
-                backgroundImage = ImageIO.read(url);
-            else
-                backgroundImage = null;
-        } catch (IOException e) {
-            System.out.println("Không tìm thấy ảnh nền, dùng nền đen mặc định");
-            backgroundImage = null;
-        }
     }
 
     /**
@@ -98,11 +146,20 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
      */
     public void startGame(int level) {
         this.currentLevel = level;
-        gameManager.loadLevel(level);
-        timer.start();
+        synchronized (gameManager) {
+            if (REPLAY_DIR != null) {
+                gameManager.stopRecording(); // Ván trước chưa kết thúc đúng cách → bỏ
+                gameManager.startRecording(new ReplayRecorder(), level);
+            } else {
+                gameManager.loadLevel(level);
+            }
+        }
+        metrics.resetFrameClock(); // Khoảng dừng ở menu không tính là khung hình rớt
+        gameLoop.start();
 
-        requestFocusInWindow();
-        SwingUtilities.invokeLater(this::requestFocusInWindow);
+        Component focus = canvas != null ? canvas : this;
+        focus.requestFocusInWindow();
+        SwingUtilities.invokeLater(focus::requestFocusInWindow);
     }
 
     /**
@@ -121,25 +178,120 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         return gameManager;
     }
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    /**
+     * Lấy vòng lặp game (để cấu hình tần số cập nhật và giới hạn FPS).
+     *
+     * @return GameLoop
+     */
+    public GameLoop getGameLoop() {
+        return gameLoop;
+    }
 
-        if (backgroundImage != null)
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+    /**
+     * Thiết lập tần số cập nhật cho cả vòng lặp và GameManager.
+     *
+     * @param tickRate số bước mô phỏng mỗi giây
+     */
+    public void setTickRate(int tickRate) {
+        gameLoop.setTickRate(tickRate);
+        synchronized (gameManager) {
+            gameManager.setTickRate(gameLoop.getTickRate());
+        }
+    }
 
-        gameManager.render((Graphics2D) g);
+    /**
+     * Bật/tắt đồng bộ dọc (chỉ có tác dụng khi vẽ chủ động).
+     * Khi bật, canvas yêu cầu bộ đệm lật trang có vsync nếu có ({@link GameCanvas#isVsyncActive()}),
+     * và FPS được giới hạn theo tần số quét của màn hình.
+     *
+     * @param vsync {@code true} để bật
+     */
+    public void setVsync(boolean vsync) {
+        if (canvas == null) return;
+        canvas.setVsync(vsync);
+        int refreshRate = canvas.getRefreshRate();
+        gameLoop.setMaxFps(vsync && refreshRate > 0 ? refreshRate : GameLoop.DEFAULT_MAX_FPS);
+    }
+
+    /**
+     * Lấy bề mặt vẽ chủ động (để đọc thời gian trình chiếu).
+     *
+     * @return GameCanvas, hoặc {@code null} khi dùng vẽ thụ động
+     */
+    public GameCanvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Một bước mô phỏng cố định, chạy trên luồng của {@link GameLoop}.
+     */
+    private void tick() {
+        synchronized (gameManager) {
+            long start = System.nanoTime();
+            gameManager.update();
+            metrics.recordUpdate(System.nanoTime() - start, gameManager.getCollisionChecks(),
+                    gameManager.getBricksTested(), gameManager.getActivePowerUps(), gameManager.getBallCount());
+        }
+    }
+
+    /**
+     * Yêu cầu vẽ lại khung hình với hệ số nội suy mới.
+     *
+     * @param alpha hệ số nội suy giữa hai bước cập nhật
+     */
+    private void requestFrame(double alpha) {
+        renderAlpha = alpha;
+        if (canvas != null) {
+            canvas.renderFrame(activePainter); // Vẽ và trình chiếu ngay trên luồng game
+        } else {
+            repaint();
+        }
+        int fps = gameLoop.getMaxFps();
+        metrics.endFrame(1_000_000_000L / (fps > 0 ? fps : gameLoop.getTickRate()));
+    }
+
+    /**
+     * Vẽ trò chơi (đo thời gian vẽ) và lớp phủ số đo nếu đang bật.
+     * Với vẽ chủ động, đây là hàm vẽ vào bộ đệm sau của {@link GameCanvas}.
+     *
+     * @param g đối tượng {@link Graphics2D} để vẽ
+     */
+    private void paintGame(Graphics2D g) {
+        synchronized (gameManager) {
+            long start = System.nanoTime();
+            gameManager.render(g, renderAlpha);
+            metrics.recordRender(System.nanoTime() - start);
+        }
+        if (metricsVisible) metricsOverlay.render(g, metrics.getSnapshot(), 10, 70);
     }
 
     @Override
-    public void actionPerformed(ActionEvent e) {
-        gameManager.update();
-        repaint();
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (canvas != null) return; // Canvas tự vẽ trên luồng game
+
+        // Nền đã nằm trong lớp tĩnh của GameManager, không vẽ lại lần thứ hai ở đây
+        paintGame((Graphics2D) g);
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
-        int key = e.getKeyCode();
+        synchronized (gameManager) {
+            handleKeyPressed(e.getKeyCode());
+        }
+    }
+
+    /**
+     * Xử lý phím nhấn (đã giữ khóa của {@link GameManager}).
+     *
+     * @param key mã phím
+     */
+    private void handleKeyPressed(int key) {
+        // F3: bật/tắt lớp phủ số đo (không chuyển cho GameManager, không ghi vào replay)
+        if (key == KeyEvent.VK_F3) {
+            metricsVisible = !metricsVisible;
+            return;
+        }
 
         // Khi ấn M ở trạng thái Game Over / Win → quay về menu
         if ((gameManager.isGameOver() || gameManager.isGameWin()) && key == KeyEvent.VK_M) {
@@ -158,7 +310,9 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
 
     @Override
     public void keyReleased(KeyEvent e) {
-        gameManager.onKeyReleased(e.getKeyCode());
+        synchronized (gameManager) {
+            gameManager.onKeyReleased(e.getKeyCode());
+        }
     }
 
     @Override
@@ -170,6 +324,26 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         requestFocusInWindow();
     }
 
+    /**
+     * Kết thúc ghi replay (nếu đang ghi) và lưu vào {@link #REPLAY_DIR}.
+     */
+    private void saveReplay() {
+        ReplayRecorder recorder;
+        synchronized (gameManager) {
+            recorder = gameManager.stopRecording();
+        }
+        if (recorder == null) return;
+
+        String name = "arkanoid-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".rpl";
+        Path file = Path.of(REPLAY_DIR, name);
+        try {
+            recorder.save(file);
+            System.out.println("🎞 Đã lưu replay: " + file + " (" + recorder.getTickCount() + " ticks)");
+        } catch (IOException e) {
+            System.out.println("⚠️ Không thể lưu replay: " + e.getMessage());
+        }
+    }
+
     /**
      * Hàm riêng xử lý quay lại menu khi nhấn phím M.
      */
@@ -182,7 +356,8 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         SwingUtilities.invokeLater(() -> {
             CardLayout cl = (CardLayout) container.getLayout();
             cl.show(container, "MENU");
-            timer.stop();
+            gameLoop.stop();
+            saveReplay();
 
             for (Component comp : container.getComponents()) {
                 if (comp instanceof MenuPanel menuPanel) {
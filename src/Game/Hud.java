@@ -0,0 +1,296 @@
+package Game;
+
+import asset.AssetCache;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Lớp {@code Hud} vẽ thanh thông tin (điểm, tổng điểm, số gạch, màn, mạng) và các màn hình phủ
+ * (hoàn thành màn, tạm dừng, thua/thắng) của {@link GameManager}.
+ * <p>
+ * Mọi chữ được vẽ sẵn thành ảnh: nhãn cố định vẽ một lần khi khởi tạo, còn dòng có số
+ * (ví dụ {@code "Score: 120"}) chỉ được ghép lại khi giá trị thay đổi, từ các chữ số bitmap
+ * {@code 0..9} đã vẽ sẵn theo phông và màu của dòng. Mỗi khung hình chỉ còn vài lệnh
+ * {@code drawImage}: không tạo {@link Font}, không nối chuỗi, không đo {@link FontMetrics}.
+ * </p>
+ */
+final class Hud {
+
+    // ====== Phông chữ (tạo một lần) ======
+    private static final Font STATUS_FONT = new Font("Arial", Font.PLAIN, 16);
+    private static final Font TITLE_FONT = new Font("Comic Sans MS", Font.BOLD, 48);
+    private static final Font TOTAL_FONT = new Font("Comic Sans MS", Font.BOLD, 28);
+    private static final Font COUNTDOWN_FONT = new Font("Arial", Font.BOLD, 26);
+    private static final Font HINT_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final Font PAUSED_FONT = new Font("Arial", Font.BOLD, 48);
+    private static final Font PAUSED_HINT_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font END_FONT = new Font("Arial Black", Font.BOLD, 50);
+
+    /** Màu lớp phủ mờ khi tạm dừng. */
+    private static final Color DIM = new Color(0, 0, 0, 150);
+    /** Màu chữ "YOU WIN!". */
+    private static final Color WIN_COLOR = new Color(0, 255, 100);
+
+    /** Lề trong suốt quanh chữ trong ảnh (cho nét tràn ra ngoài bề rộng ký tự). */
+    private static final int PAD = 4;
+    /** Độ lệch của bóng chữ (pixel). */
+    private static final int SHADOW = 2;
+
+    /** Ảnh nháp để đo phông chữ (cùng ngữ cảnh vẽ mặc định như khung hình). */
+    private static final Graphics2D METRICS = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    // ====== Thanh thông tin ======
+    private final Line score = new Line("Score: ", "", STATUS_FONT, Color.WHITE, false);
+    private final Line total = new Line("Total: ", "", STATUS_FONT, Color.YELLOW, false);
+    private final Line bricks = new Line("Bricks: ", "", STATUS_FONT, Color.LIGHT_GRAY, false);
+    private final Line level = new Line("Level: ", "", STATUS_FONT, Color.WHITE, false);
+    private final Line lives = new Line("Lives: ", "", STATUS_FONT, Color.WHITE, false);
+
+    // ====== Hoàn thành màn ======
+    private final Line levelComplete = new Line("LEVEL ", " COMPLETE!", TITLE_FONT, Color.GREEN, true);
+    private final Line totalScore = new Line("Total Score: ", "", TOTAL_FONT, Color.ORANGE, true);
+    private final Line countdown = new Line("Next level in: ", "s", COUNTDOWN_FONT, Color.YELLOW, true);
+    private final Line pressNext = new Line("Press N to continue now", HINT_FONT, Color.WHITE);
+    private final Line pressMenu = new Line("Press M to return to Menu", HINT_FONT, Color.WHITE);
+
+    // ====== Tạm dừng ======
+    private final Line paused = new Line("PAUSED", PAUSED_FONT, Color.YELLOW);
+    private final Line pressContinue = new Line("Press C to continue", PAUSED_HINT_FONT, Color.WHITE);
+    private final Line pausedMenu = new Line("Press M to return to Menu", PAUSED_HINT_FONT, Color.WHITE);
+
+    // ====== Thua / thắng ======
+    private final Line gameOver = new Line("GAME OVER", END_FONT, Color.RED);
+    private final Line gameWin = new Line("YOU WIN!", END_FONT, WIN_COLOR);
+    private final Line pressRestart = new Line("Press R to Restart", HINT_FONT, Color.WHITE);
+    private final Line endMenu = new Line("Press M for Menu", HINT_FONT, Color.WHITE);
+
+    /**
+     * Vẽ thanh thông tin: điểm, tổng điểm, số gạch bên trái; màn và mạng căn phải.
+     *
+     * @param g          đối tượng {@link Graphics2D} để vẽ
+     * @param width      chiều rộng khu vực chơi
+     * @param scoreValue điểm của màn hiện tại
+     * @param totalValue tổng điểm của phiên chơi
+     * @param brickCount số gạch còn phá được
+     * @param levelValue màn hiện tại
+     * @param livesValue số mạng còn lại
+     */
+    void drawStatus(Graphics2D g, int width, int scoreValue, int totalValue, int brickCount,
+                    int levelValue, int livesValue) {
+        score.set(scoreValue).draw(g, 10, 20);
+        total.set(totalValue).draw(g, 10, 40);
+        bricks.set(brickCount).draw(g, 10, 60);
+        level.set(levelValue).drawRight(g, width - 10, 20);
+        lives.set(livesValue).drawRight(g, width - 10, 40);
+    }
+
+    /**
+     * Vẽ màn hình hoàn thành màn cùng thời gian đếm ngược.
+     *
+     * @param g          đối tượng {@link Graphics2D} để vẽ
+     * @param width      chiều rộng khu vực chơi
+     * @param height     chiều cao khu vực chơi
+     * @param levelValue màn vừa hoàn thành
+     * @param totalValue tổng điểm của phiên chơi
+     * @param remaining  số giây còn lại trước khi tự chuyển màn
+     */
+    void drawLevelComplete(Graphics2D g, int width, int height, int levelValue, int totalValue, int remaining) {
+        levelComplete.set(levelValue).drawCentered(g, width, height / 2 - 80);
+        totalScore.set(totalValue).drawCentered(g, width, height / 2 - 30);
+        countdown.set(remaining).drawCentered(g, width, height / 2 + 10);
+        pressNext.drawCentered(g, width, height / 2 + 50);
+        pressMenu.drawCentered(g, width, height / 2 + 75);
+    }
+
+    /**
+     * Vẽ lớp phủ mờ và màn hình tạm dừng.
+     *
+     * @param g      đối tượng {@link Graphics2D} để vẽ
+     * @param width  chiều rộng khu vực chơi
+     * @param height chiều cao khu vực chơi
+     */
+    void drawPaused(Graphics2D g, int width, int height) {
+        g.setColor(DIM);
+        g.fillRect(0, 0, width, height);
+        paused.drawCentered(g, width, height / 2 - 30);
+        pressContinue.drawCentered(g, width, height / 2 + 20);
+        pausedMenu.drawCentered(g, width, height / 2 + 50);
+    }
+
+    /**
+     * Vẽ màn hình thua ("GAME OVER") hoặc thắng ("YOU WIN!").
+     *
+     * @param g          đối tượng {@link Graphics2D} để vẽ
+     * @param width      chiều rộng khu vực chơi
+     * @param height     chiều cao khu vực chơi
+     * @param win        {@code true} nếu người chơi thắng
+     * @param totalValue tổng điểm của phiên chơi
+     */
+    void drawGameEnd(Graphics2D g, int width, int height, boolean win, int totalValue) {
+        (win ? gameWin : gameOver).drawCentered(g, width, height / 2 - 60);
+        totalScore.set(totalValue).drawCentered(g, width, height / 2 - 15);
+        pressRestart.drawCentered(g, width, height / 2 + 30);
+        endMenu.drawCentered(g, width, height / 2 + 55);
+    }
+
+    /**
+     * Một chuỗi đã vẽ sẵn thành ảnh, gốc chữ (đầu đường chân chữ) nằm tại
+     * ({@link #PAD}, {@link #PAD} + ascent) trong ảnh.
+     */
+    private static final class Sprite {
+        /** Ảnh của chuỗi (kèm bóng nếu có). */
+        final BufferedImage image;
+        /** Bề rộng chữ (như {@link FontMetrics#stringWidth}). */
+        final int advance;
+
+        Sprite(String text, Font font, Color color, boolean shadow) {
+            FontMetrics fm = METRICS.getFontMetrics(font);
+            advance = fm.stringWidth(text);
+            image = AssetCache.createCompatibleImage(advance + 2 * PAD + SHADOW,
+                    fm.getAscent() + fm.getDescent() + 2 * PAD + SHADOW);
+            Graphics2D g = image.createGraphics();
+            g.setFont(font);
+            int baseline = PAD + fm.getAscent();
+            if (shadow) {
+                g.setColor(Color.BLACK);
+                g.drawString(text, PAD + SHADOW, baseline + SHADOW);
+            }
+            g.setColor(color);
+            g.drawString(text, PAD, baseline);
+            g.dispose();
+        }
+    }
+
+    /**
+     * Một dòng chữ: phần đầu cố định, (tùy chọn) một số nguyên và phần đuôi cố định.
+     * <p>
+     * Dòng cố định chính là một {@link Sprite}. Dòng có số giữ một ảnh ghép đủ rộng cho mọi
+     * giá trị {@code int}; khi giá trị đổi, ảnh được xóa và ghép lại từ phần đầu, các chữ số
+     * bitmap (bóng trước, chữ sau — như vẽ bóng cả chuỗi rồi mới vẽ chữ) và phần đuôi.
+     * </p>
+     */
+    private static final class Line {
+        /** Số ký tự tối đa của một {@code int} ({@code "-2147483648"}). */
+        private static final int MAX_CHARS = 11;
+        /** Chỉ số của dấu trừ trong bảng chữ số. */
+        private static final int MINUS = 10;
+
+        private final Sprite prefix, suffix;
+        /** Chữ số {@code 0..9} và dấu trừ theo màu chữ, theo màu bóng ({@code null} nếu không có số/bóng). */
+        private final Sprite[] digits, shadowDigits;
+        /** Đường chân chữ tính từ mép trên ảnh. */
+        private final int baseline;
+        /** Ảnh đang vẽ: sprite cố định hoặc ảnh ghép. */
+        private final BufferedImage image;
+        /** Ngữ cảnh vẽ vào ảnh ghép, giữ lại để ghép không cấp phát ({@code null} với dòng cố định). */
+        private final Graphics2D canvas;
+
+        /** Bề rộng chữ hiện tại. */
+        private int width;
+        /** Giá trị đang hiển thị. */
+        private int value;
+        /** Ảnh ghép chưa có giá trị nào. */
+        private boolean empty = true;
+
+        /** Dòng cố định có bóng (màn hình phủ). */
+        Line(String text, Font font, Color color) {
+            prefix = new Sprite(text, font, color, true);
+            suffix = null;
+            digits = shadowDigits = null;
+            baseline = PAD + METRICS.getFontMetrics(font).getAscent();
+            image = prefix.image;
+            canvas = null;
+            width = prefix.advance;
+        }
+
+        /** Dòng có số: {@code prefix + value + suffix}. */
+        Line(String prefixText, String suffixText, Font font, Color color, boolean shadow) {
+            prefix = new Sprite(prefixText, font, color, shadow);
+            suffix = suffixText.isEmpty() ? null : new Sprite(suffixText, font, color, shadow);
+            digits = digitSprites(font, color);
+            shadowDigits = shadow ? digitSprites(font, Color.BLACK) : null;
+            FontMetrics fm = METRICS.getFontMetrics(font);
+            baseline = PAD + fm.getAscent();
+
+            int maxDigit = 0;
+            for (Sprite d : digits) maxDigit = Math.max(maxDigit, d.advance);
+            int suffixWidth = suffix == null ? 0 : suffix.advance;
+            image = AssetCache.createCompatibleImage(prefix.advance + MAX_CHARS * maxDigit + suffixWidth + 2 * PAD + SHADOW,
+                    prefix.image.getHeight());
+            canvas = image.createGraphics();
+        }
+
+        /** @return các chữ số {@code 0..9} và dấu trừ đã vẽ sẵn */
+        private static Sprite[] digitSprites(Font font, Color color) {
+            Sprite[] sprites = new Sprite[MINUS + 1];
+            for (int d = 0; d < MINUS; d++) sprites[d] = new Sprite(String.valueOf((char) ('0' + d)), font, color, false);
+            sprites[MINUS] = new Sprite("-", font, color, false);
+            return sprites;
+        }
+
+        /**
+         * Đặt giá trị hiển thị; ảnh chỉ được ghép lại khi giá trị thay đổi.
+         *
+         * @param newValue giá trị mới
+         * @return chính dòng này
+         */
+        Line set(int newValue) {
+            if (newValue == value && !empty) return this;
+            value = newValue;
+            empty = false;
+
+            canvas.setComposite(AlphaComposite.Clear);
+            canvas.fillRect(0, 0, image.getWidth(), image.getHeight());
+            canvas.setComposite(AlphaComposite.SrcOver);
+
+            canvas.drawImage(prefix.image, 0, 0, null);
+            int x = prefix.advance;
+            if (shadowDigits != null) drawNumber(shadowDigits, x + SHADOW, SHADOW);
+            x = drawNumber(digits, x, 0);
+            if (suffix != null) {
+                canvas.drawImage(suffix.image, x, 0, null);
+                x += suffix.advance;
+            }
+            width = x;
+            return this;
+        }
+
+        /**
+         * Ghép {@link #value} từ các chữ số bitmap.
+         *
+         * @return vị trí ngay sau chữ số cuối cùng
+         */
+        private int drawNumber(Sprite[] glyphs, int x, int y) {
+            long v = value;
+            if (v < 0) {
+                canvas.drawImage(glyphs[MINUS].image, x, y, null);
+                x += glyphs[MINUS].advance;
+                v = -v;
+            }
+            long divisor = 1;
+            while (divisor * 10 <= v) divisor *= 10;
+            for (; divisor > 0; divisor /= 10) {
+                Sprite glyph = glyphs[(int) (v / divisor % 10)];
+                canvas.drawImage(glyph.image, x, y, null);
+                x += glyph.advance;
+            }
+            return x;
+        }
+
+        /** Vẽ dòng với gốc chữ tại ({@code x}, {@code y}). */
+        void draw(Graphics2D g, int x, int y) {
+            g.drawImage(image, x - PAD, y - baseline, null);
+        }
+
+        /** Vẽ dòng căn phải tại {@code right}. */
+        void drawRight(Graphics2D g, int right, int y) {
+            draw(g, right - width, y);
+        }
+
+        /** Vẽ dòng căn giữa một khu vực rộng {@code areaWidth}. */
+        void drawCentered(Graphics2D g, int areaWidth, int y) {
+            draw(g, (areaWidth - width) / 2, y);
+        }
+    }
+}
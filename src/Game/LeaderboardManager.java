@@ -1,6 +1,8 @@
 package Game;
 
-import java.io.*;
+import storage.ScoreJournal;
+
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -8,83 +10,68 @@ import java.util.*;
  * <p>
  * Lớp này chịu trách nhiệm:
  * <ul>
- *   <li>Lưu và tải danh sách điểm cao nhất từ tệp {@code leaderboard.dat}</li>
+ *   <li>Lưu và tải danh sách điểm cao nhất (qua {@link ScoreJournal})</li>
  *   <li>Thêm điểm mới và tự động sắp xếp theo thứ tự giảm dần</li>
  *   <li>Giới hạn tối đa số điểm được lưu là {@value #MAX_SCORES}</li>
  *   <li>Cung cấp phương thức để in, xóa hoặc lấy danh sách điểm</li>
  * </ul>
  * <p>
- * Dữ liệu được lưu bằng cơ chế tuần tự hóa đối tượng ({@link ObjectOutputStream}).
+ * Dữ liệu được lưu bằng nhật ký chỉ-ghi-thêm có checksum ({@code leaderboard.journal})
+ * và ảnh chụp đổi tên nguyên tử ({@code leaderboard.snap}), ghi ở luồng nền: thêm điểm
+ * không làm khựng khung hình và mất điện giữa chừng không làm hỏng bảng điểm.
+ * Mọi thể hiện dùng chung một bảng điểm, mở một lần khi cần lần đầu.
  */
 public class LeaderboardManager {
 
-    /** Đường dẫn file lưu bảng điểm. */
-    private static final String FILE_PATH = "leaderboard.dat";
+    /** Đường dẫn gốc của ảnh chụp và nhật ký bảng điểm. */
+    private static final String FILE_PATH = "leaderboard";
+
+    /** File bảng điểm kiểu cũ (tuần tự hóa Java), chỉ đọc một lần để chuyển sang. */
+    private static final String LEGACY_FILE_PATH = "leaderboard.dat";
 
     /** Số lượng điểm tối đa được lưu trong bảng. */
     private static final int MAX_SCORES = 10;
 
-    /** Danh sách điểm hiện tại trong bộ nhớ. */
-    private final List<Integer> scores = new ArrayList<>();
+    /** Số bản ghi nhật ký giữa hai lần nén gọn thành ảnh chụp. */
+    private static final int COMPACT_EVERY = 64;
 
-    /**
-     * Khởi tạo một đối tượng {@code LeaderboardManager} và tự động tải dữ liệu từ file.
-     */
-    public LeaderboardManager() {
-        loadScores();
-    }
+    /** Bảng điểm dùng chung (mở khi cần lần đầu). */
+    private static ScoreJournal journal;
+
+    /** Bảng điểm của thể hiện này. */
+    private final ScoreJournal scores;
 
     /**
-     * Tải danh sách điểm từ file {@link #FILE_PATH}.
-     * <p>
-     * Nếu file không tồn tại hoặc lỗi khi đọc, danh sách sẽ để trống.
+     * Khởi tạo một đối tượng {@code LeaderboardManager}; bảng điểm được tải từ đĩa
+     * ở lần khởi tạo đầu tiên.
      */
-    @SuppressWarnings("unchecked")
-    private void loadScores() {
-        scores.clear();
-        File file = new File(FILE_PATH);
-        if (!file.exists()) return;
-
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            Object obj = ois.readObject();
-            if (obj instanceof List<?>) {
-                List<?> loaded = (List<?>) obj;
-                for (Object o : loaded) {
-                    if (o instanceof Integer) scores.add((Integer) o);
-                }
-            }
-            System.out.println("📂 Loaded leaderboard (" + scores.size() + " entries)");
-        } catch (IOException | ClassNotFoundException e) {
-            System.err.println("⚠️ Lỗi khi tải leaderboard: " + e.getMessage());
-        }
+    public LeaderboardManager() {
+        scores = journal();
     }
 
     /**
-     * Lưu danh sách điểm hiện tại ra file {@link #FILE_PATH}.
+     * Mở bảng điểm dùng chung và đăng ký ghi nốt dữ liệu khi thoát chương trình.
+     *
+     * @return bảng điểm dùng chung
      */
-    private void saveScores() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(FILE_PATH))) {
-            oos.writeObject(scores);
-            System.out.println("✅ Leaderboard saved (" + scores.size() + " scores)");
-        } catch (IOException e) {
-            System.err.println("⚠️ Lỗi khi lưu leaderboard: " + e.getMessage());
+    private static synchronized ScoreJournal journal() {
+        if (journal == null) {
+            journal = new ScoreJournal(Path.of(FILE_PATH), MAX_SCORES, COMPACT_EVERY, Path.of(LEGACY_FILE_PATH));
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "LeaderboardFlush"));
         }
+        return journal;
     }
 
     /**
      * Thêm một điểm mới vào bảng xếp hạng.
      * <p>
-     * Sau khi thêm, danh sách sẽ được sắp xếp giảm dần
-     * và chỉ giữ lại {@value #MAX_SCORES} điểm cao nhất.
+     * Điểm được chèn đúng vị trí (giảm dần), chỉ giữ lại {@value #MAX_SCORES} điểm cao nhất;
+     * việc ghi xuống đĩa diễn ra ở luồng nền.
      *
      * @param newScore điểm mới đạt được
      */
     public void addScore(int newScore) {
         scores.add(newScore);
-        scores.sort(Collections.reverseOrder());
-        if (scores.size() > MAX_SCORES)
-            scores.subList(MAX_SCORES, scores.size()).clear();
-        saveScores(); // 🔥 luôn ghi ra file để đảm bảo cập nhật
     }
 
     /**
@@ -93,7 +80,7 @@ public class LeaderboardManager {
      * @return danh sách điểm cao, được sắp xếp giảm dần
      */
     public List<Integer> getScores() {
-        return new ArrayList<>(scores);
+        return scores.getScores();
     }
 
     /**
@@ -101,7 +88,6 @@ public class LeaderboardManager {
      */
     public void clearScores() {
         scores.clear();
-        saveScores();
     }
 
     /**
@@ -117,6 +103,7 @@ public class LeaderboardManager {
      */
     public void printLeaderboard() {
         System.out.println("===== 🏆 LEADERBOARD =====");
+        List<Integer> scores = getScores();
         for (int i = 0; i < scores.size(); i++) {
             System.out.println((i + 1) + ". " + scores.get(i));
         }
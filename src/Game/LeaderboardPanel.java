@@ -1,12 +1,11 @@
 package Game;
 
+import asset.AssetCache;
 import sound.Sound;
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.AbstractBorder;
 import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
-import java.io.IOException;
 import java.util.List;
 
 /**
@@ -60,11 +59,7 @@ public class LeaderboardPanel extends JPanel {
         this.sound = Sound.getInstance();
 
         // 🔹 Load background
-        try {
-            backgroundImage = ImageIO.read(getClass().getResource("/img/menu_bg.jpg"));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        backgroundImage = AssetCache.getInstance().getImage(AssetCache.MENU_BACKGROUND);
 
         setLayout(new GridBagLayout());
         setBackground(Color.BLACK);
@@ -0,0 +1,118 @@
+package Game;
+
+import entity.BrickField;
+import entity.Paddle;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lớp {@code LevelPrefetcher} dựng sẵn màn kế tiếp ở luồng nền trong lúc
+ * {@link GameManager} đếm ngược sau khi hoàn thành màn.
+ * <p>
+ * Lưới gạch ({@code BrickFactory.createLevel}), lớp vẽ tĩnh đã vẽ sẵn ({@link BrickLayer})
+ * và thanh đỡ được chuẩn bị trên một luồng nền duy nhất ("LevelPrefetch"); khi chuyển màn
+ * (hết giờ chờ hoặc nhấn N), {@link GameManager} lấy kết quả và thay vào trong một bước,
+ * không phải dựng màn trên luồng game (nếu màn chưa dựng xong thì dựng đồng bộ, không chờ).
+ * </p>
+ * <p>
+ * Màn dựng sẵn dùng bộ sinh số ngẫu nhiên riêng, gieo bằng seed bố cục mà {@link GameManager}
+ * rút từ bộ sinh của phiên chơi khi hoàn thành màn — cũng là seed mà màn dựng đồng bộ dùng.
+ * Nhờ vậy kết quả giống hệt dựng màn đồng bộ (replay vẫn khớp), và một màn dựng sẵn bị bỏ
+ * (quay về menu, gieo lại seed, chưa dựng xong) không chạm tới bộ sinh của phiên chơi.
+ * </p>
+ */
+final class LevelPrefetcher {
+
+    /**
+     * Một màn đã dựng sẵn.
+     */
+    static final class PreparedLevel {
+        /** Số màn. */
+        final int level;
+        /** Lưới gạch của màn. */
+        final BrickField bricks;
+        /** Lớp vẽ tĩnh đã vẽ sẵn nền và gạch. */
+        final BrickLayer layer;
+        /** Thanh đỡ ở vị trí bắt đầu. */
+        final Paddle paddle;
+
+        PreparedLevel(int level, BrickField bricks, BrickLayer layer, Paddle paddle) {
+            this.level = level;
+            this.bricks = bricks;
+            this.layer = layer;
+            this.paddle = paddle;
+        }
+    }
+
+    /** Luồng nền dựng màn (tạo khi cần lần đầu; các tác vụ chạy tuần tự). */
+    private ExecutorService executor;
+
+    /** Màn đang dựng hoặc đã dựng xong, chờ được lấy ({@code null} = không có). */
+    private Future<PreparedLevel> pending;
+
+    /** Số màn của {@link #pending}. */
+    private int pendingLevel;
+
+    /**
+     * Bắt đầu dựng một màn ở luồng nền (bỏ màn dựng sẵn trước đó, nếu có).
+     *
+     * @param level số màn
+     * @param task  tác vụ dựng màn
+     */
+    void prefetch(int level, Callable<PreparedLevel> task) {
+        discard();
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "LevelPrefetch");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1); // Nhường luồng game và EDT
+                return thread;
+            });
+        }
+        pendingLevel = level;
+        pending = executor.submit(task);
+    }
+
+    /**
+     * Lấy màn đã dựng sẵn, không bao giờ chờ luồng nền: được gọi trên luồng game khi đang giữ
+     * khóa {@link GameManager}, nên màn chưa dựng xong (nhấn N ngay sau khi hoàn thành màn)
+     * bị bỏ và màn được dựng đồng bộ như khi không có bộ dựng sẵn — kết quả giống hệt,
+     * chỉ mất thời gian dựng trên luồng game.
+     *
+     * @param level số màn cần tải
+     * @return màn dựng sẵn, hoặc {@code null} nếu không có, chưa xong hoặc dựng lỗi — khi đó dựng đồng bộ
+     */
+    PreparedLevel take(int level) {
+        Future<PreparedLevel> future = pending;
+        int prepared = pendingLevel;
+        pending = null;
+        if (future == null) return null;
+        if (prepared != level || !future.isDone()) {
+            future.cancel(false);
+            return null;
+        }
+        try {
+            return future.get(); // Đã xong: trả về ngay
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            System.err.println("⚠️ Dựng sẵn màn " + level + " lỗi, dựng lại trên luồng game: " + e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Bỏ màn đang dựng hoặc đã dựng sẵn (ví dụ khi tải màn khác hoặc gieo lại seed).
+     */
+    void discard() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package Game;
 
+import asset.AssetCache;
 import sound.Sound;
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.AbstractBorder;
 import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
-import java.io.IOException;
 
 /**
  * {@code LevelSelectPanel} là giao diện chọn màn chơi (level) trong game.
@@ -21,6 +20,9 @@ import java.io.IOException;
  */
 public class LevelSelectPanel extends JPanel {
 
+    /** Số nút level tối đa trong một cột. */
+    private static final int LEVELS_PER_COLUMN = 5;
+
     /** Container chứa toàn bộ các panel khác (menu, game, leaderboard, v.v.) */
     private final JPanel container;
 
@@ -46,11 +48,7 @@ public class LevelSelectPanel extends JPanel {
         setBackground(Color.BLACK);
 
         // 🔹 Load ảnh nền
-        try {
-            backgroundImage = ImageIO.read(getClass().getResource("/img/menu_bg.jpg"));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        backgroundImage = AssetCache.getInstance().getImage(AssetCache.MENU_BACKGROUND);
 
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.insets = new Insets(15, 15, 15, 15);
@@ -71,13 +69,16 @@ public class LevelSelectPanel extends JPanel {
         add(title, gbc);
 
         // 🔹 Các nút chọn level
-        int totalLevels = 5;
+        // Tối đa 5 nút mỗi cột; nhiều màn hơn thì xếp thêm cột để vẫn vừa màn hình
+        int totalLevels = ProgressManager.getLevelCount();
+        int columns = (totalLevels + LEVELS_PER_COLUMN - 1) / LEVELS_PER_COLUMN;
+        JPanel grid = new JPanel(new GridLayout(0, columns, 30, 30));
+        grid.setOpaque(false);
         levelButtons = new JButton[totalLevels];
         for (int i = 0; i < totalLevels; i++) {
             final int level = i + 1;
             JButton btn = createButton("LEVEL " + level);
-            gbc.gridy = i + 1;
-            add(btn, gbc);
+            grid.add(btn);
             levelButtons[i] = btn;
 
             btn.addActionListener(e -> {
@@ -86,8 +87,11 @@ public class LevelSelectPanel extends JPanel {
             });
         }
 
+        gbc.gridy = 1;
+        add(grid, gbc);
+
         // 🔹 Nút quay lại menu chính
-        gbc.gridy = totalLevels + 1;
+        gbc.gridy = 2;
         JButton back = createButton("BACK");
         back.addActionListener(e -> {
             playClickSound();
@@ -142,15 +146,30 @@ public class LevelSelectPanel extends JPanel {
                 btn.setEnabled(true);
                 btn.setText("LEVEL " + (i + 1));
                 btn.setBackground(new Color(40, 40, 40, 230));
+                btn.setToolTipText(progressText(i + 1));
             } else {
                 btn.setEnabled(false);
                 btn.setFont(new Font("Segoe UI Emoji", Font.BOLD, 28));
                 btn.setText("🔒 LOCKED");
+                btn.setToolTipText(null);
                 btn.setBackground(new Color(80, 80, 80, 150));
             }
         }
     }
 
+    /**
+     * Tạo dòng mô tả tiến độ của một level (điểm cao nhất, thời gian nhanh nhất, số lần chơi).
+     *
+     * @param level số thứ tự của level (bắt đầu từ 1).
+     * @return chuỗi hiển thị trong tooltip của nút level.
+     */
+    private String progressText(int level) {
+        int best = ProgressManager.getBestScore(level);
+        int time = ProgressManager.getBestTimeMillis(level);
+        String timeText = time > 0 ? String.format("%d:%02d", time / 60000, time / 1000 % 60) : "--";
+        return "Best: " + best + " | Time: " + timeText + " | Plays: " + ProgressManager.getAttempts(level);
+    }
+
     /**
      * Bắt đầu chơi level cụ thể.
      *
@@ -1,12 +1,11 @@
 package Game;
 
+import asset.AssetCache;
 import sound.Sound;
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.io.IOException;
 
 /**
  * Lớp {@code MenuPanel} đại diện cho màn hình menu chính của trò chơi Arkanoid.
@@ -51,11 +50,7 @@ public class MenuPanel extends JPanel {
         setBackground(Color.BLACK);
 
         // 🔹 Tải hình nền
-        try {
-            backgroundImage = ImageIO.read(getClass().getResource("/img/menu_bg.jpg"));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        backgroundImage = AssetCache.getInstance().getImage(AssetCache.MENU_BACKGROUND);
 
         // 🔹 Khởi tạo nhạc nền
         sound = Sound.getInstance();
@@ -1,23 +1,45 @@
 package Game;
 
+import entity.BrickFactory;
+import storage.ProgressStore;
+
+import java.nio.file.Path;
+
 /**
  * Lớp {@code ProgressManager} quản lý tiến độ màn chơi của người chơi
  * trong trò chơi Arkanoid.
  * <p>
  * Nó theo dõi màn chơi nào hiện đã được mở khóa và cho phép mở khóa
- * màn chơi tiếp theo sau khi hoàn thành màn chơi hiện tại.
+ * màn chơi tiếp theo sau khi hoàn thành màn chơi hiện tại. Với từng màn,
+ * nó cũng ghi nhận điểm cao nhất, thời gian qua màn nhanh nhất và số lần chơi.
+ * <p>
+ * Tiến độ được lưu vào file {@value #FILE_PATH} qua {@link ProgressStore}: thay đổi
+ * chỉ cập nhật bộ nhớ, việc ghi đĩa (gộp nhiều thay đổi, thay file nguyên tử) diễn ra
+ * ở luồng nền, nên mở khóa màn bên trong {@code GameManager.update()} không bao giờ
+ * phải chờ ổ đĩa.
  * <p>
  * Lớp này sử dụng các trường (fields) và phương thức (methods) tĩnh (static)
  * để dữ liệu tiến độ có thể được chia sẻ toàn cục trên tất cả các màn hình trò chơi.
  */
 public class ProgressManager {
 
-    /**
-     * Màn chơi cao nhất đã được mở khóa.
-     * Giá trị mặc định là {@code 1}, có nghĩa là chỉ Màn 1
-     * có sẵn khi bắt đầu.
-     */
-    private static int unlockedLevel = 1;
+    /** Đường dẫn file lưu tiến độ. */
+    private static final String FILE_PATH = "progress.bin";
+
+    /** Tổng số màn chơi. */
+    private static final int LEVEL_COUNT = BrickFactory.LEVEL_COUNT;
+
+    /** Kho tiến độ dùng chung (tải một lần khi lớp được dùng lần đầu). */
+    private static final ProgressStore store = new ProgressStore(Path.of(FILE_PATH), LEVEL_COUNT);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(store::close, "ProgressFlush"));
+    }
+
+    /** @return tổng số màn chơi */
+    public static int getLevelCount() {
+        return LEVEL_COUNT;
+    }
 
     /**
      * Trả về màn chơi cao nhất đã được mở khóa.
@@ -25,7 +47,7 @@ public class ProgressManager {
      * @return số của màn chơi cao nhất đã được mở khóa
      */
     public static int getUnlockedLevel() {
-        return unlockedLevel;
+        return store.getUnlockedLevel();
     }
 
     /**
@@ -33,16 +55,57 @@ public class ProgressManager {
      * và chưa được mở khóa trước đó.
      * <p>
      * Phương thức này đảm bảo rằng cấp độ đã mở khóa không bao giờ vượt quá
-     * tổng số màn chơi (trong trường hợp này là 5).
+     * tổng số màn chơi ({@link #getLevelCount()}).
      *
      * @param currentLevel màn chơi hiện tại mà người chơi vừa hoàn thành
      */
     public static void unlockNextLevel(int currentLevel) {
-        // Chỉ mở khóa level tiếp theo nếu người chơi vừa hoàn thành level cao nhất
-        // và level cao nhất chưa phải là 5
-        if (currentLevel >= unlockedLevel && unlockedLevel < 5) {
-            unlockedLevel = currentLevel + 1;
-            System.out.println("🎉 Level " + unlockedLevel + " đã được mở khóa!");
+        if (store.unlock(currentLevel + 1)) {
+            System.out.println("🎉 Level " + store.getUnlockedLevel() + " đã được mở khóa!");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Ghi nhận một lần bắt đầu chơi màn.
+     *
+     * @param level màn chơi vừa bắt đầu
+     */
+    public static void recordAttempt(int level) {
+        store.recordAttempt(level);
+    }
+
+    /**
+     * Ghi nhận một lần qua màn (chỉ giữ điểm cao nhất và thời gian nhanh nhất).
+     *
+     * @param level      màn chơi vừa hoàn thành
+     * @param score      điểm đạt được ở màn đó
+     * @param timeMillis thời gian qua màn (ms)
+     */
+    public static void recordClear(int level, int score, long timeMillis) {
+        store.recordClear(level, score, (int) Math.min(Integer.MAX_VALUE, timeMillis));
+    }
+
+    /**
+     * @param level màn chơi
+     * @return điểm cao nhất của màn ({@code 0} nếu chưa qua)
+     */
+    public static int getBestScore(int level) {
+        return store.getBestScore(level);
+    }
+
+    /**
+     * @param level màn chơi
+     * @return thời gian qua màn nhanh nhất (ms), {@code 0} nếu chưa qua
+     */
+    public static int getBestTimeMillis(int level) {
+        return store.getBestTimeMillis(level);
+    }
+
+    /**
+     * @param level màn chơi
+     * @return số lần đã bắt đầu chơi màn
+     */
+    public static int getAttempts(int level) {
+        return store.getAttempts(level);
+    }
+}
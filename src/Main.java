@@ -1,4 +1,5 @@
 import Game.*;
+import asset.AssetCache;
 import javax.swing.*;
 import java.awt.*;
 
@@ -24,6 +25,9 @@ public class Main {
      * @param args Các đối số dòng lệnh (không được sử dụng trong ứng dụng này).
      */
     public static void main(String[] args) {
+        // 🔹 Giải mã toàn bộ ảnh song song trên luồng nền trong khi cửa sổ được dựng
+        AssetCache.getInstance().preloadAsync();
+
         // Đảm bảo mã giao diện người dùng chạy trên Event Dispatch Thread (EDT)
         SwingUtilities.invokeLater(() -> {
             // Tạo cửa sổ game chính
@@ -1,10 +1,10 @@
 package Powerup;
 
+import asset.AssetCache;
+import asset.SpriteCache;
 import entity.Paddle;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.IOException;
 
 /**
  * Đại diện cho một vật phẩm (power-up) giúp mở rộng chiều rộng của thanh đỡ (paddle) khi thu thập.
@@ -14,29 +14,16 @@ import java.io.IOException;
  */
 public class ExpandPaddlePowerUp extends PowerUp {
 
-    /** * Lượng chiều rộng thanh đỡ tăng thêm (tính bằng pixel).
-     * (Lưu ý: Mã hiện tại đang nhân đôi, không dùng biến này, nhưng Javadoc giữ lại mô tả).
-     */
-    private final int expandAmount = 50;
+    /** Bộ đệm sprite đã thu phóng sẵn (vẽ không cần co giãn ảnh mỗi khung hình) */
+    private static final SpriteCache sprites = SpriteCache.getInstance();
 
-    /** Hình ảnh được sử dụng để biểu thị vật phẩm. */
+    /** Hình ảnh được sử dụng để biểu thị vật phẩm (lấy một lần, khi vẽ lần đầu). */
     private BufferedImage image;
 
-    /**
-     * Khởi tạo một vật phẩm {@code ExpandPaddlePowerUp} mới tại vị trí chỉ định.
-     *
-     * @param x tọa độ x của vật phẩm
-     * @param y tọa độ y của vật phẩm
-     */
-    public ExpandPaddlePowerUp(int x, int y) {
-        super(x, y, 30, 30); // Kích thước hitbox
-
-        try {
-            // Tải hình ảnh vật phẩm (bóng xanh)
-            image = ImageIO.read(getClass().getResourceAsStream("/img/greenball.png"));
-        } catch (IOException e) {
-            System.err.println("❌ Không thể tải ảnh greenball.png: " + e.getMessage());
-        }
+    /** Chỉ tạo qua {@link PowerUp#of(int)}. */
+    ExpandPaddlePowerUp() {
+        super(EXPAND);
+        this.color = Color.GREEN;
     }
 
     /**
@@ -58,25 +45,16 @@ public class ExpandPaddlePowerUp extends PowerUp {
     /**
      * Vẽ (render) vật phẩm lên màn hình.
      * Nếu hình ảnh tải thất bại, một hình tròn màu xanh lá cây dự phòng sẽ được vẽ thay thế.
-     *
-     * @param g đối tượng {@link Graphics2D} được sử dụng để vẽ
      */
     @Override
-    public void render(Graphics2D g) {
-        // Tính toán để vẽ hình ảnh/hình tròn vuông vức
-        int size = Math.max(width, height);
-        int drawX = x - (size - width) / 2;
-        int drawY = y - (size - height) / 2;
+    public void render(Graphics2D g, int x, int y) {
+        // Hình ảnh vật phẩm (bóng xanh) dùng chung từ AssetCache
+        if (image == null) image = AssetCache.getInstance().getSprite(AssetCache.POWERUP_EXPAND);
 
         if (image != null) {
-            // Vẽ hình ảnh
-            g.drawImage(image, drawX, drawY, size, size, null);
+            sprites.draw(g, image, x, y, SIZE, SIZE);
         } else {
-            // Vẽ hình tròn dự phòng (nếu ảnh lỗi)
-            g.setColor(Color.GREEN);
-            g.fillOval(drawX, drawY, size, size);
-            g.setColor(Color.BLACK);
-            g.drawOval(drawX, drawY, size, size);
+            super.render(g, x, y); // Hình tròn dự phòng (nếu ảnh lỗi)
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package Powerup;
+
+import asset.AssetCache;
+import asset.SpriteCache;
+import entity.BallPool;
+import entity.Paddle;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Vật phẩm Multi-ball: khi thanh đỡ thu thập, mỗi quả bóng đang bay tách thành ba quả
+ * (hai quả mới bay lệch sang hai bên).
+ * <p>
+ * Hiệu ứng tác động lên {@link BallPool} chứ không phải lên thanh đỡ, nên
+ * {@link PowerUpManager} gọi {@link #applyToBalls(BallPool)} sau {@link #applyEffect(Paddle)}.
+ * </p>
+ */
+public class MultiBallPowerUp extends PowerUp {
+
+    /** Số bóng tối đa trên màn khi tách bằng vật phẩm. */
+    public static final int MAX_BALLS = 64;
+
+    /** Số bóng mới sinh ra từ mỗi quả bóng. */
+    private static final int EXTRA_BALLS = 2;
+
+    /** Góc lệch giữa quả bóng gốc và quả bóng mới (radian). */
+    private static final double SPREAD = Math.toRadians(20);
+
+    /** Bộ đệm sprite đã thu phóng sẵn (vẽ không cần co giãn ảnh mỗi khung hình) */
+    private static final SpriteCache sprites = SpriteCache.getInstance();
+
+    /** Hình ảnh được sử dụng để biểu thị vật phẩm (lấy một lần, khi vẽ lần đầu). */
+    private BufferedImage image;
+
+    /** Chỉ tạo qua {@link PowerUp#of(int)}. */
+    MultiBallPowerUp() {
+        super(MULTI);
+        this.color = Color.CYAN;
+    }
+
+    @Override
+    public void applyEffect(Paddle paddle) {
+        // Hiệu ứng tác động lên bóng (applyToBalls)
+    }
+
+    /**
+     * Tách các quả bóng đang bay.
+     *
+     * @param balls các quả bóng trong màn chơi
+     */
+    @Override
+    public void applyToBalls(BallPool balls) {
+        balls.split(EXTRA_BALLS, SPREAD, MAX_BALLS);
+    }
+
+    @Override
+    public void render(Graphics2D g, int x, int y) {
+        // Ảnh quả bóng dùng chung từ AssetCache
+        if (image == null) image = AssetCache.getInstance().getSprite(AssetCache.BALL);
+
+        if (image != null) {
+            sprites.draw(g, image, x, y, SIZE, SIZE);
+        } else {
+            g.setColor(color);
+            g.fillOval(x, y, SIZE, SIZE);
+        }
+        // Viền xanh để phân biệt với quả bóng thật
+        g.setColor(Color.CYAN);
+        g.drawOval(x, y, SIZE, SIZE);
+    }
+}
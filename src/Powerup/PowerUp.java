@@ -1,118 +1,115 @@
 package Powerup;
 
 import java.awt.*;
-import entity.GameObject;
+import entity.BallPool;
 import entity.Paddle;
 
 /**
  * Lớp {@code PowerUp} là một lớp cơ sở trừu tượng (abstract base class)
- * đại diện cho các vật phẩm thưởng có thể thu thập được,
+ * đại diện cho các loại vật phẩm thưởng có thể thu thập được,
  * rơi ra từ các viên gạch bị phá hủy.
  * <p>
- * Mỗi vật phẩm di chuyển xuống dưới với tốc độ không đổi và có thể tương tác với
- * thanh đỡ ({@link Paddle}) của người chơi để áp dụng một hiệu ứng cụ thể.
- * Các lớp con phải triển khai (implement) phương thức {@link #applyEffect(Paddle)}
- * để định nghĩa hành vi cụ thể (ví dụ: mở rộng thanh đỡ, tăng tốc quả bóng, v.v.).
+ * Mỗi loại vật phẩm chỉ có <b>một thể hiện dùng chung</b> ({@link #of(int)}), giữ hành vi
+ * (hiệu ứng, cách vẽ). Vị trí của từng vật phẩm đang rơi do {@link PowerUpManager} lưu
+ * trong các mảng nguyên thủy theo chỉ số, nên tạo và thu thập vật phẩm không cấp phát đối tượng.
  * </p>
  *
  * <p>
- * Lớp này cũng xử lý logic cơ bản về vẽ (rendering), di chuyển,
- * và hộp giới hạn (bounding-box) để phát hiện va chạm với thanh đỡ.
+ * Mọi vật phẩm có cùng kích thước ({@value #SIZE} pixel) và rơi với cùng tốc độ
+ * ({@value #SPEED} pixel mỗi bước).
+ * Các lớp con phải triển khai (implement) phương thức {@link #applyEffect(Paddle)}
+ * để định nghĩa hành vi cụ thể (ví dụ: mở rộng thanh đỡ, tăng tốc quả bóng, v.v.).
  * </p>
  *
- * @see entity.GameObject
  * @see entity.Paddle
  * @see Powerup.ExpandPaddlePowerUp
  * @see Powerup.FastBallPowerUp
+ * @see Powerup.MultiBallPowerUp
  */
-public abstract class PowerUp extends GameObject {
+public abstract class PowerUp {
+
+    // ====== Mã loại vật phẩm (lưu trong PowerUpManager) ======
+    /** Mở rộng thanh đỡ ({@link ExpandPaddlePowerUp}). */
+    public static final byte EXPAND = 0;
+    /** Bóng nhanh ({@link FastBallPowerUp}). */
+    public static final byte FAST = 1;
+    /** Tách bóng ({@link MultiBallPowerUp}). */
+    public static final byte MULTI = 2;
+
+    /** Kích thước (rộng = cao) của vật phẩm, cũng là hộp va chạm. */
+    public static final int SIZE = 30;
+
+    /** Tốc độ rơi của vật phẩm (tính bằng pixel mỗi bước mô phỏng). */
+    public static final int SPEED = 3;
 
-    /** Tốc độ rơi của vật phẩm (tính bằng pixel mỗi khung hình). */
-    protected int speed = 3;
+    /** Thể hiện dùng chung của từng loại vật phẩm, theo mã loại. */
+    private static final PowerUp[] TYPES = {
+            new ExpandPaddlePowerUp(),
+            new FastBallPowerUp(),
+            new MultiBallPowerUp()
+    };
 
-    /** Trạng thái cho biết vật phẩm đã được kích hoạt (được thanh đỡ thu thập). */
-    protected boolean active = false;
+    /** Mã loại của vật phẩm này. */
+    private final byte kind;
 
     /** Màu sắc được sử dụng để vẽ nếu không có hình ảnh tùy chỉnh. */
     protected Color color = Color.YELLOW;
 
     /**
-     * Tạo một {@code PowerUp} mới tại các tọa độ và kích thước được chỉ định.
-     *
-     * @param x      tọa độ x của vị trí vật phẩm
-     * @param y      tọa độ y của vị trí vật phẩm
-     * @param width  chiều rộng của vật phẩm
-     * @param height chiều cao của vật phẩm
+     * @param kind mã loại vật phẩm
      */
-    public PowerUp(int x, int y, int width, int height) {
-        super(x, y, width, height);
+    protected PowerUp(byte kind) {
+        this.kind = kind;
     }
 
     /**
-     * Định nghĩa hiệu ứng được áp dụng khi vật phẩm này được thanh đỡ thu thập.
-     * Các lớp con phải triển khai phương thức này để định nghĩa hành vi riêng của chúng.
+     * Lấy thể hiện dùng chung của một loại vật phẩm.
      *
-     * @param paddle thanh đỡ ({@link Paddle}) đã thu thập vật phẩm
+     * @param kind mã loại ({@link #EXPAND}, {@link #FAST}, {@link #MULTI})
+     * @return loại vật phẩm tương ứng
+     * @throws IllegalArgumentException nếu mã loại không hợp lệ
      */
-    public abstract void applyEffect(Paddle paddle);
-
-    // ====== Getters ======
-
-    /** @return tọa độ x hiện tại */
-    public int getX() { return x; }
-
-    /** @return tọa độ y hiện tại */
-    public int getY() { return y; }
-
-    /** @return chiều rộng của vật phẩm */
-    public int getWidth() { return width; }
-
-    /** @return chiều cao của vật phẩm */
-    public int getHeight() { return height; }
-
-    /** @return hình chữ nhật giới hạn (bounding rectangle) dùng cho phát hiện va chạm */
-    public Rectangle getBounds() {
-        return new Rectangle(x, y, width, height);
+    public static PowerUp of(int kind) {
+        if (kind < 0 || kind >= TYPES.length) {
+            throw new IllegalArgumentException("loại vật phẩm không hợp lệ: " + kind);
+        }
+        return TYPES[kind];
     }
 
-    /** @return {@code true} nếu vật phẩm này đang hoạt động, ngược lại {@code false} */
-    public boolean isActive() { return active; }
+    /** @return mã loại của vật phẩm này */
+    public byte getKind() { return kind; }
 
     /**
-     * Thiết lập trạng thái hoạt động của vật phẩm này.
+     * Định nghĩa hiệu ứng được áp dụng khi vật phẩm này được thanh đỡ thu thập.
+     * Các lớp con phải triển khai phương thức này để định nghĩa hành vi riêng của chúng.
      *
-     * @param active {@code true} nếu vật phẩm này đang hoạt động
+     * @param paddle thanh đỡ ({@link Paddle}) đã thu thập vật phẩm
      */
-    public void setActive(boolean active) { this.active = active; }
-
-    // ====== Behavior ======
+    public abstract void applyEffect(Paddle paddle);
 
     /**
-     * Cập nhật vị trí của vật phẩm mỗi khung hình.
-     * <p>
-     * Triển khai mặc định sẽ di chuyển vật phẩm xuống dưới
-     * theo một tốc độ {@link #speed} không đổi.
-     * </p>
+     * Hiệu ứng lên các quả bóng khi vật phẩm được thu thập (mặc định: không có).
+     *
+     * @param balls các quả bóng trong màn chơi
      */
-    public void update() {
-        y += speed;
+    public void applyToBalls(BallPool balls) {
     }
 
     /**
-     * Vẽ (render) vật phẩm lên màn hình.
+     * Vẽ (render) một vật phẩm loại này lên màn hình.
      * <p>
-     * Các lớp con có thể ghi đè (override) phương thức này để vẽ hình ảnh (sprites)
-     * hoặc hoạt ảnh tùy chỉnh.
+     * Các lớp con có thể ghi đè (override) phương thức này để vẽ hình ảnh (sprites).
      * Theo mặc định, phương thức này vẽ một hình tròn đơn giản có màu.
      * </p>
      *
      * @param g đối tượng {@link Graphics2D} được sử dụng để vẽ
+     * @param x hoành độ của vật phẩm
+     * @param y tung độ của vật phẩm
      */
-    @Override
-    public void render(Graphics2D g) {
+    public void render(Graphics2D g, int x, int y) {
         g.setColor(color);
-        g.fillOval(x, y, width, height);
+        g.fillOval(x, y, SIZE, SIZE);
         g.setColor(Color.BLACK);
-        g.drawOval(x, y, width, height);
+        g.drawOval(x, y, SIZE, SIZE);
     }
-}
\ No newline at end of file
+}
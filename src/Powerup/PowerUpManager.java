@@ -2,30 +2,39 @@ package Powerup;
 
 import entity.*;
 import sound.Sound;
+import sound.SoundPlayer;
+import timing.GameClock;
+import timing.TimerWheel;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Random;
 
 /**
  * Lớp {@code PowerUpManager} chịu trách nhiệm tạo, cập nhật và vẽ
- * tất cả các đối tượng {@link PowerUp} đang hoạt động trong trò chơi.
+ * tất cả các vật phẩm {@link PowerUp} đang hoạt động trong trò chơi.
+ * <p>
+ * Vật phẩm đang rơi được lưu trong các mảng nguyên thủy (vị trí và mã loại), còn hành vi
+ * lấy từ thể hiện dùng chung {@link PowerUp#of(int)}: tạo, cập nhật và thu thập vật phẩm
+ * không cấp phát bộ nhớ. Mảng chỉ nới rộng khi số vật phẩm vượt dung lượng hiện có.
+ * </p>
  * <p>
  * Lớp này xử lý:
  * <ul>
  * <li>Tạo ra các vật phẩm mới khi gạch bị phá hủy</li>
  * <li>Kiểm tra va chạm giữa {@link Paddle} (thanh đỡ) và các vật phẩm</li>
- * <li>Kích hoạt các hiệu ứng tạm thời (ví dụ: mở rộng thanh đỡ, tăng tốc bóng)</li>
- * <li>Theo dõi thời lượng của mỗi hiệu ứng vật phẩm đang hoạt động</li>
+ * <li>Kích hoạt các hiệu ứng tạm thời (ví dụ: mở rộng thanh đỡ, tăng tốc bóng) và tách bóng</li>
+ * <li>Hẹn giờ kết thúc cho mỗi hiệu ứng vật phẩm đang hoạt động trên {@link TimerWheel}
+ * của đồng hồ mô phỏng (dừng khi tạm dừng, không kiểm tra mốc thời gian mỗi bước)</li>
  * </ul>
  * </p>
  *
  * <p>
  * Ví dụ sử dụng:
  * <pre>
- * PowerUpManager powerUpManager = new PowerUpManager();
- * powerUpManager.spawnPowerUp(brick); // Tạo vật phẩm tại vị trí viên gạch
- * powerUpManager.update(ball, paddle, screenHeight); // Cập nhật logic
+ * PowerUpManager powerUpManager = new PowerUpManager(random, clock, sound);
+ * powerUpManager.spawnPowerUp(x, y); // Tạo vật phẩm tại tâm viên gạch vừa vỡ
+ * powerUpManager.update(balls, paddle, screenHeight, deltaTime); // Cập nhật logic
  * powerUpManager.render(graphics2D); // Vẽ vật phẩm
  * </pre>
  * </p>
@@ -33,48 +42,134 @@ import java.util.List;
  * @see Powerup.PowerUp
  * @see Powerup.ExpandPaddlePowerUp
  * @see Powerup.FastBallPowerUp
- * @see entity.Ball
+ * @see Powerup.MultiBallPowerUp
+ * @see entity.BallPool
  * @see entity.Paddle
  */
 public class PowerUpManager {
 
-    /** Danh sách các vật phẩm hiện đang hoạt động (đang rơi). */
-    private final List<PowerUp> activePowerUps = new ArrayList<>();
+    /** Dung lượng ban đầu của các mảng vật phẩm. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Thời lượng (ms thời gian mô phỏng) của các hiệu ứng tạm thời. */
+    private static final long EFFECT_MILLIS = 5000;
+
+    /** Chiều rộng gốc của thanh đỡ (khôi phục khi hết hiệu ứng mở rộng). */
+    private static final int PADDLE_WIDTH = 80;
+
+    /** Tần số cập nhật chuẩn mà {@link PowerUp#SPEED} được hiệu chỉnh theo (như vận tốc bóng). */
+    private static final double REFERENCE_TICK_RATE = 60.0;
+
+    /** Hoành độ góc trên bên trái của từng vật phẩm đang rơi. */
+    private int[] px = new int[INITIAL_CAPACITY];
+
+    /** Tung độ chính xác (số thực) góc trên bên trái của từng vật phẩm đang rơi. */
+    private double[] py = new double[INITIAL_CAPACITY];
+
+    /** Mã loại của từng vật phẩm đang rơi ({@link PowerUp#EXPAND}, ...). */
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+
+    /** Số vật phẩm đang rơi (các phần tử {@code [0, count)} của mảng). */
+    private int count;
+
+    /** Nơi phát âm thanh vật phẩm của phiên chơi. */
+    private final SoundPlayer sound;
+
+    /** Bộ sinh số ngẫu nhiên của phiên chơi (quyết định vật phẩm rơi ra). */
+    private final Random random;
 
-    /** Thể hiện (instance) Sound dùng chung để phát âm thanh vật phẩm. */
-    private static final Sound sound = Sound.getInstance();
+    /** Đồng hồ mô phỏng; thời hạn hiệu ứng được đặt trên bánh xe hẹn giờ của nó. */
+    private final GameClock clock;
 
-    /** Mốc thời gian (ms) khi hiệu ứng mở rộng thanh đỡ kết thúc. */
-    private long expandEndTime = 0;
+    /** Hẹn giờ kết thúc hiệu ứng mở rộng thanh đỡ ({@link TimerWheel#NONE} = không hoạt động). */
+    private long expandTimer = TimerWheel.NONE;
 
-    /** Mốc thời gian (ms) khi hiệu ứng bóng nhanh kết thúc. */
-    private long fastBallEndTime = 0;
+    /** Hẹn giờ kết thúc hiệu ứng bóng nhanh ({@link TimerWheel#NONE} = không hoạt động). */
+    private long fastBallTimer = TimerWheel.NONE;
+
+    /** Thanh đỡ và các quả bóng đang chịu hiệu ứng (ghi lại khi thu thập vật phẩm). */
+    private Paddle affectedPaddle;
+    private BallPool affectedBalls;
+
+    /** Kết thúc hiệu ứng mở rộng: khôi phục kích thước gốc (tạo một lần). */
+    private final Runnable expireExpand = () -> {
+        expandTimer = TimerWheel.NONE;
+        affectedPaddle.setWidth(PADDLE_WIDTH);
+        affectedPaddle.setExpanded(false);
+    };
+
+    /** Kết thúc hiệu ứng bóng nhanh: khôi phục tốc độ gốc (tạo một lần). */
+    private final Runnable expireFastBall = () -> {
+        fastBallTimer = TimerWheel.NONE;
+        affectedBalls.resetSpeed();
+    };
+
+    /**
+     * Khởi tạo với bộ sinh ngẫu nhiên và đồng hồ mô phỏng riêng, phát âm thanh qua {@link Sound}.
+     */
+    public PowerUpManager() {
+        this(new Random(), new GameClock(), Sound.getInstance());
+    }
+
+    /**
+     * Khởi tạo với bộ sinh ngẫu nhiên, đồng hồ và âm thanh do {@code GameManager} cung cấp,
+     * để cùng seed và cùng chuỗi phím cho ra cùng kết quả (replay).
+     *
+     * @param random bộ sinh số ngẫu nhiên của phiên chơi
+     * @param clock  đồng hồ mô phỏng dùng cho thời hạn hiệu ứng
+     * @param sound  nơi phát âm thanh của phiên chơi ({@link SoundPlayer#SILENT} khi headless)
+     */
+    public PowerUpManager(Random random, GameClock clock, SoundPlayer sound) {
+        this.random = random;
+        this.clock = clock;
+        this.sound = sound;
+    }
 
     /**
-     * Tạo ngẫu nhiên một vật phẩm tại vị trí của viên gạch bị phá hủy.
+     * Tạo ngẫu nhiên một vật phẩm tại tâm của viên gạch bị phá hủy.
      * <p>
      * Chỉ một số viên gạch nhất định mới tạo ra vật phẩm dựa trên xác suất:
      * <ul>
      * <li>Xác suất {@code < 0.15} → {@link ExpandPaddlePowerUp} (Mở rộng thanh đỡ)</li>
      * <li>Xác suất {@code < 0.25} → {@link FastBallPowerUp} (Bóng nhanh)</li>
+     * <li>Xác suất {@code < 0.32} → {@link MultiBallPowerUp} (Tách bóng)</li>
      * </ul>
      * </p>
      *
-     * @param brick đối tượng {@link Brick} vừa bị phá hủy
+     * @param x hoành độ tâm viên gạch vừa bị phá hủy
+     * @param y tung độ tâm viên gạch vừa bị phá hủy
      */
-    public void spawnPowerUp(Brick brick) {
-        double chance = Math.random();
-
-        // Lấy vị trí trung tâm của viên gạch
-        int x = brick.getX() + brick.getWidth() / 2;
-        int y = brick.getY() + brick.getHeight() / 2;
+    public void spawnPowerUp(int x, int y) {
+        double chance = random.nextDouble();
 
         if (chance < 0.15) {
-            activePowerUps.add(new ExpandPaddlePowerUp(x, y));
+            add(PowerUp.EXPAND, x, y);
         } else if (chance < 0.25) {
-            activePowerUps.add(new FastBallPowerUp(x, y));
+            add(PowerUp.FAST, x, y);
+        } else if (chance < 0.32) {
+            add(PowerUp.MULTI, x, y);
         }
-        // Bạn có thể thêm các hiệu ứng khác sau này, ví dụ: new ShieldPowerUp(x, y);
+        // Bạn có thể thêm các hiệu ứng khác sau này (mã loại mới trong PowerUp)
+    }
+
+    /**
+     * Thêm một vật phẩm đang rơi, nới rộng mảng khi đầy.
+     *
+     * @param kind mã loại vật phẩm
+     * @param x    hoành độ góc trên bên trái
+     * @param y    tung độ góc trên bên trái
+     */
+    private void add(byte kind, int x, int y) {
+        if (count == kinds.length) {
+            int capacity = count * 2;
+            px = Arrays.copyOf(px, capacity);
+            py = Arrays.copyOf(py, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+        }
+        px[count] = x;
+        py[count] = y;
+        kinds[count] = kind;
+        count++;
     }
 
     /**
@@ -85,71 +180,91 @@ public class PowerUpManager {
      * <li>Di chuyển từng vật phẩm đang hoạt động xuống dưới</li>
      * <li>Phát hiện va chạm với {@link Paddle} (thanh đỡ)</li>
      * <li>Áp dụng hiệu ứng của vật phẩm và phát âm thanh tương ứng</li>
-     * <li>Xử lý thời gian và việc hết hạn của các hiệu ứng tạm thời</li>
+     * <li>Đặt (hoặc làm mới) hẹn giờ kết thúc của các hiệu ứng tạm thời</li>
      * </ul>
      * </p>
      *
-     * @param ball          đối tượng {@link Ball} bị ảnh hưởng bởi một số vật phẩm (ví dụ: bóng nhanh)
+     * @param balls         các quả bóng ({@link BallPool}) bị ảnh hưởng bởi một số vật phẩm (bóng nhanh, tách bóng)
      * @param paddle        đối tượng {@link Paddle} do người chơi điều khiển
      * @param screenHeight  chiều cao của màn hình, dùng để loại bỏ các vật phẩm rơi ra ngoài màn hình
+     * @param deltaTime     khoảng thời gian của một bước mô phỏng (giây); quãng rơi được nhân theo nó
+     *                      để tốc độ rơi không đổi khi thay đổi tần số cập nhật
      */
-    public void update(Ball ball, Paddle paddle, int screenHeight) {
-        List<PowerUp> collected = new ArrayList<>();
+    public void update(BallPool balls, Paddle paddle, int screenHeight, double deltaTime) {
+        double fall = PowerUp.SPEED * deltaTime * REFERENCE_TICK_RATE;
+        int paddleX = paddle.getX(), paddleY = paddle.getY();
+        int paddleW = paddle.getWidth(), paddleH = paddle.getHeight();
 
-        for (PowerUp p : activePowerUps) {
-            p.update(); // Cập nhật vị trí (rơi xuống)
+        // Một lượt duy nhất: vật phẩm còn lại được dồn về đầu mảng, giữ nguyên thứ tự
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int x = px[i];
+            double y = py[i] + fall; // Cập nhật vị trí (rơi xuống)
+            byte kind = kinds[i];
 
             // Khi thanh đỡ thu thập vật phẩm
-            if (p.getBounds().intersects(paddle.getBounds())) {
-                p.applyEffect(paddle);
-
-                // --- Hiệu ứng Bóng nhanh ---
-                if (p instanceof FastBallPowerUp) {
-                    sound.play(Sound.FX_FAST); // Sử dụng hằng số nếu có
-                    // Nếu hiệu ứng đang hoạt động, làm mới (reset) thời gian
-                    if (ball.isFastBallActive()) {
-                        fastBallEndTime = System.currentTimeMillis() + 5000; // 5 giây
-                    } else {
-                        // Kích hoạt lần đầu
-                        ball.activateFastBall();
-                        fastBallEndTime = System.currentTimeMillis() + 5000;
-                    }
-                }
-
-                // --- Hiệu ứng Mở rộng thanh đỡ ---
-                if (p instanceof ExpandPaddlePowerUp) {
-                    sound.play(Sound.FX_EXPAND); // Sử dụng hằng số nếu có
-                    // Nếu đã mở rộng, làm mới thời gian
-                    if (paddle.isExpanded()) {
-                        expandEndTime = System.currentTimeMillis() + 5000;
-                    } else {
-                        // Kích hoạt lần đầu
-                        p.applyEffect(paddle); // (applyEffect đã được gọi ở trên, nhưng gọi lại để chắc chắn)
-                        expandEndTime = System.currentTimeMillis() + 5000;
-                    }
-                }
-
-                collected.add(p); // Thêm vào danh sách chờ xóa
+            if (GameObject.intersects(x, (int) Math.round(y), PowerUp.SIZE, PowerUp.SIZE, paddleX, paddleY, paddleW, paddleH)) {
+                collect(PowerUp.of(kind), balls, paddle);
+                // Hiệu ứng mở rộng có thể đổi chiều rộng thanh đỡ
+                paddleW = paddle.getWidth();
+                continue;
             }
+            // Loại bỏ các vật phẩm rơi ra khỏi màn hình
+            if (y > screenHeight) continue;
+
+            px[kept] = x;
+            py[kept] = y;
+            kinds[kept] = kind;
+            kept++;
         }
+        count = kept;
+        // Hiệu ứng hết hạn do bánh xe hẹn giờ của đồng hồ xử lý, không cần kiểm tra ở đây
+    }
 
-        // Loại bỏ các vật phẩm đã thu thập
-        activePowerUps.removeAll(collected);
-        // Loại bỏ các vật phẩm rơi ra khỏi màn hình
-        activePowerUps.removeIf(p -> p.getY() > screenHeight);
+    /**
+     * Áp dụng hiệu ứng của một vật phẩm vừa được thanh đỡ thu thập và phát âm thanh tương ứng.
+     *
+     * @param p      loại vật phẩm
+     * @param balls  các quả bóng trong màn chơi
+     * @param paddle thanh đỡ đã thu thập vật phẩm
+     */
+    private void collect(PowerUp p, BallPool balls, Paddle paddle) {
+        p.applyEffect(paddle);
 
-        // --- Kiểm tra hiệu ứng Mở rộng đã hết hạn ---
-        if (expandEndTime > 0 && System.currentTimeMillis() > expandEndTime) {
-            paddle.setWidth(80);          // Khôi phục kích thước gốc
-            paddle.setExpanded(false);
-            expandEndTime = 0;            // Đặt lại đồng hồ đếm
+        switch (p.getKind()) {
+            // --- Hiệu ứng Bóng nhanh ---
+            case PowerUp.FAST -> {
+                sound.play(Sound.FX_FAST);
+                // Kích hoạt lần đầu; nếu hiệu ứng đang hoạt động thì chỉ làm mới (reset) thời gian
+                if (!balls.isFastBallActive()) balls.activateFastBall();
+                affectedBalls = balls;
+                fastBallTimer = timers().reschedule(fastBallTimer, clock.ticksFor(EFFECT_MILLIS), expireFastBall);
+            }
+            // --- Hiệu ứng Mở rộng thanh đỡ (applyEffect đã nhân đôi chiều rộng nếu cần) ---
+            case PowerUp.EXPAND -> {
+                sound.play(Sound.FX_EXPAND);
+                affectedPaddle = paddle;
+                expandTimer = timers().reschedule(expandTimer, clock.ticksFor(EFFECT_MILLIS), expireExpand);
+            }
+            // --- Hiệu ứng Tách bóng ---
+            case PowerUp.MULTI -> sound.play(Sound.FX_FAST);
+            default -> { }
         }
+        p.applyToBalls(balls);
+    }
 
-        // --- Kiểm tra hiệu ứng Bóng nhanh đã hết hạn ---
-        if (fastBallEndTime > 0 && System.currentTimeMillis() > fastBallEndTime) {
-            ball.resetSpeed();            // Khôi phục tốc độ gốc
-            fastBallEndTime = 0;          // Đặt lại đồng hồ đếm
-        }
+    /** @return bánh xe hẹn giờ của đồng hồ mô phỏng */
+    private TimerWheel timers() {
+        return clock.getTimers();
+    }
+
+    /**
+     * Số vật phẩm đang rơi.
+     *
+     * @return số vật phẩm đang hoạt động
+     */
+    public int getActiveCount() {
+        return count;
     }
 
     /**
@@ -158,8 +273,8 @@ public class PowerUpManager {
      * @param g đối tượng {@link Graphics2D} dùng để vẽ
      */
     public void render(Graphics2D g) {
-        for (PowerUp p : activePowerUps) {
-            p.render(g);
+        for (int i = 0; i < count; i++) {
+            PowerUp.of(kinds[i]).render(g, px[i], (int) Math.round(py[i]));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,264 @@
+package asset;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lớp {@code AssetCache} quản lý việc tải và chia sẻ toàn bộ hình ảnh của trò chơi.
+ * <p>
+ * Giống {@link sound.Sound}, lớp này được triển khai theo mẫu Singleton để mỗi ảnh chỉ
+ * được giải mã một lần duy nhất trong suốt vòng đời ứng dụng:
+ * <ul>
+ * <li>Ảnh nền (game, menu) được giữ nguyên kích thước và trả về dùng chung.</li>
+ * <li>Sprite của gạch, bóng, paddle và vật phẩm được xếp chung vào một ảnh atlas
+ *     có định dạng tương thích với màn hình; mỗi sprite là một vùng con
+ *     ({@link BufferedImage#getSubimage}) dùng chung bộ nhớ với atlas.</li>
+ * <li>Có thể tải trước song song khi khởi động ({@link #preloadAsync()}),
+ *     nhờ vậy tải lại màn chơi không còn đọc file nào.</li>
+ * </ul>
+ * Các đối tượng game lấy ảnh khi vẽ lần đầu, nên phiên chơi headless (không vẽ) không tải ảnh nào.
+ * Với {@code -Darkanoid.headless=true}, không ảnh nào được tải và mọi phương thức lấy ảnh trả về
+ * {@code null} (các đối tượng sẽ tự vẽ bằng màu mặc định).
+ */
+public class AssetCache {
+
+    // Đường dẫn các tài nguyên ảnh
+    public static final String GAME_BACKGROUND = "/img/game_bg.jpg";
+    public static final String MENU_BACKGROUND = "/img/menu_bg.jpg";
+    public static final String BALL = "/img/ball.png";
+    public static final String PADDLE = "/img/pipe_ngan.png";
+    public static final String NORMAL_1 = "/img/normal1.png";
+    public static final String NORMAL_2 = "/img/normal2.png";
+    public static final String NORMAL_3 = "/img/normal3.png";
+    public static final String NORMAL_4 = "/img/normal4.png";
+    public static final String NORMAL_5 = "/img/normal5.png";
+    public static final String STRONG = "/img/strong.png";
+    public static final String STRONG_HALF = "/img/strong_half.png";
+    public static final String EXPLOSIVE_1 = "/img/explosive1.png";
+    public static final String EXPLOSIVE_2 = "/img/explosive2.png";
+    public static final String UNBREAKABLE_1 = "/img/unbreakable1.png";
+    public static final String UNBREAKABLE_2 = "/img/unbreakable2.png";
+    public static final String POWERUP_EXPAND = "/img/greenball.png";
+    public static final String POWERUP_FAST = "/img/redball.png";
+
+    /** Các ảnh nền (giữ nguyên kích thước, không đưa vào atlas). */
+    private static final String[] BACKGROUNDS = {GAME_BACKGROUND, MENU_BACKGROUND};
+
+    /**
+     * Các sprite được xếp vào atlas, kèm kích thước lưu trong atlas.
+     * Ảnh gốc quá lớn (paddle 719x127, vật phẩm 1536x1024) được thu nhỏ một lần khi xếp.
+     */
+    private static final Object[][] SPRITES = {
+            {BALL, 16, 16},
+            {PADDLE, 160, 28},
+            {NORMAL_1, 32, 16}, {NORMAL_2, 32, 16}, {NORMAL_3, 32, 16},
+            {NORMAL_4, 32, 16}, {NORMAL_5, 32, 16},
+            {STRONG, 32, 16}, {STRONG_HALF, 32, 16},
+            {EXPLOSIVE_1, 32, 16}, {EXPLOSIVE_2, 32, 16},
+            {UNBREAKABLE_1, 32, 16}, {UNBREAKABLE_2, 32, 16},
+            {POWERUP_EXPAND, 48, 32}, {POWERUP_FAST, 48, 32},
+    };
+
+    /** Chiều rộng tối đa của atlas (xếp sprite theo từng hàng kệ). */
+    private static final int ATLAS_WIDTH = 256;
+
+    /** Thể hiện (instance) duy nhất của lớp AssetCache (Singleton). */
+    private static AssetCache instance;
+
+    /**
+     * Không tải ảnh nào trong cả tiến trình (không chạm tới {@code ImageIO}/AWT), bật bằng thuộc tính
+     * hệ thống {@code -Darkanoid.headless=true} khi khởi động. Một phiên chơi headless không cần cờ này:
+     * ảnh chỉ được lấy khi vẽ lần đầu, mà phiên headless không bao giờ vẽ.
+     */
+    private static final boolean headless = Boolean.getBoolean("arkanoid.headless");
+
+    /** Ảnh gốc đã giải mã, theo đường dẫn. */
+    private final Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+
+    /** Các đường dẫn không tải được (để không thử lại và không in lỗi nhiều lần). */
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+
+    /** Sprite (vùng con của atlas), theo đường dẫn. */
+    private final Map<String, BufferedImage> sprites = new ConcurrentHashMap<>();
+
+    /** Ảnh atlas chứa toàn bộ sprite; {@code null} khi chưa xây dựng. */
+    private volatile BufferedImage atlas;
+
+    /** Constructor private để thực thi mẫu Singleton. */
+    private AssetCache() {
+    }
+
+    /**
+     * Cung cấp quyền truy cập vào thể hiện Singleton của lớp AssetCache.
+     *
+     * @return Thể hiện (instance) duy nhất của lớp AssetCache.
+     */
+    public static synchronized AssetCache getInstance() {
+        if (instance == null) {
+            instance = new AssetCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Tải trước toàn bộ ảnh song song trên một luồng nền, rồi xây dựng atlas.
+     * Thường được gọi một lần khi khởi động ứng dụng.
+     *
+     * @return tác vụ hoàn thành khi mọi ảnh đã sẵn sàng
+     */
+    public CompletableFuture<Void> preloadAsync() {
+        return CompletableFuture.runAsync(this::preload);
+    }
+
+    /**
+     * Tải trước toàn bộ ảnh (giải mã song song) và xây dựng atlas.
+     */
+    public void preload() {
+        if (headless) return;
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[BACKGROUNDS.length + SPRITES.length];
+        int i = 0;
+        for (String path : BACKGROUNDS) {
+            tasks[i++] = CompletableFuture.runAsync(() -> getImage(path));
+        }
+        for (Object[] spec : SPRITES) {
+            String path = (String) spec[0];
+            tasks[i++] = CompletableFuture.runAsync(() -> decode(path));
+        }
+        CompletableFuture.allOf(tasks).join();
+        buildAtlas();
+        System.out.println("✅ Assets preloaded (" + images.size() + " images, " + sprites.size() + " sprites)");
+    }
+
+    /**
+     * Lấy ảnh ở kích thước gốc (dùng cho ảnh nền). Ảnh được giải mã một lần và dùng chung.
+     *
+     * @param path đường dẫn tài nguyên, ví dụ {@link #GAME_BACKGROUND}
+     * @return ảnh đã giải mã, hoặc {@code null} nếu không tải được / đang headless
+     */
+    public BufferedImage getImage(String path) {
+        if (headless) return null;
+        return decode(path);
+    }
+
+    /**
+     * Lấy sprite từ atlas dùng chung (atlas được xây dựng ở lần gọi đầu tiên nếu chưa tải trước).
+     *
+     * @param path đường dẫn tài nguyên, ví dụ {@link #BALL}
+     * @return sprite dùng chung, hoặc {@code null} nếu không tải được / đang headless
+     */
+    public BufferedImage getSprite(String path) {
+        if (headless) return null;
+        if (atlas == null) buildAtlas();
+        BufferedImage sprite = sprites.get(path);
+        return sprite != null ? sprite : decode(path); // ảnh không khai báo trong atlas
+    }
+
+    /**
+     * Lấy một bộ sprite (ví dụ các biến thể texture của một loại gạch).
+     *
+     * @param paths các đường dẫn tài nguyên
+     * @return mảng sprite theo đúng thứ tự, hoặc {@code null} nếu có ảnh không tải được
+     */
+    public BufferedImage[] getSprites(String... paths) {
+        BufferedImage[] result = new BufferedImage[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            result[i] = getSprite(paths[i]);
+            if (result[i] == null) return null;
+        }
+        return result;
+    }
+
+    /**
+     * Giải mã ảnh (chỉ một lần cho mỗi đường dẫn).
+     *
+     * @param path đường dẫn tài nguyên
+     * @return ảnh đã giải mã, hoặc {@code null} nếu lỗi
+     */
+    private BufferedImage decode(String path) {
+        BufferedImage cached = images.get(path);
+        if (cached != null || missing.contains(path)) return cached;
+        try {
+            URL url = AssetCache.class.getResource(path);
+            if (url == null) throw new IOException("không tìm thấy tài nguyên");
+            BufferedImage img = ImageIO.read(url);
+            if (img == null) throw new IOException("định dạng ảnh không hỗ trợ");
+            BufferedImage previous = images.putIfAbsent(path, img);
+            return previous != null ? previous : img;
+        } catch (IOException | IllegalArgumentException e) {
+            if (missing.add(path)) {
+                System.out.println("⚠️ Không thể tải ảnh " + path + ": " + e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Xếp toàn bộ sprite vào một atlas duy nhất (xếp theo hàng kệ) với định dạng
+     * tương thích màn hình, rồi tạo các vùng con dùng chung cho từng sprite.
+     */
+    private synchronized void buildAtlas() {
+        if (atlas != null) return;
+
+        // Tính vị trí từng sprite: xếp từ trái sang phải, hết chiều rộng thì xuống kệ mới
+        int[][] slots = new int[SPRITES.length][];
+        int cursorX = 0, cursorY = 0, shelfHeight = 0;
+        for (int i = 0; i < SPRITES.length; i++) {
+            int w = (Integer) SPRITES[i][1];
+            int h = (Integer) SPRITES[i][2];
+            if (cursorX + w > ATLAS_WIDTH) {
+                cursorX = 0;
+                cursorY += shelfHeight;
+                shelfHeight = 0;
+            }
+            slots[i] = new int[]{cursorX, cursorY, w, h};
+            cursorX += w;
+            shelfHeight = Math.max(shelfHeight, h);
+        }
+
+        BufferedImage sheet = createCompatibleImage(ATLAS_WIDTH, cursorY + shelfHeight);
+        Graphics2D g = sheet.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        for (int i = 0; i < SPRITES.length; i++) {
+            String path = (String) SPRITES[i][0];
+            BufferedImage src = decode(path);
+            if (src == null) continue;
+            int[] s = slots[i];
+            Image scaled = (src.getWidth() == s[2] && src.getHeight() == s[3])
+                    ? src
+                    : src.getScaledInstance(s[2], s[3], Image.SCALE_SMOOTH);
+            g.drawImage(scaled, s[0], s[1], null);
+            sprites.put(path, sheet.getSubimage(s[0], s[1], s[2], s[3]));
+        }
+        g.dispose();
+
+        // Ảnh gốc của sprite không còn cần thiết (nhất là ảnh vật phẩm 1536x1024)
+        for (Object[] spec : SPRITES) {
+            if (sprites.containsKey(spec[0])) images.remove(spec[0]);
+        }
+        atlas = sheet;
+    }
+
+    /**
+     * Tạo ảnh trong suốt có định dạng tương thích với màn hình (để Java2D vẽ nhanh).
+     * Khi không có màn hình, dùng {@link BufferedImage#TYPE_INT_ARGB}.
+     *
+     * @param width  chiều rộng
+     * @param height chiều cao
+     * @return ảnh mới
+     */
+    public static BufferedImage createCompatibleImage(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+}
@@ -0,0 +1,132 @@
+package asset;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lớp {@code SpriteCache} lưu các bản sao đã thu phóng sẵn của sprite theo
+ * khóa (texture, chiều rộng, chiều cao).
+ * <p>
+ * Gọi {@code g.drawImage(image, x, y, width, height, null)} buộc Java2D thu phóng ảnh
+ * gốc ở mỗi lần vẽ, và nếu ảnh không cùng định dạng với màn hình thì phải dùng
+ * đường vẽ chậm. Lớp này tạo một lần duy nhất bản sao đúng kích thước bằng
+ * {@link GraphicsConfiguration#createCompatibleImage}, để mỗi lần vẽ chỉ còn là
+ * một phép sao chép điểm ảnh (Java2D có thể đưa ảnh này lên bộ nhớ đồ họa).
+ * </p>
+ *
+ * <p>
+ * Tra cứu không cấp phát bộ nhớ: mỗi texture giữ một mảng nhỏ các biến thể kích thước
+ * (ví dụ paddle 80px và 160px khi ăn vật phẩm mở rộng), được quét tuần tự.
+ * </p>
+ *
+ * @see AssetCache
+ */
+public class SpriteCache {
+
+    /** Thể hiện (instance) duy nhất của lớp SpriteCache (Singleton). */
+    private static SpriteCache instance;
+
+    /** Các biến thể kích thước của từng texture (so khớp theo định danh đối tượng ảnh). */
+    private final Map<Image, Variant[]> variants = new ConcurrentHashMap<>();
+
+    /** Một bản sao đã thu phóng của texture. */
+    private static final class Variant {
+        final int width, height;
+        final BufferedImage image;
+
+        Variant(int width, int height, BufferedImage image) {
+            this.width = width;
+            this.height = height;
+            this.image = image;
+        }
+    }
+
+    /** Constructor private để thực thi mẫu Singleton. */
+    private SpriteCache() {
+    }
+
+    /**
+     * Cung cấp quyền truy cập vào thể hiện Singleton của lớp SpriteCache.
+     *
+     * @return Thể hiện (instance) duy nhất của lớp SpriteCache.
+     */
+    public static synchronized SpriteCache getInstance() {
+        if (instance == null) {
+            instance = new SpriteCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Lấy bản sao của texture đã thu phóng đúng kích thước, tạo mới nếu chưa có.
+     *
+     * @param texture ảnh gốc (thường là sprite từ {@link AssetCache})
+     * @param width   chiều rộng cần vẽ
+     * @param height  chiều cao cần vẽ
+     * @return ảnh tương thích màn hình với đúng kích thước yêu cầu
+     */
+    public BufferedImage get(Image texture, int width, int height) {
+        Variant[] list = variants.get(texture);
+        if (list != null) {
+            for (Variant v : list) {
+                if (v.width == width && v.height == height) return v.image;
+            }
+        }
+        return create(texture, width, height);
+    }
+
+    /**
+     * Vẽ texture tại vị trí cho trước với kích thước cho trước, dùng bản sao thu phóng sẵn.
+     *
+     * @param g       đối tượng {@link Graphics2D} dùng để vẽ
+     * @param texture ảnh gốc
+     * @param x       hoành độ
+     * @param y       tung độ
+     * @param width   chiều rộng
+     * @param height  chiều cao
+     */
+    public void draw(Graphics2D g, Image texture, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        g.drawImage(get(texture, width, height), x, y, null);
+    }
+
+    /**
+     * Xóa toàn bộ bản sao đã thu phóng (ví dụ khi đổi màn hình hiển thị).
+     */
+    public void clear() {
+        variants.clear();
+    }
+
+    /**
+     * Tạo bản sao thu phóng và thêm vào danh sách biến thể (copy-on-write).
+     *
+     * @param texture ảnh gốc
+     * @param width   chiều rộng
+     * @param height  chiều cao
+     * @return bản sao đã thu phóng
+     */
+    private synchronized BufferedImage create(Image texture, int width, int height) {
+        Variant[] list = variants.get(texture);
+        if (list != null) {
+            for (Variant v : list) {
+                if (v.width == width && v.height == height) return v.image; // luồng khác vừa tạo
+            }
+        }
+
+        BufferedImage scaled = AssetCache.createCompatibleImage(width, height);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(texture, 0, 0, width, height, null);
+        g.dispose();
+
+        int n = list == null ? 0 : list.length;
+        Variant[] grown = new Variant[n + 1];
+        if (n > 0) System.arraycopy(list, 0, grown, 0, n);
+        grown[n] = new Variant(width, height, scaled);
+        variants.put(texture, grown);
+        return scaled;
+    }
+}
@@ -0,0 +1,542 @@
+package entity;
+
+import asset.AssetCache;
+import asset.SpriteCache;
+import sound.SoundPlayer;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Lớp {@code BallPool} quản lý toàn bộ các quả bóng đang bay trong màn chơi (multi-ball).
+ * <p>
+ * Trạng thái bóng được lưu theo kiểu "struct of arrays": mỗi thuộc tính (tọa độ, vận tốc,
+ * tốc độ gốc, cờ Fast Ball...) là một mảng số nguyên thủy, phần tử thứ {@code i} của
+ * mọi mảng thuộc về quả bóng thứ {@code i}. Không có đối tượng nào cho từng quả bóng, nên
+ * hàng nghìn quả bóng (chế độ "chaos") vẫn chỉ là vài mảng liền mạch trong bộ nhớ, và mỗi
+ * bước mô phỏng xử lý tường, paddle và gạch cho cả loạt bóng trong một vòng lặp.
+ * </p>
+ * <p>
+ * Xóa bóng dùng cách đổi chỗ với phần tử cuối (swap-with-last), O(1) và không dời mảng;
+ * vì vậy chỉ số của một quả bóng có thể thay đổi sau khi xóa.
+ * </p>
+ * <p>
+ * Mỗi quả bóng có hai chế độ va chạm ({@link CollisionMode}), hiệu ứng Fast Ball và
+ * đổi hướng khi chạm paddle. Thời hạn Fast Ball không được đếm ở đây mà do
+ * {@code PowerUpManager} hẹn giờ trên đồng hồ mô phỏng rồi gọi {@link #resetSpeed()}.
+ * </p>
+ *
+ * @see Sweep
+ */
+public class BallPool {
+
+    /**
+     * Chế độ phát hiện va chạm của bóng.
+     * <ul>
+     *   <li>{@link #DISCRETE} – dịch chuyển rồi mới kiểm tra chồng lấn (cách cũ, bóng nhanh có thể xuyên gạch)</li>
+     *   <li>{@link #SWEPT} – quét theo quãng đường, tìm thời điểm chạm sớm nhất, xử lý nhiều lần nảy mỗi bước</li>
+     * </ul>
+     */
+    public enum CollisionMode { DISCRETE, SWEPT }
+
+    /** Kích thước mặc định của bóng (pixel). */
+    public static final int DEFAULT_BALL_SIZE = 12;
+    /** Sức chứa mặc định (bằng số bóng tối đa của Multi Ball). */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /** Hệ số tăng tốc của Fast Ball. */
+    private static final double FAST_BALL_FACTOR = 1.5;
+    /** Tần số cập nhật chuẩn mà vận tốc {@code dx/dy} được hiệu chỉnh theo. */
+    private static final double REFERENCE_TICK_RATE = 60.0;
+    /** Số lần nảy tối đa được xử lý trong một bước mô phỏng (chế độ quét). */
+    private static final int MAX_BOUNCES_PER_STEP = 8;
+
+    /** Bộ đệm sprite đã thu phóng sẵn. */
+    private static final SpriteCache sprites = SpriteCache.getInstance();
+
+    /** Kích thước (rộng = cao) của mọi quả bóng trong pool. */
+    private final int size;
+
+    // ====== Trạng thái bóng (mỗi mảng một thuộc tính) ======
+    /** Vị trí chính xác (số thực). */
+    private double[] x, y;
+    /** Vị trí ở bước trước (để vẽ nội suy). */
+    private double[] prevX, prevY;
+    /** Vận tốc (pixel / 1/60 giây). */
+    private double[] dx, dy;
+    /** Độ lớn vận tốc gốc (khôi phục khi hết Fast Ball). */
+    private double[] baseSpeed;
+    /** Quả bóng đang được Fast Ball tăng tốc. */
+    private boolean[] fast;
+
+    /** Số quả bóng đang bay. */
+    private int count;
+
+    /** Chế độ va chạm của cả pool. */
+    private CollisionMode collisionMode = CollisionMode.SWEPT;
+    /** Bộ tính va chạm quét (dùng lại, không cấp phát). */
+    private final Sweep sweep = new Sweep();
+    /** Số phép kiểm tra va chạm (paddle + gạch) và số gạch được kiểm tra từ lần đặt lại gần nhất. */
+    private int collisionChecks, bricksTested;
+    /** Ảnh bóng dùng chung cho mọi quả bóng (lấy khi vẽ lần đầu: phiên headless không tải ảnh). */
+    private Image ballImage;
+    /** Nơi phát âm thanh (tiếng chạm paddle) của phiên chơi sở hữu pool. */
+    private SoundPlayer sound = SoundPlayer.SILENT;
+
+    /**
+     * Khởi tạo pool với bóng kích thước mặc định, đủ chỗ cho số bóng tối đa sau khi tách
+     * Multi Ball ({@code MultiBallPowerUp.MAX_BALLS}), để lúc chơi thường mảng không phải mở rộng.
+     */
+    public BallPool() {
+        this(DEFAULT_BALL_SIZE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param size     kích thước bóng (pixel)
+     * @param capacity số bóng dự kiến (mảng tự mở rộng khi cần)
+     */
+    public BallPool(int size, int capacity) {
+        this.size = size;
+        allocate(Math.max(1, capacity));
+    }
+
+    // ====== Thêm / xóa ======
+
+    /**
+     * Thêm một quả bóng mới. Vận tốc ban đầu cũng là tốc độ gốc của nó.
+     *
+     * @param bx  tọa độ X
+     * @param by  tọa độ Y
+     * @param bdx vận tốc X
+     * @param bdy vận tốc Y
+     * @return chỉ số của quả bóng mới
+     */
+    public int add(double bx, double by, double bdx, double bdy) {
+        if (count == x.length) allocate(count * 2);
+        int i = count++;
+        x[i] = prevX[i] = bx;
+        y[i] = prevY[i] = by;
+        dx[i] = bdx;
+        dy[i] = bdy;
+        baseSpeed[i] = Math.sqrt(bdx * bdx + bdy * bdy);
+        fast[i] = false;
+        return i;
+    }
+
+    /**
+     * Xóa quả bóng thứ {@code i} bằng cách chép quả bóng cuối vào chỗ của nó.
+     *
+     * @param i chỉ số quả bóng cần xóa
+     */
+    public void remove(int i) {
+        int last = --count;
+        if (i == last) return;
+        x[i] = x[last];
+        y[i] = y[last];
+        prevX[i] = prevX[last];
+        prevY[i] = prevY[last];
+        dx[i] = dx[last];
+        dy[i] = dy[last];
+        baseSpeed[i] = baseSpeed[last];
+        fast[i] = fast[last];
+    }
+
+    /** Xóa mọi quả bóng. */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Xóa các quả bóng đã rơi khỏi đáy màn hình.
+     *
+     * @param panelHeight chiều cao khung game
+     * @return số bóng đã rơi
+     */
+    public int removeFallen(int panelHeight) {
+        int fallen = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            if (getY(i) > panelHeight) {
+                remove(i);
+                fallen++;
+            }
+        }
+        return fallen;
+    }
+
+    /**
+     * Tách mỗi quả bóng đang bay thành {@code 1 + extra} quả, các quả mới bay lệch
+     * góc {@code ±spreadRadians} so với quả gốc (hiệu ứng Multi-ball).
+     *
+     * @param extra         số bóng mới sinh ra từ mỗi quả
+     * @param spreadRadians góc lệch giữa hai quả liền kề
+     * @param maxBalls      tổng số bóng tối đa sau khi tách
+     */
+    public void split(int extra, double spreadRadians, int maxBalls) {
+        int originals = count;
+        for (int i = 0; i < originals && count < maxBalls; i++) {
+            double speed = Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]);
+            double angle = Math.atan2(dy[i], dx[i]);
+            for (int k = 1; k <= extra && count < maxBalls; k++) {
+                // Lệch luân phiên hai bên: +1, -1, +2, -2...
+                double offset = ((k + 1) / 2) * spreadRadians * ((k & 1) == 1 ? 1 : -1);
+                double a = angle + offset;
+                int j = add(x[i], y[i], Math.cos(a) * speed, Math.sin(a) * speed);
+                prevX[j] = prevX[i];
+                prevY[j] = prevY[i];
+                baseSpeed[j] = baseSpeed[i];
+                fast[j] = fast[i];
+            }
+        }
+    }
+
+    // ====== Truy vấn ======
+
+    /**
+     * Đặt nơi phát âm thanh của pool (mặc định: {@link SoundPlayer#SILENT}).
+     *
+     * @param sound nơi phát âm thanh của phiên chơi
+     */
+    public void setSoundPlayer(SoundPlayer sound) { this.sound = sound; }
+
+    /** @return số quả bóng đang bay */
+    public int size() { return count; }
+
+    /** @return {@code true} nếu không còn quả bóng nào */
+    public boolean isEmpty() { return count == 0; }
+
+    /** @return số phép kiểm tra va chạm (paddle + gạch) từ lần {@link #resetCounters()} gần nhất */
+    public int getCollisionChecks() { return collisionChecks; }
+
+    /** @return số viên gạch được kiểm tra va chạm từ lần {@link #resetCounters()} gần nhất */
+    public int getBricksTested() { return bricksTested; }
+
+    /** Đặt lại bộ đếm phép kiểm tra va chạm (mỗi bước mô phỏng). */
+    public void resetCounters() {
+        collisionChecks = 0;
+        bricksTested = 0;
+    }
+
+    /** @return kích thước bóng */
+    public int getBallSize() { return size; }
+
+    /** @param i chỉ số bóng @return hoành độ (làm tròn) */
+    public int getX(int i) { return (int) Math.round(x[i]); }
+
+    /** @param i chỉ số bóng @return tung độ (làm tròn) */
+    public int getY(int i) { return (int) Math.round(y[i]); }
+
+    /** @param i chỉ số bóng @return vận tốc X */
+    public double getDx(int i) { return dx[i]; }
+
+    /** @param i chỉ số bóng @return vận tốc Y */
+    public double getDy(int i) { return dy[i]; }
+
+    /** @return chế độ va chạm hiện tại */
+    public CollisionMode getCollisionMode() { return collisionMode; }
+
+    /** @param collisionMode chế độ va chạm mới (áp dụng cho mọi quả bóng) */
+    public void setCollisionMode(CollisionMode collisionMode) { this.collisionMode = collisionMode; }
+
+    /**
+     * Hash trạng thái của mọi quả bóng (dùng cho replay). Không cấp phát bộ nhớ.
+     *
+     * @param h hash đầu vào
+     * @return hash đã gộp trạng thái bóng
+     */
+    public int hash(int h) {
+        h = 31 * h + count;
+        for (int i = 0; i < count; i++) {
+            h = 31 * h + getX(i);
+            h = 31 * h + getY(i);
+            h = 31 * h + Double.hashCode(dx[i]);
+            h = 31 * h + Double.hashCode(dy[i]);
+        }
+        return h;
+    }
+
+    // ====== Fast Ball ======
+
+    /** @return {@code true} nếu có ít nhất một quả bóng đang tăng tốc */
+    public boolean isFastBallActive() {
+        for (int i = 0; i < count; i++) {
+            if (fast[i]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Kích hoạt Fast Ball cho mọi quả bóng chưa tăng tốc (tăng tốc 50%).
+     * Thời hạn của hiệu ứng do nơi gọi hẹn giờ, hết hạn thì gọi {@link #resetSpeed()}.
+     */
+    public void activateFastBall() {
+        for (int i = 0; i < count; i++) {
+            if (!fast[i]) {
+                dx[i] *= FAST_BALL_FACTOR;
+                dy[i] *= FAST_BALL_FACTOR;
+                fast[i] = true;
+            }
+        }
+    }
+
+    /** Đưa mọi quả bóng về tốc độ gốc (giữ nguyên hướng bay). */
+    public void resetSpeed() {
+        for (int i = 0; i < count; i++) resetSpeed(i);
+    }
+
+    /** Đưa quả bóng thứ {@code i} về tốc độ gốc. */
+    private void resetSpeed(int i) {
+        double current = Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]);
+        if (current == 0) return;
+        dx[i] = dx[i] / current * baseSpeed[i];
+        dy[i] = dy[i] / current * baseSpeed[i];
+        fast[i] = false;
+    }
+
+    // ====== Mô phỏng ======
+
+    /** Lưu vị trí hiện tại của mọi quả bóng làm vị trí bước trước. */
+    public void savePreviousPositions() {
+        System.arraycopy(x, 0, prevX, 0, count);
+        System.arraycopy(y, 0, prevY, 0, count);
+    }
+
+    /**
+     * Cập nhật mọi quả bóng một bước mô phỏng: di chuyển, va chạm tường, paddle và gạch
+     * theo chế độ va chạm hiện tại.
+     *
+     * @param deltaTime  khoảng thời gian của một bước mô phỏng (giây)
+     * @param panelWidth chiều rộng khung game
+     * @param paddle     thanh chắn của người chơi
+     * @param bricks     lưới gạch của màn chơi
+     * @param listener   nhận thông báo mỗi khi một quả bóng chạm gạch
+     */
+    public void update(double deltaTime, int panelWidth, Paddle paddle,
+                       BrickField bricks, BrickHitListener listener) {
+        double scale = deltaTime * REFERENCE_TICK_RATE;
+        boolean swept = collisionMode == CollisionMode.SWEPT;
+        for (int i = 0; i < count; i++) {
+            if (swept) {
+                updateSwept(i, scale, panelWidth, paddle, bricks, listener);
+                bounceOffWalls(i, panelWidth);
+            } else {
+                updateDiscrete(i, scale, panelWidth, paddle, bricks, listener);
+            }
+        }
+    }
+
+    /**
+     * Chặn quả bóng thứ {@code i} trong tường trái, phải, trên.
+     */
+    private void bounceOffWalls(int i, int panelWidth) {
+        if (x[i] <= 0) {
+            x[i] = 0;
+            dx[i] = Math.abs(dx[i]);
+        } else if (x[i] + size >= panelWidth) {
+            x[i] = panelWidth - size;
+            dx[i] = -Math.abs(dx[i]);
+        }
+        if (y[i] <= 0) {
+            y[i] = 0;
+            dy[i] = Math.abs(dy[i]);
+        }
+    }
+
+    /**
+     * Đổi hướng quả bóng khi chạm paddle: luôn bay lên, và bay sang
+     * trái/phải nếu chạm vào một phần ba bên trái/phải của paddle.
+     */
+    private void deflectFromPaddle(int i, Paddle paddle, double ballX) {
+        dy[i] = -Math.abs(dy[i]);
+
+        double hitPos = (ballX + size / 2.0) - paddle.x;
+        if (hitPos < paddle.width / 3.0) dx[i] = -Math.abs(dx[i]);
+        else if (hitPos > 2 * paddle.width / 3.0) dx[i] = Math.abs(dx[i]);
+
+        sound.play(11);
+    }
+
+    /**
+     * Chế độ quét (swept / continuous collision) cho quả bóng thứ {@code i}.
+     * <p>
+     * Quãng đường của bước mô phỏng được quét lần lượt: tìm va chạm sớm nhất với
+     * tường (trái, phải, trên), paddle và các viên gạch trong vùng quét, di chuyển đến
+     * đúng điểm chạm, đổi hướng rồi tiếp tục phần quãng đường còn lại. Nhờ vậy bóng
+     * tốc độ cao không xuyên qua gạch hay paddle, và có thể nảy nhiều lần trong một bước.
+     * </p>
+     */
+    private void updateSwept(int i, double scale, int panelWidth, Paddle paddle,
+                             BrickField bricks, BrickHitListener listener) {
+        double posX = x[i], posY = y[i];
+        double remaining = 1.0;
+
+        for (int bounce = 0; bounce < MAX_BOUNCES_PER_STEP && remaining > 1e-9; bounce++) {
+            double moveX = dx[i] * scale * remaining;
+            double moveY = dy[i] * scale * remaining;
+
+            double earliest = 1.0;
+            int nx = 0, ny = 0;
+            boolean hit = false, hitPaddle = false;
+            int hitBrick = -1;
+
+            // 🧱 Tường trái, phải, trên
+            if (moveX < 0 && posX + moveX < 0) {
+                earliest = Math.max(0.0, -posX / moveX);
+                nx = 1;
+                hit = true;
+            } else if (moveX > 0 && posX + size + moveX > panelWidth) {
+                earliest = Math.max(0.0, (panelWidth - size - posX) / moveX);
+                nx = -1;
+                hit = true;
+            }
+            if (moveY < 0 && posY + moveY < 0) {
+                double t = Math.max(0.0, -posY / moveY);
+                if (!hit || t < earliest) {
+                    earliest = t;
+                    nx = 0;
+                }
+                if (t <= earliest) {
+                    ny = 1;
+                    hit = true;
+                }
+            }
+
+            // 🏓 Paddle (chỉ khi bóng đang rơi xuống)
+            if (moveY > 0 && sweep.test(posX, posY, size, size, moveX, moveY,
+                    paddle.x, paddle.y, paddle.width, paddle.height) && sweep.time < earliest) {
+                earliest = sweep.time;
+                hit = true;
+                hitPaddle = true;
+            }
+
+            // 💥 Gạch trong vùng quét
+            int qx = (int) Math.floor(Math.min(posX, posX + moveX));
+            int qy = (int) Math.floor(Math.min(posY, posY + moveY));
+            int qw = (int) Math.ceil(Math.abs(moveX)) + size + 1;
+            int qh = (int) Math.ceil(Math.abs(moveY)) + size + 1;
+            int bw = bricks.getCellWidth(), bh = bricks.getCellHeight();
+            int candidates = bricks.query(qx, qy, qw, qh);
+            bricksTested += candidates;
+            collisionChecks += candidates + (moveY > 0 ? 1 : 0);
+            for (int c = 0; c < candidates; c++) {
+                int b = bricks.resultAt(c);
+                if (sweep.test(posX, posY, size, size, moveX, moveY,
+                        bricks.getX(b), bricks.getY(b), bw, bh) && sweep.time < earliest) {
+                    earliest = sweep.time;
+                    nx = sweep.normalX;
+                    ny = sweep.normalY;
+                    hit = true;
+                    hitPaddle = false;
+                    hitBrick = b;
+                }
+            }
+
+            posX += moveX * earliest;
+            posY += moveY * earliest;
+            if (!hit) break;
+
+            if (hitPaddle) {
+                deflectFromPaddle(i, paddle, posX);
+            } else {
+                if (nx != 0) dx[i] = nx * Math.abs(dx[i]);
+                if (ny != 0) dy[i] = ny * Math.abs(dy[i]);
+                if (hitBrick >= 0) listener.onBrickHit(hitBrick);
+            }
+            remaining *= (1.0 - earliest);
+        }
+
+        x[i] = posX;
+        y[i] = posY;
+    }
+
+    /**
+     * Chế độ rời rạc cho quả bóng thứ {@code i}: dịch chuyển, rồi kiểm tra chồng lấn với
+     * paddle và với gạch trong vùng bóng vừa đi qua (tối đa một viên gạch mỗi bước).
+     */
+    private void updateDiscrete(int i, double scale, int panelWidth, Paddle paddle,
+                                BrickField bricks, BrickHitListener listener) {
+        x[i] += dx[i] * scale;
+        y[i] += dy[i] * scale;
+        bounceOffWalls(i, panelWidth);
+
+        int bx = getX(i), by = getY(i);
+        if (dy[i] > 0 && GameObject.intersects(bx, by, size, size,
+                paddle.x, paddle.y, paddle.width, paddle.height)) {
+            deflectFromPaddle(i, paddle, x[i]);
+        }
+
+        int px = (int) Math.round(prevX[i]), py = (int) Math.round(prevY[i]);
+        int bw = bricks.getCellWidth(), bh = bricks.getCellHeight();
+        int candidates = bricks.query(Math.min(px, bx), Math.min(py, by),
+                Math.abs(bx - px) + size, Math.abs(by - py) + size);
+        collisionChecks++; // paddle
+        for (int c = 0; c < candidates; c++) {
+            int b = bricks.resultAt(c);
+            bricksTested++;
+            collisionChecks++;
+            int brickX = bricks.getX(b), brickY = bricks.getY(b);
+            if (!GameObject.intersects(bx, by, size, size, brickX, brickY, bw, bh)) continue;
+
+            int overlapLeft = bx + size - brickX;
+            int overlapRight = brickX + bw - bx;
+            int overlapTop = by + size - brickY;
+            int overlapBottom = brickY + bh - by;
+
+            if (Math.min(overlapLeft, overlapRight) < Math.min(overlapTop, overlapBottom)) {
+                x[i] += overlapLeft < overlapRight ? -overlapLeft : overlapRight;
+                dx[i] = -dx[i];
+            } else {
+                y[i] += overlapTop < overlapBottom ? -overlapTop : overlapBottom;
+                dy[i] = -dy[i];
+            }
+            listener.onBrickHit(b);
+            break; // Chỉ xử lý 1 va chạm gạch mỗi bước cho mỗi quả bóng
+        }
+    }
+
+    // ====== Vẽ ======
+
+    /**
+     * Vẽ mọi quả bóng tại vị trí nội suy giữa bước trước và bước hiện tại.
+     *
+     * @param g     đối tượng {@link Graphics2D} để vẽ
+     * @param alpha hệ số nội suy trong khoảng [0, 1]
+     */
+    public void render(Graphics2D g, double alpha) {
+        if (ballImage == null) ballImage = AssetCache.getInstance().getSprite(AssetCache.BALL);
+        if (ballImage == null) g.setColor(Color.WHITE);
+        for (int i = 0; i < count; i++) {
+            int drawX = (int) Math.round(prevX[i] + (x[i] - prevX[i]) * alpha);
+            int drawY = (int) Math.round(prevY[i] + (y[i] - prevY[i]) * alpha);
+            if (ballImage != null) {
+                sprites.draw(g, ballImage, drawX, drawY, size, size);
+            } else {
+                g.fillOval(drawX, drawY, size, size);
+            }
+        }
+    }
+
+    /**
+     * Cấp phát lại các mảng trạng thái với dung lượng mới (giữ dữ liệu cũ).
+     */
+    private void allocate(int capacity) {
+        if (x == null) {
+            x = new double[capacity];
+            y = new double[capacity];
+            prevX = new double[capacity];
+            prevY = new double[capacity];
+            dx = new double[capacity];
+            dy = new double[capacity];
+            baseSpeed = new double[capacity];
+            fast = new boolean[capacity];
+            return;
+        }
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        dx = Arrays.copyOf(dx, capacity);
+        dy = Arrays.copyOf(dy, capacity);
+        baseSpeed = Arrays.copyOf(baseSpeed, capacity);
+        fast = Arrays.copyOf(fast, capacity);
+    }
+}
@@ -0,0 +1,159 @@
+package entity;
+
+/**
+ * Lớp {@code BlastResolver} xử lý vụ nổ và nổ dây chuyền của {@link ExplosiveBrick}.
+ * <p>
+ * Thay vì mỗi vụ nổ quét toàn bộ danh sách gạch rồi gọi đệ quy vào từng gạch nổ lân cận
+ * (O(n²) mỗi chuỗi, và có thể tràn stack trên bàn toàn gạch nổ), vụ nổ được lan theo
+ * chiều rộng (BFS):
+ * <ul>
+ *   <li>Các ô gạch nổ chờ kích nổ nằm trong một hàng đợi vòng (không đệ quy), xếp theo tick kích nổ.</li>
+ *   <li>Gạch lân cận được tìm qua {@link BrickField#query} — chỉ vài ô quanh tâm nổ (kể cả hàng lệch nửa ô), O(1).</li>
+ *   <li>Mỗi gạch nổ chỉ vào hàng đợi đúng một lần: nó được đưa vào ngay khi bị phá hủy,
+ *       và ô đã phá hủy không bao giờ bị chọn lại (bitset gạch sống là tập "đã thăm").</li>
+ *   <li>Tùy chọn ngòi nổ ({@link #setFuseTicks(int)}): mỗi mắt xích của chuỗi nổ chậm
+ *       một số tick, nên chuỗi nổ lớn lan dần qua nhiều khung hình thay vì dồn vào một.</li>
+ * </ul>
+ * Phạm vi nổ giữ nguyên như trước: mọi viên gạch có tọa độ lệch dưới 2 ô theo mỗi trục
+ * ({@code |dx| / rộng <= 1} và {@code |dy| / cao <= 1}).
+ * </p>
+ *
+ * @see ExplosiveBrick
+ * @see BrickField
+ */
+public class BlastResolver {
+
+    /** Phạm vi nổ (số ô xung quanh tâm nổ). */
+    private static final int EXPLOSION_RANGE = 1;
+
+    /** Hàng đợi vòng các ô gạch nổ chờ kích nổ, tăng dần theo tick kích nổ. */
+    private int[] queue = new int[32];
+
+    /** Tick kích nổ của từng phần tử trong hàng đợi. */
+    private long[] dueTicks = new long[32];
+
+    /** Vị trí đầu hàng đợi và số phần tử đang chờ. */
+    private int head, size;
+
+    /** Tick hiện tại của bộ xử lý nổ. */
+    private long tick;
+
+    /** Số tick trễ giữa hai mắt xích của chuỗi nổ ({@code 0} = nổ hết ngay trong tick). */
+    private int fuseTicks = 0;
+
+    /** @return số tick trễ giữa hai mắt xích của chuỗi nổ */
+    public int getFuseTicks() { return fuseTicks; }
+
+    /** @param fuseTicks số tick trễ giữa hai mắt xích ({@code 0} = nổ hết ngay) */
+    public void setFuseTicks(int fuseTicks) { this.fuseTicks = Math.max(0, fuseTicks); }
+
+    /** @return {@code true} nếu còn gạch nổ đang chờ kích nổ */
+    public boolean isActive() { return size > 0; }
+
+    /**
+     * Hủy mọi vụ nổ đang chờ (gọi khi tải màn mới).
+     */
+    public void clear() {
+        head = size = 0;
+    }
+
+    /**
+     * Kích nổ một gạch nổ vừa bị phá hủy. Vụ nổ đầu tiên xảy ra ngay, kể cả khi hàng đợi
+     * còn mắt xích của chuỗi nổ khác chưa đến hạn; các gạch nổ bị cuốn theo nổ ngay trong
+     * tick này hoặc sau ngòi nổ (nếu có).
+     *
+     * @param bricks   lưới gạch của màn chơi
+     * @param source   ô của gạch nổ vừa bị phá hủy
+     * @param listener nhận mỗi viên gạch bị vụ nổ đánh trúng (sau khi đã trừ máu);
+     *                 không được truy vấn {@code bricks} bên trong (bộ đệm kết quả đang được dùng)
+     */
+    public void detonate(BrickField bricks, int source, BrickHitListener listener) {
+        blast(bricks, source, listener);
+        resolve(bricks, listener);
+    }
+
+    /**
+     * Tiến một tick và kích nổ các gạch nổ đến hạn. Gọi một lần mỗi bước mô phỏng.
+     *
+     * @param bricks   lưới gạch của màn chơi
+     * @param listener nhận mỗi viên gạch bị vụ nổ đánh trúng
+     */
+    public void update(BrickField bricks, BrickHitListener listener) {
+        tick++;
+        if (size > 0) resolve(bricks, listener);
+    }
+
+    /**
+     * Kích nổ lần lượt các gạch nổ đã đến hạn (kể cả các gạch vừa được thêm với ngòi 0).
+     */
+    private void resolve(BrickField bricks, BrickHitListener listener) {
+        while (size > 0 && dueTicks[head] <= tick) {
+            int source = queue[head];
+            head = (head + 1) & (queue.length - 1);
+            size--;
+            blast(bricks, source, listener);
+        }
+    }
+
+    /**
+     * Một vụ nổ: đánh trúng mọi viên gạch còn sống trong phạm vi, đưa gạch nổ vừa vỡ vào hàng đợi.
+     */
+    private void blast(BrickField bricks, int source, BrickHitListener listener) {
+        int bw = bricks.getCellWidth(), bh = bricks.getCellHeight();
+        int sx = bricks.getX(source), sy = bricks.getY(source);
+        // Vùng chứa mọi gạch có |dx| < 2 ô (hàng lệch nửa ô có gạch cách tâm 1.5 ô)
+        int candidates = bricks.query(sx - 2 * bw + 1, sy - bh, 5 * bw - 2, 3 * bh);
+        for (int i = 0; i < candidates; i++) {
+            int b = bricks.resultAt(i);
+            if (bricks.getType(b) == Brick.UNBREAKABLE) continue;
+            if (Math.abs(bricks.getX(b) - sx) / bw > EXPLOSION_RANGE
+                    || Math.abs(bricks.getY(b) - sy) / bh > EXPLOSION_RANGE) continue;
+
+            boolean destroyed = bricks.hit(b);
+            listener.onBrickHit(b);
+
+            // Nổ dây chuyền: gạch nổ vừa vỡ sẽ nổ ở tick này (ngòi 0) hoặc sau ngòi nổ
+            if (destroyed && bricks.getType(b) == Brick.EXPLOSIVE) {
+                enqueue(b, tick + fuseTicks);
+            }
+        }
+    }
+
+    /**
+     * Thêm gạch nổ vào hàng đợi, giữ thứ tự tick kích nổ (mở rộng gấp đôi khi đầy).
+     * Mắt xích mới thường đến hạn muộn nhất nên được đặt thẳng ở cuối; chỉ khi ngòi nổ
+     * vừa được rút ngắn, nó mới phải chen lên trước các mắt xích đến hạn muộn hơn.
+     */
+    private void enqueue(int cell, long due) {
+        if (size == queue.length) grow();
+        int mask = queue.length - 1;
+        int slot = (head + size) & mask;
+        for (int i = 0; i < size; i++) {
+            int prev = (slot - 1) & mask;
+            if (dueTicks[prev] <= due) break;
+            queue[slot] = queue[prev];
+            dueTicks[slot] = dueTicks[prev];
+            slot = prev;
+        }
+        queue[slot] = cell;
+        dueTicks[slot] = due;
+        size++;
+    }
+
+    /**
+     * Nhân đôi dung lượng hàng đợi, giữ nguyên thứ tự phần tử.
+     */
+    private void grow() {
+        int n = queue.length;
+        int[] q = new int[n * 2];
+        long[] d = new long[n * 2];
+        for (int i = 0; i < size; i++) {
+            int from = (head + i) & (n - 1);
+            q[i] = queue[from];
+            d[i] = dueTicks[from];
+        }
+        queue = q;
+        dueTicks = d;
+        head = 0;
+    }
+}
@@ -1,64 +1,146 @@
 package entity;
 
+import sound.SoundPlayer;
+
 import java.awt.*;
 
 /**
- * Lớp trừu tượng {@code Brick} đại diện cho một viên gạch trong trò chơi Arkanoid.
+ * Lớp trừu tượng {@code Brick} mô tả hành vi của một loại gạch trong trò chơi Arkanoid.
  * <p>
- * Mỗi viên gạch có:
+ * Trạng thái của từng viên gạch (vị trí, máu, biến thể texture) không nằm trong đối tượng
+ * {@code Brick} mà nằm trong các mảng nguyên thủy của {@link BrickField}. Mỗi loại gạch chỉ
+ * có đúng một thể hiện dùng chung (flyweight, lấy qua {@link #of(int)}), không giữ trạng thái
+ * riêng, chỉ quyết định:
  * <ul>
- *     <li>Vị trí (x, y)</li>
- *     <li>Kích thước (width, height)</li>
- *     <li>Số lần va chạm (hitPoints) – giảm dần khi bị bóng đập vào</li>
+ *     <li>Máu ban đầu ({@link #getInitialHitPoints()})</li>
+ *     <li>Máu còn lại sau một cú đánh và âm thanh phát ra ({@link #takeHit(int, SoundPlayer)})</li>
+ *     <li>Có phá hủy được hay không ({@link #isBreakable()})</li>
+ *     <li>Cách vẽ theo máu và biến thể texture ({@link #render})</li>
  * </ul>
- * Khi {@code hitPoints} giảm về 0, gạch được xem là bị phá hủy.
+ * Khi máu giảm về 0, gạch được xem là bị phá hủy.
  *
  * <p>Đây là lớp cha cho các loại gạch cụ thể như {@code NormalBrick}, {@code StrongBrick}, v.v.</p>
  *
  * @author Lưu
  * @version 1.0
+ * @see BrickField
  */
-public abstract class Brick extends GameObject {
+public abstract class Brick {
+
+    // ====== Mã loại gạch (lưu trong BrickField) ======
+    /** Ô trống (không có gạch). */
+    public static final byte EMPTY = 0;
+    /** Gạch thường ({@link NormalBrick}). */
+    public static final byte NORMAL = 1;
+    /** Gạch bền ({@link StrongBrick}). */
+    public static final byte STRONG = 2;
+    /** Gạch nổ ({@link ExplosiveBrick}). */
+    public static final byte EXPLOSIVE = 3;
+    /** Gạch không thể phá hủy ({@link UnbreakableBrick}). */
+    public static final byte UNBREAKABLE = 4;
+
+    /** Thể hiện dùng chung của từng loại gạch, theo mã loại. */
+    private static final Brick[] TYPES = {
+            null,
+            new NormalBrick(),
+            new StrongBrick(),
+            new ExplosiveBrick(),
+            new UnbreakableBrick()
+    };
+
+    /** Mã loại của gạch này. */
+    private final byte type;
 
     /**
-     * Số lần va chạm còn lại trước khi viên gạch bị phá hủy.
+     * @param type mã loại gạch
      */
-    protected int hitPoints;
+    protected Brick(byte type) {
+        this.type = type;
+    }
 
     /**
-     * Khởi tạo một viên gạch với vị trí, kích thước và số lần va chạm nhất định.
+     * Lấy thể hiện dùng chung của một loại gạch.
      *
-     * @param x         Tọa độ X của gạch
-     * @param y         Tọa độ Y của gạch
-     * @param width     Chiều rộng của gạch
-     * @param height    Chiều cao của gạch
-     * @param hitPoints Số lần va chạm mà gạch có thể chịu được trước khi bị phá hủy
+     * @param type mã loại gạch ({@link #NORMAL}, {@link #STRONG}, ...)
+     * @return loại gạch tương ứng
+     * @throws IllegalArgumentException nếu mã loại không hợp lệ
      */
-    public Brick(int x, int y, int width, int height, int hitPoints) {
-        super(x, y, width, height);
-        this.hitPoints = hitPoints;
+    public static Brick of(int type) {
+        if (type <= EMPTY || type >= TYPES.length) {
+            throw new IllegalArgumentException("loại gạch không hợp lệ: " + type);
+        }
+        return TYPES[type];
     }
 
+    /** @return mã loại của gạch này */
+    public byte getType() {
+        return type;
+    }
+
+    /**
+     * @return số lần va chạm mà gạch chịu được trước khi bị phá hủy
+     */
+    public abstract int getInitialHitPoints();
+
     /**
-     * Giảm {@code hitPoints} của gạch đi 1 đơn vị khi bị bóng đập vào.
+     * @return số biến thể texture của loại gạch này
+     */
+    public int getVariantCount() {
+        return 1;
+    }
+
+    /**
+     * @return {@code false} nếu loại gạch này không bao giờ bị phá hủy
+     */
+    public boolean isBreakable() {
+        return true;
+    }
+
+    /**
+     * Xử lý một cú đánh: mặc định giảm máu đi 1 đơn vị.
+     * <p>
+     * Âm thanh được phát qua {@code sound} của phiên chơi (không dùng singleton), vì
+     * thể hiện loại gạch này dùng chung cho mọi phiên.
+     * </p>
+     *
+     * @param hitPoints máu hiện tại
+     * @param sound     nơi phát âm thanh của phiên chơi
+     * @return máu sau cú đánh ({@code <= 0} = bị phá hủy)
      */
-    public void takeHit() {
-        hitPoints--;
+    public int takeHit(int hitPoints, SoundPlayer sound) {
+        return hitPoints - 1;
     }
 
     /**
-     * Kiểm tra xem gạch đã bị phá hủy chưa.
+     * Chọn biến thể texture cho viên gạch theo vị trí của nó.
+     * <p>
+     * Cách chọn này cố định theo tọa độ nên trông vẫn "ngẫu nhiên" nhưng không tiêu thụ
+     * bộ sinh số ngẫu nhiên của phiên chơi — nhờ vậy việc vẽ không làm lệch mô phỏng
+     * (chế độ headless không tải texture vẫn cho kết quả giống hệt khi chơi thật).
+     * </p>
      *
-     * @return {@code true} nếu {@code hitPoints <= 0}, ngược lại {@code false}
+     * @param x     hoành độ viên gạch
+     * @param y     tung độ viên gạch
+     * @param count số biến thể texture
+     * @return chỉ số biến thể trong khoảng {@code [0, count)}
      */
-    public boolean isDestroyed() {
-        return hitPoints <= 0;
+    public static int textureVariant(int x, int y, int count) {
+        int h = x * 0x9E3779B1 + y * 0x85EBCA77;
+        h ^= h >>> 15;
+        return Math.floorMod(h, count);
     }
 
     /**
-     * Vẽ gạch lên màn hình.
+     * Vẽ một viên gạch loại này lên màn hình.
      *
-     * @param g Đối tượng {@link Graphics2D} dùng để vẽ
+     * @param g         Đối tượng {@link Graphics2D} dùng để vẽ
+     * @param x         hoành độ viên gạch
+     * @param y         tung độ viên gạch
+     * @param width     chiều rộng
+     * @param height    chiều cao
+     * @param hitPoints máu còn lại
+     * @param variant   biến thể texture
      */
-    public abstract void render(Graphics2D g);
+    public abstract void render(Graphics2D g, int x, int y, int width, int height,
+                                int hitPoints, int variant);
 }
@@ -1,11 +1,9 @@
 package entity;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 
 /**
- * Lớp tiện ích {@code BrickFactory} chịu trách nhiệm tạo danh sách các viên gạch
+ * Lớp tiện ích {@code BrickFactory} chịu trách nhiệm tạo lưới gạch ({@link BrickField})
  * cho từng cấp độ (level) trong trò chơi Arkanoid.
  * <p>
  * Cung cấp nhiều kiểu sắp xếp gạch khác nhau theo {@code level}, hoặc tạo ngẫu nhiên
@@ -21,27 +19,50 @@ import java.util.Random;
  * <ul>
  *     <li>{@link #createDefaultBricks()} – tạo level mặc định</li>
  *     <li>{@link #createLevel(int)} – tạo bricks theo cấp độ</li>
+ *     <li>{@link #createLevel(int, Random)} – tạo bricks theo cấp độ với bộ sinh ngẫu nhiên
+ *         của phiên chơi (cùng seed → cùng bố cục, dùng cho replay)</li>
  * </ul>
+ * <p>Màn chơi có thể được định nghĩa bằng file văn bản bên ngoài ({@link LevelFile});
+ * bố cục dựng sẵn dưới đây chỉ dùng khi không có file cho màn đó.</p>
  *
  * @author Lưu
  * @version 1.0
  */
 public class BrickFactory {
 
-    /** Đối tượng {@link Random} dùng để sinh xác suất ngẫu nhiên khi tạo gạch. */
-    private static final Random random = new Random();
+    /** Chiều rộng chuẩn của một viên gạch (cũng là chiều rộng ô lưới). */
+    public static final int BRICK_WIDTH = 40;
+
+    /** Chiều cao chuẩn của một viên gạch (cũng là chiều cao ô lưới). */
+    public static final int BRICK_HEIGHT = 20;
+
+    /** Tung độ của hàng gạch đầu tiên. */
+    private static final int START_Y = 50;
+
+    /** Số cột gạch của mọi màn. */
+    private static final int COLS = 20;
+
+    /** Số màn có bố cục dựng sẵn (Level 1..5). */
+    private static final int BUILT_IN_LEVELS = 5;
+
+    /**
+     * Tổng số màn chơi: các màn dựng sẵn cộng các màn thêm bằng file trong thư mục màn chơi
+     * (xem {@link LevelFile#countLevels(int)}). Được đếm một lần khi khởi động, để tiến độ,
+     * màn chọn level và việc chuyển màn luôn thấy cùng một số màn.
+     */
+    public static final int LEVEL_COUNT = LevelFile.countLevels(BUILT_IN_LEVELS);
 
     /**
-     * Tạo danh sách gạch mặc định cho trò chơi (mặc định là Level 1).
+     * Tạo lưới gạch mặc định cho trò chơi (mặc định là Level 1).
      *
-     * @return Danh sách {@link Brick} cho Level 1
+     * @return Lưới gạch cho Level 1
      */
-    public static List<Brick> createDefaultBricks() {
+    public static BrickField createDefaultBricks() {
         return createLevel(1);
     }
 
     /**
-     * Tạo ngẫu nhiên một viên gạch theo tỉ lệ:
+     * Chọn ngẫu nhiên một loại gạch theo tỉ lệ:
      * <ul>
      *     <li>60% NormalBrick</li>
      *     <li>30% StrongBrick</li>
@@ -49,28 +70,25 @@ public class BrickFactory {
      *     <li>0.1% UnbreakableBrick</li>
      * </ul>
      *
-     * @param x      Tọa độ X của gạch
-     * @param y      Tọa độ Y của gạch
-     * @param width  Chiều rộng của gạch
-     * @param height Chiều cao của gạch
-     * @return Một đối tượng {@link Brick} được chọn ngẫu nhiên theo tỉ lệ
+     * @param random Bộ sinh số ngẫu nhiên của phiên chơi
+     * @return Mã loại gạch được chọn ngẫu nhiên theo tỉ lệ
      */
-    private static Brick createRandomBrick(int x, int y, int width, int height) {
+    static byte randomBrickType(Random random) {
         double chance = random.nextDouble() * 100;
 
         if (chance < 60.0) {
-            return new NormalBrick(x, y, width, height);
+            return Brick.NORMAL;
         } else if (chance < 90.0) {
-            return new StrongBrick(x, y, width, height);
+            return Brick.STRONG;
         } else if (chance < 99.9) {
-            return new ExplosiveBrick(x, y, width, height);
+            return Brick.EXPLOSIVE;
         } else {
-            return new UnbreakableBrick(x, y, width, height);
+            return Brick.UNBREAKABLE;
         }
     }
 
     /**
-     * Tạo danh sách các viên gạch theo cấp độ trò chơi.
+     * Tạo lưới gạch theo cấp độ trò chơi.
      * <p>
      * Mỗi {@code level} có bố cục gạch riêng biệt:
      * <ul>
@@ -83,13 +101,34 @@ public class BrickFactory {
      * </ul>
      *
      * @param level Cấp độ trò chơi cần tạo
-     * @return Danh sách {@link Brick} tương ứng với cấp độ
+     * @return Lưới gạch tương ứng với cấp độ
+     */
+    public static BrickField createLevel(int level) {
+        return createLevel(level, new Random());
+    }
+
+    /**
+     * Tạo lưới gạch theo cấp độ, dùng bộ sinh số ngẫu nhiên cho trước
+     * cho các màn ngẫu nhiên (Level 4, 5 và các màn khác).
+     * <p>
+     * Nếu thư mục màn chơi có file {@code level<N>.txt} (xem {@link LevelFile}), bố cục được
+     * nạp từ file đó (qua bộ đệm nhị phân đã biên dịch); nếu không, dùng bố cục dựng sẵn.
+     * </p>
+     *
+     * @param level  Cấp độ trò chơi cần tạo
+     * @param random Bộ sinh số ngẫu nhiên của phiên chơi (đã gieo seed)
+     * @return Lưới gạch tương ứng với cấp độ
      */
-    public static List<Brick> createLevel(int level) {
-        List<Brick> bricks = new ArrayList<>();
-        int brickWidth = 40;
-        int brickHeight = 20;
-        int startY = 50;
+    public static BrickField createLevel(int level, Random random) {
+        int brickWidth = BRICK_WIDTH;
+        int brickHeight = BRICK_HEIGHT;
+        int startY = START_Y;
+
+        // 📄 Màn chơi từ file (thêm/đổi màn không cần biên dịch lại)
+        BrickField loaded = LevelFile.load(level, startY, random);
+        if (loaded != null) return loaded;
+
+        BrickField bricks = new BrickField(0, startY, COLS, rowCount(level));
 
         switch (level) {
 
@@ -101,13 +140,13 @@ public class BrickFactory {
                         int y = startY + row * brickHeight;
 
                         if (row == 0) {
-                            bricks.add(new UnbreakableBrick(x, y, brickWidth, brickHeight));
+                            bricks.place(Brick.UNBREAKABLE, x, y);
                         } else if (row == 2 || row == 4) {
-                            bricks.add(new StrongBrick(x, y, brickWidth, brickHeight));
+                            bricks.place(Brick.STRONG, x, y);
                         } else if (row == 3) {
-                            bricks.add(new ExplosiveBrick(x, y, brickWidth, brickHeight));
+                            bricks.place(Brick.EXPLOSIVE, x, y);
                         } else {
-                            bricks.add(new NormalBrick(x, y, brickWidth, brickHeight));
+                            bricks.place(Brick.NORMAL, x, y);
                         }
                     }
                 }
@@ -125,11 +164,11 @@ public class BrickFactory {
                         int y = startY + row * brickHeight;
 
                         if (row % 3 == 0)
-                            bricks.add(new StrongBrick(x, y, brickWidth, brickHeight));
+                            bricks.place(Brick.STRONG, x, y);
                         else if (row % 4 == 0)
-                            bricks.add(new ExplosiveBrick(x, y, brickWidth, brickHeight));
+                            bricks.place(Brick.EXPLOSIVE, x, y);
                         else
-                            bricks.add(new NormalBrick(x, y, brickWidth, brickHeight));
+                            bricks.place(Brick.NORMAL, x, y);
                     }
                 }
             }
@@ -145,11 +184,11 @@ public class BrickFactory {
 
                         boolean isBorder = (row == 0 || col == 0 || col == cols - 1);
                         if (isBorder) {
-                            bricks.add(new UnbreakableBrick(x, y, brickWidth, brickHeight));
+                            bricks.place(Brick.UNBREAKABLE, x, y);
                         } else if ((row + col) % 4 == 0) {
-                            bricks.add(new ExplosiveBrick(x, y, brickWidth, brickHeight));
+                            bricks.place(Brick.EXPLOSIVE, x, y);
                         } else {
-                            bricks.add(new NormalBrick(x, y, brickWidth, brickHeight));
+                            bricks.place(Brick.NORMAL, x, y);
                         }
                     }
                 }
@@ -161,7 +200,7 @@ public class BrickFactory {
                     for (int col = 0; col < 20; col++) {
                         int x = col * brickWidth;
                         int y = startY + row * brickHeight;
-                        bricks.add(createRandomBrick(x, y, brickWidth, brickHeight));
+                        bricks.place(randomBrickType(random), x, y);
                     }
                 }
             }
@@ -173,7 +212,7 @@ public class BrickFactory {
                     for (int col = 0; col < 20; col++) {
                         int x = offsetX + col * brickWidth;
                         int y = startY + row * brickHeight;
-                        bricks.add(createRandomBrick(x, y, brickWidth, brickHeight));
+                        bricks.place(randomBrickType(random), x, y);
                     }
                 }
             }
@@ -184,7 +223,7 @@ public class BrickFactory {
                     for (int col = 0; col < 20; col++) {
                         int x = col * brickWidth;
                         int y = startY + row * brickHeight;
-                        bricks.add(createRandomBrick(x, y, brickWidth, brickHeight));
+                        bricks.place(randomBrickType(random), x, y);
                     }
                 }
             }
@@ -192,4 +231,18 @@ public class BrickFactory {
 
         return bricks;
     }
+
+    /**
+     * Số hàng gạch của mỗi màn (kích thước lưới).
+     *
+     * @param level Cấp độ trò chơi
+     * @return số hàng
+     */
+    private static int rowCount(int level) {
+        return switch (level) {
+            case 1 -> 7;
+            case 2, 3 -> 10;
+            default -> 8;
+        };
+    }
 }
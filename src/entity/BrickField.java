@@ -0,0 +1,387 @@
+package entity;
+
+import sound.SoundPlayer;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Lớp {@code BrickField} lưu toàn bộ gạch của một màn chơi dưới dạng các mảng nguyên thủy
+ * theo ô lưới.
+ * <p>
+ * Khu vực gạch được chia thành {@code cols x rows} ô kích thước {@link BrickFactory#BRICK_WIDTH}
+ * x {@link BrickFactory#BRICK_HEIGHT}; mỗi ô chứa tối đa một viên gạch. Mỗi hàng có thể lệch
+ * ngang một khoảng riêng ({@code rowOffset}, ví dụ nửa ô ở level 2 và level 5), nên gạch luôn
+ * nằm đúng trong ô của hàng mình. Với mỗi ô chỉ lưu:
+ * <ul>
+ *   <li>Loại gạch (1 byte, xem {@link Brick#NORMAL}...)</li>
+ *   <li>Máu còn lại (1 byte)</li>
+ *   <li>Biến thể texture (1 byte)</li>
+ *   <li>Còn sống hay không (1 bit trong bitset {@code live})</li>
+ * </ul>
+ * Hành vi của từng loại (máu ban đầu, âm thanh, cách vẽ) do thể hiện dùng chung
+ * {@link Brick#of(int)} quyết định.
+ * </p>
+ *
+ * <p><b>Đặc điểm:</b></p>
+ * <ul>
+ *   <li>Phá hủy gạch O(1): chỉ xóa bit sống, không dồn danh sách</li>
+ *   <li>Duyệt gạch còn sống qua bitset ({@link #nextLive(int)}), liền mạch trong bộ nhớ</li>
+ *   <li>Truy vấn vùng ({@link #query}) tính thẳng ra ô, không cấp phát bộ nhớ</li>
+ *   <li>Loại và máu của gạch đã vỡ vẫn được giữ lại để đọc sau khi phá hủy</li>
+ *   <li>Đếm sẵn số gạch còn sống theo loại; báo {@link LevelClearListener} ngay khi
+ *       gạch phá được cuối cùng vỡ</li>
+ * </ul>
+ *
+ * @see Brick
+ * @see BrickFactory
+ */
+public class BrickField {
+
+    /** Kích thước một ô (pixel). */
+    private final int cellWidth, cellHeight;
+
+    /** Tọa độ góc trên bên trái của lưới. */
+    private final int originX, originY;
+
+    /** Số cột và số hàng của lưới. */
+    private final int cols, rows;
+
+    /** Độ lệch ngang của từng hàng, trong khoảng {@code [0, cellWidth)} ({@code -1} = hàng chưa có gạch). */
+    private final int[] rowOffset;
+
+    /** Loại gạch của từng ô ({@link Brick#EMPTY} = trống). */
+    private final byte[] types;
+
+    /** Máu còn lại của từng ô. */
+    private final byte[] hitPoints;
+
+    /** Biến thể texture của từng ô. */
+    private final byte[] variants;
+
+    /** Bitset các ô còn gạch sống. */
+    private final long[] live;
+
+    /** Số gạch còn sống. */
+    private int liveCount;
+
+    /** Số gạch còn sống theo từng loại (chỉ số = {@link Brick#NORMAL}...). */
+    private final int[] liveByType = new int[Brick.UNBREAKABLE + 1];
+
+    /** Số gạch còn sống có thể phá hủy (điều kiện thắng màn: về 0). */
+    private int breakableCount;
+
+    /** Nơi nhận sự kiện "hết gạch phá được" (có thể {@code null}). */
+    private LevelClearListener clearListener;
+
+    /** Nơi phát âm thanh khi gạch bị đánh trúng (của phiên chơi sở hữu lưới). */
+    private SoundPlayer sound = SoundPlayer.SILENT;
+
+    /** Bộ đệm kết quả truy vấn (chỉ số ô, dùng lại giữa các lần truy vấn). */
+    private int[] results = new int[16];
+
+    /** Số phần tử hợp lệ trong {@link #results}. */
+    private int resultCount;
+
+    /**
+     * Khởi tạo lưới trống với kích thước ô bằng kích thước gạch chuẩn.
+     *
+     * @param originX hoành độ góc trên bên trái
+     * @param originY tung độ góc trên bên trái
+     * @param cols    số cột
+     * @param rows    số hàng
+     */
+    public BrickField(int originX, int originY, int cols, int rows) {
+        this(originX, originY, cols, rows, BrickFactory.BRICK_WIDTH, BrickFactory.BRICK_HEIGHT);
+    }
+
+    /**
+     * Khởi tạo lưới trống.
+     *
+     * @param originX    hoành độ góc trên bên trái
+     * @param originY    tung độ góc trên bên trái
+     * @param cols       số cột
+     * @param rows       số hàng
+     * @param cellWidth  chiều rộng một ô (= chiều rộng gạch)
+     * @param cellHeight chiều cao một ô (= chiều cao gạch)
+     */
+    public BrickField(int originX, int originY, int cols, int rows, int cellWidth, int cellHeight) {
+        this.originX = originX;
+        this.originY = originY;
+        this.cols = cols;
+        this.rows = rows;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.rowOffset = new int[rows];
+        Arrays.fill(rowOffset, -1);
+        int cells = cols * rows;
+        this.types = new byte[cells];
+        this.hitPoints = new byte[cells];
+        this.variants = new byte[cells];
+        this.live = new long[(cells + 63) >>> 6];
+    }
+
+    // ====== Xây dựng ======
+
+    /**
+     * Đặt một viên gạch có góc trên bên trái tại {@code (x, y)}.
+     * <p>
+     * Viên gạch đầu tiên của một hàng quyết định độ lệch ngang của hàng đó; các viên sau
+     * trong cùng hàng phải thẳng cột với nó.
+     * </p>
+     *
+     * @param type loại gạch ({@link Brick#NORMAL}, ...)
+     * @param x    hoành độ viên gạch
+     * @param y    tung độ viên gạch
+     * @return chỉ số ô của viên gạch
+     * @throws IllegalArgumentException nếu vị trí nằm ngoài lưới hoặc lệch ô của hàng
+     */
+    public int place(byte type, int x, int y) {
+        Brick brick = Brick.of(type);
+        if (Math.floorMod(y - originY, cellHeight) != 0) {
+            throw new IllegalArgumentException("gạch không thẳng hàng: y = " + y);
+        }
+        int row = Math.floorDiv(y - originY, cellHeight);
+        if (row < 0 || row >= rows) throw new IllegalArgumentException("gạch ngoài lưới: y = " + y);
+
+        int offset = Math.floorMod(x - originX, cellWidth);
+        if (rowOffset[row] < 0) {
+            rowOffset[row] = offset;
+        } else if (rowOffset[row] != offset) {
+            throw new IllegalArgumentException("gạch lệch cột của hàng " + row + ": x = " + x);
+        }
+        int col = Math.floorDiv(x - originX - offset, cellWidth);
+        if (col < 0 || col >= cols) throw new IllegalArgumentException("gạch ngoài lưới: x = " + x);
+
+        int cell = row * cols + col;
+        if (isLive(cell)) uncount(types[cell]);
+        liveCount++;
+        liveByType[type]++;
+        if (brick.isBreakable()) breakableCount++;
+        types[cell] = type;
+        hitPoints[cell] = (byte) brick.getInitialHitPoints();
+        variants[cell] = (byte) Brick.textureVariant(x, y, brick.getVariantCount());
+        live[cell >>> 6] |= 1L << cell;
+        return cell;
+    }
+
+    // ====== Trạng thái ô ======
+
+    /**
+     * @param cell chỉ số ô
+     * @return {@code true} nếu ô còn gạch chưa bị phá hủy
+     */
+    public boolean isLive(int cell) {
+        return (live[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * @param cell chỉ số ô
+     * @return loại gạch của ô (vẫn giữ sau khi gạch bị phá hủy)
+     */
+    public byte getType(int cell) {
+        return types[cell];
+    }
+
+    /**
+     * @param cell chỉ số ô
+     * @return hành vi (thể hiện dùng chung) của loại gạch trong ô
+     */
+    public Brick getBrick(int cell) {
+        return Brick.of(types[cell]);
+    }
+
+    /**
+     * @param cell chỉ số ô
+     * @return máu còn lại của gạch trong ô
+     */
+    public int getHitPoints(int cell) {
+        return hitPoints[cell];
+    }
+
+    /** @param cell chỉ số ô @return hoành độ của gạch trong ô */
+    public int getX(int cell) {
+        int row = cell / cols;
+        return originX + Math.max(0, rowOffset[row]) + (cell - row * cols) * cellWidth;
+    }
+
+    /** @param cell chỉ số ô @return tung độ của gạch trong ô */
+    public int getY(int cell) {
+        return originY + (cell / cols) * cellHeight;
+    }
+
+    /** @return chiều rộng một ô (= chiều rộng gạch) */
+    public int getCellWidth() { return cellWidth; }
+
+    /** @return chiều cao một ô (= chiều cao gạch) */
+    public int getCellHeight() { return cellHeight; }
+
+    /** @return số cột */
+    public int getCols() { return cols; }
+
+    /** @return số hàng */
+    public int getRows() { return rows; }
+
+    /** @return tổng số ô */
+    public int getCellCount() { return types.length; }
+
+    /** @return số gạch còn sống */
+    public int getLiveCount() { return liveCount; }
+
+    /**
+     * Số gạch còn sống thuộc một loại (đếm sẵn, O(1)).
+     *
+     * @param type loại gạch
+     * @return số gạch còn sống của loại đó
+     */
+    public int getLiveCount(byte type) { return liveByType[type]; }
+
+    /** @return số gạch còn sống có thể phá hủy (hiển thị "gạch còn lại" trên HUD) */
+    public int getBreakableCount() { return breakableCount; }
+
+    /** @return {@code true} nếu không còn gạch phá được (chỉ còn gạch không thể phá hủy) */
+    public boolean isCleared() { return breakableCount == 0; }
+
+    /**
+     * Đăng ký nơi nhận sự kiện "hết gạch phá được".
+     *
+     * @param listener nơi nhận sự kiện, hoặc {@code null} để bỏ đăng ký
+     */
+    public void setClearListener(LevelClearListener listener) {
+        this.clearListener = listener;
+    }
+
+    /**
+     * Đặt nơi phát âm thanh khi gạch bị đánh trúng (mặc định: {@link SoundPlayer#SILENT}).
+     *
+     * @param sound nơi phát âm thanh của phiên chơi
+     */
+    public void setSoundPlayer(SoundPlayer sound) {
+        this.sound = sound;
+    }
+
+    // ====== Thay đổi ======
+
+    /**
+     * Đánh trúng gạch trong ô: loại gạch quyết định máu còn lại (và phát âm thanh).
+     * Gạch hết máu bị phá hủy ngay (O(1)).
+     *
+     * @param cell chỉ số ô (phải còn sống)
+     * @return {@code true} nếu gạch bị phá hủy bởi cú đánh này
+     */
+    public boolean hit(int cell) {
+        int hp = Brick.of(types[cell]).takeHit(hitPoints[cell], sound);
+        hitPoints[cell] = (byte) Math.max(0, hp);
+        if (hp > 0) return false;
+        destroy(cell);
+        return true;
+    }
+
+    /**
+     * Phá hủy gạch trong ô (xóa bit sống). Không làm gì nếu ô đã trống.
+     *
+     * @param cell chỉ số ô
+     */
+    public void destroy(int cell) {
+        if (!isLive(cell)) return;
+        live[cell >>> 6] &= ~(1L << cell);
+        hitPoints[cell] = 0;
+        if (uncount(types[cell]) && breakableCount == 0 && clearListener != null) {
+            clearListener.onLevelCleared();
+        }
+    }
+
+    /**
+     * Trừ một viên gạch khỏi các bộ đếm.
+     *
+     * @param type loại gạch vừa rời khỏi lưới
+     * @return {@code true} nếu đó là gạch phá được
+     */
+    private boolean uncount(byte type) {
+        liveCount--;
+        liveByType[type]--;
+        if (!Brick.of(type).isBreakable()) return false;
+        breakableCount--;
+        return true;
+    }
+
+    // ====== Duyệt ======
+
+    /**
+     * Tìm ô còn sống đầu tiên có chỉ số {@code >= fromCell}.
+     * <pre>
+     * for (int c = field.nextLive(0); c >= 0; c = field.nextLive(c + 1)) { ... }
+     * </pre>
+     *
+     * @param fromCell chỉ số ô bắt đầu
+     * @return chỉ số ô, hoặc {@code -1} nếu không còn
+     */
+    public int nextLive(int fromCell) {
+        if (fromCell >= types.length) return -1;
+        int word = fromCell >>> 6;
+        long bits = live[word] & (-1L << fromCell);
+        while (true) {
+            if (bits != 0) return (word << 6) + Long.numberOfTrailingZeros(bits);
+            if (++word == live.length) return -1;
+            bits = live[word];
+        }
+    }
+
+    /**
+     * Tìm các viên gạch còn sống giao với hình chữ nhật cho trước.
+     * <p>
+     * Kết quả (chỉ số ô) được ghi vào bộ đệm nội bộ; dùng {@link #resultAt(int)} để đọc.
+     * Mỗi gạch chiếm đúng một ô nên kết quả không trùng lặp; gạch chỉ chạm cạnh vùng
+     * truy vấn không được tính.
+     * </p>
+     *
+     * @param x      hoành độ vùng truy vấn
+     * @param y      tung độ vùng truy vấn
+     * @param width  chiều rộng vùng truy vấn
+     * @param height chiều cao vùng truy vấn
+     * @return số viên gạch tìm được
+     */
+    public int query(int x, int y, int width, int height) {
+        resultCount = 0;
+        if (width <= 0 || height <= 0 || liveCount == 0) return 0;
+
+        int r0 = Math.max(0, Math.floorDiv(y - originY, cellHeight));
+        int r1 = Math.min(rows - 1, Math.floorDiv(y + height - 1 - originY, cellHeight));
+        for (int r = r0; r <= r1; r++) {
+            int left = x - originX - Math.max(0, rowOffset[r]);
+            int c0 = Math.max(0, Math.floorDiv(left, cellWidth));
+            int c1 = Math.min(cols - 1, Math.floorDiv(left + width - 1, cellWidth));
+            for (int c = c0, cell = r * cols + c0; c <= c1; c++, cell++) {
+                if (!isLive(cell)) continue;
+                if (resultCount == results.length) {
+                    results = Arrays.copyOf(results, resultCount * 2);
+                }
+                results[resultCount++] = cell;
+            }
+        }
+        return resultCount;
+    }
+
+    /**
+     * Lấy một ô trong kết quả của lần truy vấn gần nhất.
+     *
+     * @param index chỉ số trong khoảng {@code [0, query(...))}
+     * @return chỉ số ô tương ứng
+     */
+    public int resultAt(int index) {
+        return results[index];
+    }
+
+    // ====== Vẽ ======
+
+    /**
+     * Vẽ gạch trong một ô (theo loại, máu và biến thể texture của nó).
+     *
+     * @param g    đối tượng {@link Graphics2D} dùng để vẽ
+     * @param cell chỉ số ô
+     */
+    public void render(Graphics2D g, int cell) {
+        Brick.of(types[cell]).render(g, getX(cell), getY(cell), cellWidth, cellHeight,
+                hitPoints[cell], variants[cell]);
+    }
+}
@@ -0,0 +1,23 @@
+package entity;
+
+/**
+ * Giao diện {@code BrickHitListener} nhận thông báo mỗi khi bóng chạm vào một viên gạch.
+ * <p>
+ * Viên gạch được chỉ ra bằng chỉ số ô của nó trong {@link BrickField}.
+ * Ở chế độ va chạm quét ({@link BallPool.CollisionMode#SWEPT}), bóng có thể chạm nhiều viên gạch
+ * trong cùng một bước mô phỏng; mỗi lần chạm đều được báo về để {@code GameManager}
+ * trừ máu gạch, cộng điểm, tạo vật phẩm và kích nổ.
+ * </p>
+ *
+ * @see BallPool#update(double, int, Paddle, BrickField, BrickHitListener)
+ */
+@FunctionalInterface
+public interface BrickHitListener {
+
+    /**
+     * Được gọi khi bóng vừa nảy khỏi một viên gạch.
+     *
+     * @param cell chỉ số ô của viên gạch bị bóng chạm vào
+     */
+    void onBrickHit(int cell);
+}
@@ -1,21 +1,16 @@
 package entity;
 
-import sound.Sound;
-import javax.imageio.ImageIO;
+import asset.AssetCache;
+import asset.SpriteCache;
+import sound.SoundPlayer;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.Random;
-import java.util.ArrayList;
-import java.util.List;
-
-// 🔹 Import GameManager (đã sửa đúng)
-import Game.GameManager;
 
 /**
  * Lớp {@code ExplosiveBrick} đại diện cho viên gạch nổ trong trò chơi.
  * Khi bị phá hủy, viên gạch này sẽ gây nổ và phá hủy các viên gạch xung quanh trong phạm vi nhất định.
  * Nó cũng có thể kích hoạt hiệu ứng nổ dây chuyền nếu các viên lân cận là ExplosiveBrick khác.
+ * Việc lan vụ nổ do {@link BlastResolver} đảm nhận.
  *
  * <p>Ảnh đại diện được tải từ thư mục <code>/img/explosive1.png</code> và <code>/img/explosive2.png</code>.
  * Nếu không tải được, viên gạch sẽ hiển thị bằng màu đỏ.</p>
@@ -25,52 +20,39 @@ import Game.GameManager;
  */
 public class ExplosiveBrick extends Brick {
 
-    /** Bộ ảnh texture của gạch nổ */
-    private static BufferedImage[] textures;
-
-    /** Cờ đánh dấu đã tải ảnh chưa (để tránh load lại nhiều lần) */
-    private static boolean loaded = false;
+    /** Bộ đệm sprite đã thu phóng sẵn (vẽ không cần co giãn ảnh mỗi khung hình) */
+    private static final SpriteCache sprites = SpriteCache.getInstance();
 
-    /** Âm thanh được phát khi gạch nổ */
-    private static final Sound sound = Sound.getInstance();
+    /** Số texture của gạch nổ */
+    private static final int VARIANTS = 2;
 
-    /** Ảnh được chọn ngẫu nhiên cho viên gạch này */
-    private BufferedImage image;
+    /** Bộ ảnh texture của gạch nổ (tải một lần, khi vẽ lần đầu) */
+    private static BufferedImage[] textures;
 
-    /**
-     * Khởi tạo một viên gạch nổ tại vị trí (x, y).
-     *
-     * @param x hoành độ của viên gạch
-     * @param y tung độ của viên gạch
-     * @param width chiều rộng của viên gạch
-     * @param height chiều cao của viên gạch
-     */
-    public ExplosiveBrick(int x, int y, int width, int height) {
-        super(x, y, width, height, 1);
-        if (!loaded) loadTextures();
-        if (textures != null && textures.length > 0) {
-            int idx = new Random().nextInt(textures.length);
-            image = textures[idx];
-        }
+    /** Chỉ tạo qua {@link Brick#of(int)}. */
+    ExplosiveBrick() {
+        super(EXPLOSIVE);
     }
 
     /**
-     * Tải ảnh texture cho gạch nổ (chỉ thực hiện một lần duy nhất).
+     * Lấy ảnh texture cho gạch nổ từ {@link AssetCache} (chỉ thực hiện một lần duy nhất).
      * Nếu không tải được, viên gạch sẽ hiển thị bằng màu mặc định (đỏ).
      */
-    private static void loadTextures() {
-        if (loaded) return;
-        try {
-            textures = new BufferedImage[]{
-                    ImageIO.read(ExplosiveBrick.class.getResource("/img/explosive1.png")),
-                    ImageIO.read(ExplosiveBrick.class.getResource("/img/explosive2.png"))
-            };
-            loaded = true;
-            System.out.println("✅ ExplosiveBrick textures loaded!");
-        } catch (IOException | IllegalArgumentException e) {
-            System.out.println("⚠️ Không thể tải ảnh ExplosiveBrick, dùng màu mặc định.");
-            textures = null;
+    private static BufferedImage[] textures() {
+        if (textures == null) {
+            textures = AssetCache.getInstance().getSprites(AssetCache.EXPLOSIVE_1, AssetCache.EXPLOSIVE_2);
         }
+        return textures;
+    }
+
+    @Override
+    public int getInitialHitPoints() {
+        return 1;
+    }
+
+    @Override
+    public int getVariantCount() {
+        return VARIANTS;
     }
 
     /**
@@ -78,71 +60,27 @@ public class ExplosiveBrick extends Brick {
      * Đặt máu về 0 và phát âm thanh nổ.
      */
     @Override
-    public void takeHit() {
-        if (isDestroyed()) return; // tránh xử lý lại
-        hitPoints = 0;
+    public int takeHit(int hitPoints, SoundPlayer sound) {
+        if (hitPoints <= 0) return hitPoints; // tránh xử lý lại
         sound.play(4);
+        return 0;
     }
 
     /**
      * Vẽ viên gạch lên màn hình.
      * Nếu ảnh texture có sẵn, sử dụng ảnh; nếu không, vẽ hình chữ nhật màu đỏ.
-     *
-     * @param g đối tượng {@link Graphics2D} để vẽ
      */
     @Override
-    public void render(Graphics2D g) {
-        if (!isDestroyed()) {
-            if (image != null) {
-                g.drawImage(image, x, y, width, height, null);
-            } else {
-                g.setColor(Color.RED);
-                g.fillRect(x, y, width, height);
-                g.setColor(Color.BLACK);
-                g.drawRect(x, y, width, height);
-            }
-        }
-    }
-
-    /**
-     * Gây nổ, phá hủy các viên gạch xung quanh trong phạm vi xác định.
-     * Nếu gặp viên gạch nổ khác, sẽ gây nổ dây chuyền.
-     *
-     * @param allBricks danh sách tất cả các viên gạch trong màn chơi
-     * @param gameManager đối tượng {@link GameManager} để cập nhật điểm
-     */
-    public void explode(List<Brick> allBricks, GameManager gameManager) {
-        int explosionRange = 1; // phạm vi nổ (1 ô xung quanh)
-        int bw = this.getWidth();
-        int bh = this.getHeight();
-        List<Brick> toDestroy = new ArrayList<>();
-
-        // Tìm các viên nằm trong vùng nổ
-        for (Brick b : allBricks) {
-            if (b.isDestroyed() || b instanceof UnbreakableBrick) continue;
-
-            int dx = Math.abs(b.getX() - this.getX()) / bw;
-            int dy = Math.abs(b.getY() - this.getY()) / bh;
-
-            if (dx <= explosionRange && dy <= explosionRange) {
-                toDestroy.add(b);
-            }
-        }
-
-        // Gây nổ và cộng điểm
-        for (Brick b : toDestroy) {
-            if (b.isDestroyed()) continue;
-            b.takeHit();
-
-            // Nổ dây chuyền
-            if (b instanceof ExplosiveBrick && b != this) {
-                ((ExplosiveBrick) b).explode(allBricks, gameManager);
-            }
-
-            // Cộng điểm nếu viên gạch bị phá
-            if (b.isDestroyed() && !(b instanceof UnbreakableBrick)) {
-                gameManager.addScore(10);
-            }
+    public void render(Graphics2D g, int x, int y, int width, int height, int hitPoints, int variant) {
+        BufferedImage[] tex = textures();
+        BufferedImage image = tex != null && tex.length > 0 ? tex[variant % tex.length] : null;
+        if (image != null) {
+            sprites.draw(g, image, x, y, width, height);
+        } else {
+            g.setColor(Color.RED);
+            g.fillRect(x, y, width, height);
+            g.setColor(Color.BLACK);
+            g.drawRect(x, y, width, height);
         }
     }
 }
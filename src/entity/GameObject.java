@@ -6,7 +6,7 @@ import java.awt.*;
  * Lớp trừu tượng {@code GameObject} đại diện cho mọi đối tượng trong trò chơi
  * có vị trí, kích thước và khả năng được vẽ (render) trên màn hình.
  * <p>
- * Các lớp con như {@link Brick}, {@link Ball}, {@link Paddle} sẽ kế thừa lớp này
+ * Các lớp con như {@link Paddle} sẽ kế thừa lớp này
  * để định nghĩa hành vi cụ thể.
  * </p>
  *
@@ -21,6 +21,7 @@ public abstract class GameObject {
     /** Chiều rộng và chiều cao của đối tượng (theo pixel) */
     protected int width, height;
 
+
     /**
      * Khởi tạo một {@code GameObject} mới với vị trí và kích thước xác định.
      *
@@ -52,7 +53,10 @@ public abstract class GameObject {
 
     /**
      * Trả về hình chữ nhật đại diện cho vùng chiếm chỗ (bounding box) của đối tượng.
-     * Dùng để kiểm tra va chạm.
+     * <p>
+     * Mỗi lần gọi tạo một {@link Rectangle} mới — không dùng trong vòng lặp game,
+     * hãy dùng {@link #intersects(int, int, int, int, int, int, int, int)} thay thế.
+     * </p>
      *
      * @return {@link Rectangle} biểu diễn vùng bao quanh đối tượng
      */
@@ -60,6 +64,28 @@ public abstract class GameObject {
         return new Rectangle(x, y, width, height);
     }
 
+    /**
+     * Kiểm tra hai hình chữ nhật (AABB) có giao nhau không, chỉ dùng số nguyên
+     * (không cấp phát bộ nhớ). Quy ước giống {@link Rectangle#intersects(Rectangle)}:
+     * hai cạnh chỉ chạm nhau thì không tính là giao.
+     *
+     * @param ax hoành độ hình A
+     * @param ay tung độ hình A
+     * @param aw chiều rộng hình A
+     * @param ah chiều cao hình A
+     * @param bx hoành độ hình B
+     * @param by tung độ hình B
+     * @param bw chiều rộng hình B
+     * @param bh chiều cao hình B
+     * @return {@code true} nếu hai hình giao nhau
+     */
+    public static boolean intersects(int ax, int ay, int aw, int ah,
+                                     int bx, int by, int bw, int bh) {
+        return aw > 0 && ah > 0 && bw > 0 && bh > 0
+                && bx < ax + aw && ax < bx + bw
+                && by < ay + ah && ay < by + bh;
+    }
+
     // 🔹 Getter và Setter — giúp truy cập an toàn đến thuộc tính
     /** @return hoành độ của đối tượng */
     public int getX() { return x; }
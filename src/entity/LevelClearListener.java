@@ -0,0 +1,21 @@
+package entity;
+
+/**
+ * Giao diện {@code LevelClearListener} nhận thông báo khi màn chơi hết gạch có thể phá.
+ * <p>
+ * {@link BrickField} tự đếm số gạch còn sống theo từng loại, nên sự kiện được phát
+ * ngay tại thời điểm viên gạch phá được cuối cùng vỡ (do bóng hoặc do vụ nổ),
+ * thay vì mỗi bước mô phỏng phải duyệt lại toàn bộ gạch để kiểm tra điều kiện thắng.
+ * Các gạch {@link UnbreakableBrick} còn lại không ảnh hưởng đến sự kiện này.
+ * </p>
+ *
+ * @see BrickField#setClearListener(LevelClearListener)
+ */
+@FunctionalInterface
+public interface LevelClearListener {
+
+    /**
+     * Được gọi đúng một lần, khi số gạch phá được còn lại giảm về 0.
+     */
+    void onLevelCleared();
+}
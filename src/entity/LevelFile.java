@@ -0,0 +1,238 @@
+package entity;
+
+import storage.AtomicFiles;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Lớp {@code LevelFile} đọc bố cục màn chơi từ file văn bản bên ngoài, biên dịch sẵn
+ * thành file nhị phân nhỏ gọn và nạp thẳng vào {@link BrickField}.
+ * <p>
+ * File nguồn {@code <thư mục>/level<N>.txt} là một lưới ký tự, mỗi dòng là một hàng gạch
+ * (tối đa {@value #MAX_COLS} cột):
+ * <pre>
+ * # Dòng bắt đầu bằng '#' là chú thích
+ * UUUUUUUUUUUUUUUUUUUU
+ * NNSSNNXXNNNNXXNNSSNN
+ * &gt;..NNNNNNNNNNNNNNN     ← '&gt;' đầu dòng: hàng lệch nửa viên gạch sang phải
+ * ????????????????????     ← '?': loại gạch ngẫu nhiên (theo seed của phiên chơi)
+ * </pre>
+ * Ký tự: {@code .} trống, {@code N} thường, {@code S} bền, {@code X} nổ,
+ * {@code U} không thể phá hủy, {@code ?} ngẫu nhiên.
+ * </p>
+ * <p>
+ * Lần nạp đầu, file nguồn được biên dịch thành {@code <thư mục>/.cache/level<N>.bin}
+ * (ghi nguyên tử). Các lần sau, file nhị phân được ánh xạ bộ nhớ ({@code mmap}) và giải mã
+ * trực tiếp vào lưới gạch — không phân tích chuỗi, không tạo đối tượng cho từng ô.
+ * Bộ đệm ghi kèm thời điểm sửa và kích thước của file nguồn; sửa file nguồn thì bộ đệm
+ * được biên dịch lại.
+ * </p>
+ *
+ * @see BrickFactory#createLevel(int, Random)
+ */
+final class LevelFile {
+
+    /** Thư mục chứa file màn chơi (đổi bằng {@code -Darkanoid.levels=...}). */
+    static final Path LEVEL_DIR = Path.of(System.getProperty("arkanoid.levels", "levels"));
+
+    /** Chữ ký file biên dịch ("ARKV"). */
+    private static final int MAGIC = 0x41524B56;
+
+    /** Phiên bản định dạng biên dịch. */
+    private static final int VERSION = 1;
+
+    /** Kích thước header: magic, phiên bản, thời điểm sửa nguồn, kích thước nguồn, số hàng, số cột. */
+    private static final int HEADER = 4 + 4 + 8 + 8 + 1 + 1;
+
+    /** Số cột tối đa (bằng bề ngang màn chơi). */
+    static final int MAX_COLS = 20;
+
+    /** Số hàng tối đa. */
+    private static final int MAX_ROWS = 20;
+
+    /** Mã ô "ngẫu nhiên" trong file biên dịch (ngoài các mã loại {@link Brick#NORMAL}...). */
+    private static final byte RANDOM = 0x7F;
+
+    private LevelFile() {
+    }
+
+    /**
+     * Nạp màn chơi từ thư mục màn chơi, nếu có file cho màn đó.
+     *
+     * @param level  số màn
+     * @param startY tung độ hàng gạch đầu tiên
+     * @param random bộ sinh số ngẫu nhiên của phiên chơi (cho ô {@code ?})
+     * @return lưới gạch, hoặc {@code null} nếu không có file (hoặc file lỗi) — dùng bố cục dựng sẵn
+     */
+    static BrickField load(int level, int startY, Random random) {
+        Path source = LEVEL_DIR.resolve("level" + level + ".txt");
+        long stamp, size;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            stamp = attributes.lastModifiedTime().toMillis();
+            size = attributes.size();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("⚠️ Không đọc được " + source + ": " + e.getMessage());
+            return null;
+        }
+
+        Path cache = LEVEL_DIR.resolve(".cache").resolve("level" + level + ".bin");
+        BrickField mapped = loadCache(cache, stamp, size, startY, random);
+        if (mapped != null) return mapped;
+
+        try {
+            byte[] compiled = compile(Files.readAllLines(source, StandardCharsets.UTF_8), stamp, size);
+            writeCache(cache, compiled);
+            return decode(ByteBuffer.wrap(compiled), startY, random);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("⚠️ File màn chơi " + source + " lỗi, dùng bố cục dựng sẵn: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Đếm số màn chơi: các màn dựng sẵn, cộng các file {@code level<N>.txt} nối tiếp ngay sau
+     * chúng ({@code level<builtIn + 1>.txt}, {@code level<builtIn + 2>.txt}... cho đến file đầu tiên
+     * bị thiếu). File cho các màn dựng sẵn chỉ thay bố cục, không làm tăng số màn.
+     *
+     * @param builtIn số màn có bố cục dựng sẵn
+     * @return tổng số màn chơi
+     */
+    static int countLevels(int builtIn) {
+        int count = builtIn;
+        while (Files.isRegularFile(LEVEL_DIR.resolve("level" + (count + 1) + ".txt"))) count++;
+        return count;
+    }
+
+    /**
+     * Ánh xạ bộ nhớ file biên dịch và giải mã nếu nó còn khớp với file nguồn.
+     *
+     * @return lưới gạch, hoặc {@code null} nếu chưa có / đã cũ / hỏng
+     */
+    static BrickField loadCache(Path cache, long stamp, long size, int startY, Random random) {
+        try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER) return null;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getLong(8) != stamp || buffer.getLong(16) != size) {
+                return null;
+            }
+            return decode(buffer, startY, random);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            return null; // Bộ đệm hỏng: biên dịch lại từ nguồn
+        }
+    }
+
+    /**
+     * Ghi file biên dịch (lỗi ghi chỉ làm mất bộ đệm, không ảnh hưởng màn chơi).
+     * Đồng bộ để nhiều phiên mô phỏng song song không cùng ghi một file tạm; chỉ chạy khi
+     * bộ đệm thiếu hoặc đã cũ, nên không nằm trên đường nóng.
+     */
+    private static synchronized void writeCache(Path cache, byte[] compiled) {
+        try {
+            Files.createDirectories(cache.getParent());
+            AtomicFiles.replace(cache, compiled);
+        } catch (IOException e) {
+            System.err.println("⚠️ Không ghi được bộ đệm màn chơi " + cache + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Biên dịch lưới ký tự thành định dạng nhị phân:
+     * header, rồi mỗi hàng gồm 1 byte độ lệch (pixel) và {@code cols} byte mã ô.
+     *
+     * @param lines  các dòng của file nguồn
+     * @param stamp  thời điểm sửa của file nguồn
+     * @param size   kích thước file nguồn
+     * @return dữ liệu biên dịch
+     * @throws IllegalArgumentException nếu file nguồn sai cú pháp
+     */
+    static byte[] compile(List<String> lines, long stamp, long size) {
+        int rows = 0, cols = 0;
+        for (String line : lines) {
+            String row = gridRow(line);
+            if (row == null) continue;
+            rows++;
+            cols = Math.max(cols, row.length());
+        }
+        if (rows == 0) throw new IllegalArgumentException("không có hàng gạch nào");
+        if (rows > MAX_ROWS) throw new IllegalArgumentException("quá " + MAX_ROWS + " hàng");
+        if (cols > MAX_COLS) throw new IllegalArgumentException("quá " + MAX_COLS + " cột");
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER + rows * (1 + cols));
+        out.putInt(MAGIC).putInt(VERSION).putLong(stamp).putLong(size).put((byte) rows).put((byte) cols);
+        int lineNo = 0;
+        for (String line : lines) {
+            lineNo++;
+            String row = gridRow(line);
+            if (row == null) continue;
+            out.put((byte) (line.stripLeading().startsWith(">") ? BrickFactory.BRICK_WIDTH / 2 : 0));
+            for (int c = 0; c < cols; c++) {
+                out.put(c < row.length() ? cellCode(row.charAt(c), lineNo) : Brick.EMPTY);
+            }
+        }
+        return out.array();
+    }
+
+    /**
+     * @param line một dòng của file nguồn
+     * @return phần lưới của dòng (đã bỏ dấu lệch {@code >}), hoặc {@code null} nếu là dòng trống/chú thích
+     */
+    private static String gridRow(String line) {
+        String row = line.strip();
+        if (row.isEmpty() || row.startsWith("#")) return null;
+        return row.startsWith(">") ? row.substring(1) : row;
+    }
+
+    /** @return mã ô của một ký tự trong lưới */
+    private static byte cellCode(char c, int lineNo) {
+        return switch (c) {
+            case '.' -> Brick.EMPTY;
+            case 'N' -> Brick.NORMAL;
+            case 'S' -> Brick.STRONG;
+            case 'X' -> Brick.EXPLOSIVE;
+            case 'U' -> Brick.UNBREAKABLE;
+            case '?' -> RANDOM;
+            default -> throw new IllegalArgumentException("ký tự '" + c + "' không hợp lệ ở dòng " + lineNo);
+        };
+    }
+
+    /**
+     * Giải mã dữ liệu biên dịch (bắt đầu từ header) thẳng vào một lưới gạch mới.
+     * Ô ngẫu nhiên lấy loại từ {@code random} theo thứ tự hàng rồi cột, như bố cục dựng sẵn.
+     */
+    static BrickField decode(ByteBuffer data, int startY, Random random) {
+        int rows = data.get(24) & 0xFF;
+        int cols = data.get(25) & 0xFF;
+        int width = BrickFactory.BRICK_WIDTH, height = BrickFactory.BRICK_HEIGHT;
+        BrickField bricks = new BrickField(0, startY, MAX_COLS, rows);
+        int pos = HEADER;
+        for (int row = 0; row < rows; row++) {
+            int offset = data.get(pos++);
+            int y = startY + row * height;
+            for (int col = 0; col < cols; col++) {
+                byte code = data.get(pos++);
+                if (code == Brick.EMPTY) continue;
+                byte type = code == RANDOM ? BrickFactory.randomBrickType(random) : code;
+                bricks.place(type, offset + col * width, y);
+            }
+        }
+        return bricks;
+    }
+}
@@ -4,8 +4,8 @@ package entity;
  * Lớp trừu tượng {@code MovableObject} mở rộng {@link GameObject},
  * đại diện cho các đối tượng có khả năng di chuyển trong trò chơi.
  * <p>
- * Các lớp con như {@link Ball} hoặc {@link Paddle} sẽ kế thừa lớp này
- * để xử lý logic di chuyển dựa trên vận tốc.
+ * Các lớp con như {@link Paddle} sẽ kế thừa lớp này
+ * và được vẽ nội suy giữa hai bước cập nhật.
  * </p>
  *
  * @author An
@@ -13,49 +13,62 @@ package entity;
  */
 public abstract class MovableObject extends GameObject {
 
-    /** Vận tốc theo trục X (đơn vị: pixel / frame) */
-    protected double dx;
-
-    /** Vận tốc theo trục Y (đơn vị: pixel / frame) */
-    protected double dy;
+    /** Vị trí ở bước cập nhật trước (dùng để nội suy khi vẽ) */
+    protected int prevX, prevY;
 
     /**
-     * Khởi tạo một {@code MovableObject} với vị trí, kích thước và vận tốc cho trước.
+     * Khởi tạo một {@code MovableObject} với vị trí và kích thước cho trước.
      *
      * @param x hoành độ ban đầu của đối tượng
      * @param y tung độ ban đầu của đối tượng
      * @param width chiều rộng của đối tượng
      * @param height chiều cao của đối tượng
-     * @param dx vận tốc theo trục X
-     * @param dy vận tốc theo trục Y
      */
-    public MovableObject(int x, int y, int width, int height, double dx, double dy) {
+    public MovableObject(int x, int y, int width, int height) {
         super(x, y, width, height);
-        this.dx = dx;
-        this.dy = dy;
+        this.prevX = x;
+        this.prevY = y;
     }
 
     /**
-     * Di chuyển đối tượng dựa trên vận tốc hiện tại.
-     * <p>
-     * Phương thức này làm tròn giá trị vận tốc về pixel nguyên để đảm bảo
-     * đối tượng hiển thị chính xác trên màn hình.
-     * </p>
+     * Ghi nhớ vị trí hiện tại làm vị trí "trước" — gọi ở đầu mỗi bước cập nhật.
      */
-    public void move() {
-        x += (int) Math.round(dx);
-        y += (int) Math.round(dy);
+    public void savePreviousPosition() {
+        prevX = x;
+        prevY = y;
     }
 
-    /** @return vận tốc theo trục X */
-    public double getDx() { return dx; }
+    /** @return hoành độ ở bước cập nhật trước */
+    public int getPrevX() { return prevX; }
 
-    /** @return vận tốc theo trục Y */
-    public double getDy() { return dy; }
+    /** @return tung độ ở bước cập nhật trước */
+    public int getPrevY() { return prevY; }
 
-    /** @param dx thiết lập vận tốc theo trục X */
-    public void setDx(double dx) { this.dx = dx; }
+    /**
+     * Tính hoành độ để vẽ, nội suy giữa bước trước và bước hiện tại.
+     *
+     * @param alpha hệ số nội suy trong khoảng [0, 1]
+     * @return hoành độ đã nội suy (pixel)
+     */
+    public int getRenderX(double alpha) {
+        return (int) Math.round(prevX + (x - prevX) * alpha);
+    }
 
-    /** @param dy thiết lập vận tốc theo trục Y */
-    public void setDy(double dy) { this.dy = dy; }
+    /**
+     * Vẽ đối tượng tại vị trí nội suy giữa hai bước cập nhật.
+     *
+     * @param g     đối tượng {@link java.awt.Graphics2D} dùng để vẽ
+     * @param alpha hệ số nội suy trong khoảng [0, 1] ({@code 1} = vị trí hiện tại)
+     */
+    public abstract void render(java.awt.Graphics2D g, double alpha);
+
+    /**
+     * Vẽ đối tượng tại vị trí hiện tại.
+     *
+     * @param g đối tượng {@link java.awt.Graphics2D} dùng để vẽ
+     */
+    @Override
+    public void render(java.awt.Graphics2D g) {
+        render(g, 1.0);
+    }
 }
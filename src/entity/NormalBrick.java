@@ -1,11 +1,10 @@
 package entity;
 
-import sound.Sound;
-import javax.imageio.ImageIO;
+import asset.AssetCache;
+import asset.SpriteCache;
+import sound.SoundPlayer;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.Random;
 
 /**
  * Lớp {@code NormalBrick} đại diện cho loại gạch thông thường trong game Arkanoid.
@@ -17,7 +16,7 @@ import java.util.Random;
  * <p><b>Đặc điểm:</b></p>
  * <ul>
  *   <li>Chịu 1 lần va chạm (hitPoints = 1)</li>
- *   <li>Có 5 loại texture khác nhau để chọn ngẫu nhiên</li>
+ *   <li>Có 5 loại texture khác nhau, chọn theo vị trí</li>
  *   <li>Phát âm thanh khi bị phá</li>
  * </ul>
  *
@@ -29,57 +28,41 @@ import java.util.Random;
  */
 public class NormalBrick extends Brick {
 
-    /** Danh sách texture của gạch thường (được load một lần duy nhất) */
-    private static BufferedImage[] textures;
-
-    /** Biến cờ kiểm tra xem texture đã được load hay chưa */
-    private static boolean loaded = false;
+    /** Bộ đệm sprite đã thu phóng sẵn (vẽ không cần co giãn ảnh mỗi khung hình) */
+    private static final SpriteCache sprites = SpriteCache.getInstance();
 
-    /** Ảnh hiển thị cụ thể của viên gạch này */
-    private BufferedImage image;
+    /** Số texture của gạch thường */
+    private static final int VARIANTS = 5;
 
-    /** Đối tượng âm thanh dùng chung trong toàn bộ game */
-    private static final Sound sound = Sound.getInstance();
-
-    /**
-     * Khởi tạo một viên {@code NormalBrick} tại vị trí và kích thước chỉ định.
-     *
-     * @param x hoành độ của viên gạch
-     * @param y tung độ của viên gạch
-     * @param width chiều rộng
-     * @param height chiều cao
-     */
-    public NormalBrick(int x, int y, int width, int height) {
-        super(x, y, width, height, 1);
-
-        // 🔹 Load ảnh một lần duy nhất
-        if (!loaded) loadTextures();
+    /** Danh sách texture của gạch thường (được load một lần duy nhất, khi vẽ lần đầu) */
+    private static BufferedImage[] textures;
 
-        // 🔹 Gán ảnh ngẫu nhiên cho mỗi viên gạch
-        if (textures != null && textures.length > 0) {
-            image = textures[new Random().nextInt(textures.length)];
-        }
+    /** Chỉ tạo qua {@link Brick#of(int)}. */
+    NormalBrick() {
+        super(NORMAL);
     }
 
     /**
-     * Nạp các texture của gạch thường từ thư mục tài nguyên.
+     * Lấy các texture của gạch thường từ {@link AssetCache} (dùng chung, không đọc file).
      * <p>Nếu việc tải ảnh thất bại, hệ thống sẽ dùng màu mặc định.</p>
      */
-    private void loadTextures() {
-        try {
-            textures = new BufferedImage[]{
-                    ImageIO.read(getClass().getResource("/img/normal1.png")),
-                    ImageIO.read(getClass().getResource("/img/normal2.png")),
-                    ImageIO.read(getClass().getResource("/img/normal3.png")),
-                    ImageIO.read(getClass().getResource("/img/normal4.png")),
-                    ImageIO.read(getClass().getResource("/img/normal5.png"))
-            };
-            loaded = true;
-            System.out.println("✅ NormalBrick textures loaded!");
-        } catch (IOException | IllegalArgumentException e) {
-            System.out.println("⚠️ Không thể tải ảnh NormalBrick, dùng màu mặc định.");
-            textures = null;
+    private static BufferedImage[] textures() {
+        if (textures == null) {
+            textures = AssetCache.getInstance().getSprites(
+                    AssetCache.NORMAL_1, AssetCache.NORMAL_2, AssetCache.NORMAL_3,
+                    AssetCache.NORMAL_4, AssetCache.NORMAL_5);
         }
+        return textures;
+    }
+
+    @Override
+    public int getInitialHitPoints() {
+        return 1;
+    }
+
+    @Override
+    public int getVariantCount() {
+        return VARIANTS;
     }
 
     /**
@@ -87,28 +70,26 @@ public class NormalBrick extends Brick {
      * <p>Sau khi bị phá, gạch sẽ phát âm thanh hiệu ứng.</p>
      */
     @Override
-    public void takeHit() {
-        super.takeHit(); // giảm hitPoints
+    public int takeHit(int hitPoints, SoundPlayer sound) {
         sound.play(2);   // phát âm thanh vỡ gạch
+        return hitPoints - 1;
     }
 
     /**
      * Vẽ viên gạch lên màn hình.
      * <p>Nếu ảnh chưa được tải, sẽ dùng hình chữ nhật màu cam làm mặc định.</p>
-     *
-     * @param g đối tượng {@link Graphics2D} dùng để vẽ
      */
     @Override
-    public void render(Graphics2D g) {
-        if (!isDestroyed()) {
-            if (image != null) {
-                g.drawImage(image, x, y, width, height, null);
-            } else {
-                g.setColor(Color.ORANGE);
-                g.fillRect(x, y, width, height);
-                g.setColor(Color.BLACK);
-                g.drawRect(x, y, width, height);
-            }
+    public void render(Graphics2D g, int x, int y, int width, int height, int hitPoints, int variant) {
+        BufferedImage[] tex = textures();
+        BufferedImage image = tex != null && tex.length > 0 ? tex[variant % tex.length] : null;
+        if (image != null) {
+            sprites.draw(g, image, x, y, width, height);
+        } else {
+            g.setColor(Color.ORANGE);
+            g.fillRect(x, y, width, height);
+            g.setColor(Color.BLACK);
+            g.drawRect(x, y, width, height);
         }
     }
 }
@@ -1,9 +1,10 @@
 package entity;
 
+import asset.AssetCache;
+import asset.SpriteCache;
+
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 
 /**
  * Lớp {@code Paddle} đại diện cho thanh đỡ (thanh trượt) do người chơi điều khiển trong game Arkanoid.
@@ -21,16 +22,25 @@ import javax.imageio.ImageIO;
  * </ul>
  *
  * @see MovableObject
- * @see Ball
+ * @see BallPool
  * @author An
  * @version 1.0
  */
 public class Paddle extends MovableObject {
 
-    /** Tốc độ di chuyển của thanh Paddle */
+    /** Bộ đệm sprite đã thu phóng sẵn (vẽ không cần co giãn ảnh mỗi khung hình) */
+    private static final SpriteCache sprites = SpriteCache.getInstance();
+
+    /** Tần số cập nhật chuẩn mà {@link #speed} được hiệu chỉnh theo (như vận tốc bóng). */
+    private static final double REFERENCE_TICK_RATE = 60.0;
+
+    /** Tốc độ di chuyển của thanh Paddle (pixel / 1/60 giây) */
     private int speed;
 
-    /** Hình ảnh hiển thị của thanh Paddle */
+    /** Hoành độ chính xác (số thực); {@link #x} là giá trị làm tròn dùng cho va chạm và vẽ */
+    private double exactX;
+
+    /** Hình ảnh hiển thị của thanh Paddle (lấy khi vẽ lần đầu: phiên headless không tải ảnh) */
     private BufferedImage image;
 
     /** Trạng thái mở rộng kích thước của Paddle */
@@ -46,17 +56,9 @@ public class Paddle extends MovableObject {
      * @param speed tốc độ di chuyển (sẽ được nhân đôi để tạo cảm giác mượt hơn)
      */
     public Paddle(int x, int y, int width, int height, int speed) {
-        super(x, y, width, height, 0, 0);
+        super(x, y, width, height);
         this.speed = speed * 2;
-
-        try {
-            // 🔹 Tải ảnh Paddle từ thư mục tài nguyên
-            image = ImageIO.read(getClass().getResourceAsStream("/img/pipe_ngan.png"));
-            System.out.println("✅ Paddle image loaded successfully!");
-        } catch (IOException e) {
-            System.out.println("❌ Paddle image NOT loaded: " + e.getMessage());
-            image = null;
-        }
+        this.exactX = x;
     }
 
     /**
@@ -70,6 +72,7 @@ public class Paddle extends MovableObject {
 
     /**
      * Cập nhật chiều rộng của Paddle.
+     * Ảnh ở kích thước mới được {@link SpriteCache} thu phóng một lần rồi dùng lại.
      *
      * @param width chiều rộng mới
      */
@@ -97,35 +100,47 @@ public class Paddle extends MovableObject {
 
     /**
      * Di chuyển Paddle sang trái, giới hạn không vượt ra ngoài biên trái của màn hình.
+     * <p>
+     * Quãng đường được nhân theo {@code deltaTime} (như bóng trong {@link BallPool}),
+     * nên tốc độ thanh đỡ không đổi khi thay đổi tần số cập nhật.
+     * </p>
+     *
+     * @param deltaTime khoảng thời gian của một bước mô phỏng (giây)
      */
-    public void moveLeft() {
-        x -= speed;
-        if (x < 0) x = 0;
+    public void moveLeft(double deltaTime) {
+        exactX = Math.max(0, exactX - speed * deltaTime * REFERENCE_TICK_RATE);
+        x = (int) Math.round(exactX);
     }
 
     /**
      * Di chuyển Paddle sang phải, giới hạn không vượt ra ngoài biên phải của màn hình.
      *
      * @param panelWidth chiều rộng của khung chơi (panel)
+     * @param deltaTime  khoảng thời gian của một bước mô phỏng (giây)
      */
-    public void moveRight(int panelWidth) {
-        x += speed;
-        if (x + width > panelWidth) x = panelWidth - width;
+    public void moveRight(int panelWidth, double deltaTime) {
+        exactX = Math.min(panelWidth - width, exactX + speed * deltaTime * REFERENCE_TICK_RATE);
+        x = (int) Math.round(exactX);
     }
 
     /**
-     * Hiển thị Paddle lên màn hình.
+     * Hiển thị Paddle lên màn hình tại vị trí nội suy.
      * <p>Nếu ảnh không tải được, vẽ một hình chữ nhật màu xanh thay thế.</p>
      *
-     * @param g đối tượng {@link Graphics2D} dùng để vẽ
+     * @param g     đối tượng {@link Graphics2D} dùng để vẽ
+     * @param alpha hệ số nội suy giữa bước trước và bước hiện tại
      */
     @Override
-    public void render(Graphics2D g) {
+    public void render(Graphics2D g, double alpha) {
+        // 🔹 Ảnh Paddle dùng chung từ AssetCache (không đọc file mỗi lần tạo)
+        if (image == null) image = AssetCache.getInstance().getSprite(AssetCache.PADDLE);
+
+        int drawX = getRenderX(alpha);
         if (image != null) {
-            g.drawImage(image, x, y, width, height, null);
+            sprites.draw(g, image, drawX, y, width, height);
         } else {
             g.setColor(Color.GREEN);
-            g.fillRect(x, y, width, height);
+            g.fillRect(drawX, y, width, height);
         }
     }
 }
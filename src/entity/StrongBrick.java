@@ -1,10 +1,10 @@
 package entity;
 
-import sound.Sound;
-import javax.imageio.ImageIO;
+import asset.AssetCache;
+import asset.SpriteCache;
+import sound.SoundPlayer;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 
 /**
  * Lớp {@code StrongBrick} đại diện cho loại gạch có độ bền cao trong trò chơi Arkanoid.
@@ -28,37 +28,23 @@ import java.io.IOException;
  */
 public class StrongBrick extends Brick {
 
+    /** Bộ đệm sprite đã thu phóng sẵn (vẽ không cần co giãn ảnh mỗi khung hình) */
+    private static final SpriteCache sprites = SpriteCache.getInstance();
+
     /** Hình ảnh khi gạch còn nguyên vẹn (2 máu) */
     private static BufferedImage fullHpImage;
 
     /** Hình ảnh khi gạch bị nứt (1 máu) */
     private static BufferedImage halfHpImage;
 
-    /** Hệ thống âm thanh dùng chung */
-    private static final Sound sound = Sound.getInstance();
-
-    /**
-     * Khởi tạo một {@code StrongBrick} tại vị trí, kích thước được chỉ định.
-     * <p>
-     * Nếu hình ảnh chưa được tải, phương thức sẽ tải chúng từ thư mục <code>/img</code>.
-     * </p>
-     *
-     * @param x hoành độ của gạch
-     * @param y tung độ của gạch
-     * @param width chiều rộng gạch
-     * @param height chiều cao gạch
-     */
-    public StrongBrick(int x, int y, int width, int height) {
-        super(x, y, width, height, 2);
+    /** Chỉ tạo qua {@link Brick#of(int)}. */
+    StrongBrick() {
+        super(STRONG);
+    }
 
-        try {
-            if (fullHpImage == null)
-                fullHpImage = ImageIO.read(getClass().getResource("/img/strong.png"));
-            if (halfHpImage == null)
-                halfHpImage = ImageIO.read(getClass().getResource("/img/strong_half.png"));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    @Override
+    public int getInitialHitPoints() {
+        return 2;
     }
 
     /**
@@ -68,37 +54,38 @@ public class StrongBrick extends Brick {
      * </p>
      */
     @Override
-    public void takeHit() {
+    public int takeHit(int hitPoints, SoundPlayer sound) {
         if (hitPoints == 2) {
             sound.play(7); // âm "nứt" nhẹ
         } else if (hitPoints == 1) {
             sound.play(8); // âm "vỡ"
         }
-        super.takeHit();
+        return hitPoints - 1;
     }
 
     /**
      * Hiển thị gạch lên màn hình.
      * <p>
      * - Nếu còn 2 máu: vẽ ảnh {@code strong.png} (hoặc màu xanh lá). <br>
-     * - Nếu còn 1 máu: vẽ ảnh {@code strong_half.png} (hoặc màu vàng). <br>
-     * - Nếu bị phá hủy: không vẽ gì.
+     * - Nếu còn 1 máu: vẽ ảnh {@code strong_half.png} (hoặc màu vàng).
      * </p>
-     *
-     * @param g đối tượng {@link Graphics2D} dùng để vẽ
+     * Hình ảnh được lấy (một lần, khi vẽ lần đầu) từ {@link AssetCache} dùng chung.
      */
     @Override
-    public void render(Graphics2D g) {
-        if (!isDestroyed()) {
-            BufferedImage img = (hitPoints == 2 ? fullHpImage : halfHpImage);
-            if (img != null) {
-                g.drawImage(img, x, y, width, height, null);
-            } else {
-                g.setColor(hitPoints == 2 ? Color.GREEN : Color.YELLOW);
-                g.fillRect(x, y, width, height);
-                g.setColor(Color.BLACK);
-                g.drawRect(x, y, width, height);
-            }
+    public void render(Graphics2D g, int x, int y, int width, int height, int hitPoints, int variant) {
+        if (fullHpImage == null)
+            fullHpImage = AssetCache.getInstance().getSprite(AssetCache.STRONG);
+        if (halfHpImage == null)
+            halfHpImage = AssetCache.getInstance().getSprite(AssetCache.STRONG_HALF);
+
+        BufferedImage img = (hitPoints == 2 ? fullHpImage : halfHpImage);
+        if (img != null) {
+            sprites.draw(g, img, x, y, width, height);
+        } else {
+            g.setColor(hitPoints == 2 ? Color.GREEN : Color.YELLOW);
+            g.fillRect(x, y, width, height);
+            g.setColor(Color.BLACK);
+            g.drawRect(x, y, width, height);
         }
     }
 }
@@ -0,0 +1,88 @@
+package entity;
+
+/**
+ * Lớp {@code Sweep} tính thời điểm va chạm sớm nhất (time of impact) giữa một hình chữ nhật
+ * đang di chuyển và một hình chữ nhật đứng yên (swept AABB).
+ * <p>
+ * Thay vì dịch chuyển rồi mới kiểm tra chồng lấn, phép quét tìm ra tỉ lệ {@code t} trong
+ * khoảng [0, 1] của quãng đường di chuyển mà tại đó hai hình bắt đầu chạm nhau, cùng với
+ * pháp tuyến của mặt bị chạm. Nhờ vậy bóng nhanh không thể "xuyên" qua gạch mỏng hay paddle.
+ * </p>
+ *
+ * <p>Đối tượng được dùng lại giữa các lần kiểm tra để không cấp phát bộ nhớ.</p>
+ *
+ * @see BallPool
+ */
+public class Sweep {
+
+    /** Thời điểm va chạm (tỉ lệ quãng đường, 0..1) của lần kiểm tra gần nhất */
+    public double time;
+
+    /** Pháp tuyến của mặt bị chạm: -1, 0 hoặc 1 theo mỗi trục */
+    public int normalX, normalY;
+
+    /**
+     * Kiểm tra hình A (đang di chuyển một đoạn {@code (moveX, moveY)}) có chạm hình B không.
+     * <p>
+     * Nếu hai hình đã chồng lấn sẵn mà A vẫn đang đi sâu vào B, va chạm được tính tại
+     * {@code t = 0} với pháp tuyến theo trục đi vào muộn nhất. Nếu A đang rời khỏi B thì
+     * không tính là va chạm.
+     * </p>
+     *
+     * @param ax    hoành độ hình A
+     * @param ay    tung độ hình A
+     * @param aw    chiều rộng hình A
+     * @param ah    chiều cao hình A
+     * @param moveX quãng đường di chuyển theo trục X trong bước này
+     * @param moveY quãng đường di chuyển theo trục Y trong bước này
+     * @param bx    hoành độ hình B
+     * @param by    tung độ hình B
+     * @param bw    chiều rộng hình B
+     * @param bh    chiều cao hình B
+     * @return {@code true} nếu có va chạm; khi đó {@link #time}, {@link #normalX},
+     *         {@link #normalY} được cập nhật
+     */
+    public boolean test(double ax, double ay, double aw, double ah,
+                        double moveX, double moveY,
+                        double bx, double by, double bw, double bh) {
+        double xEntry, xExit, yEntry, yExit;
+
+        if (moveX > 0) {
+            xEntry = (bx - (ax + aw)) / moveX;
+            xExit = (bx + bw - ax) / moveX;
+        } else if (moveX < 0) {
+            xEntry = (bx + bw - ax) / moveX;
+            xExit = (bx - (ax + aw)) / moveX;
+        } else {
+            if (ax + aw <= bx || ax >= bx + bw) return false; // không cùng dải X
+            xEntry = Double.NEGATIVE_INFINITY;
+            xExit = Double.POSITIVE_INFINITY;
+        }
+
+        if (moveY > 0) {
+            yEntry = (by - (ay + ah)) / moveY;
+            yExit = (by + bh - ay) / moveY;
+        } else if (moveY < 0) {
+            yEntry = (by + bh - ay) / moveY;
+            yExit = (by - (ay + ah)) / moveY;
+        } else {
+            if (ay + ah <= by || ay >= by + bh) return false; // không cùng dải Y
+            yEntry = Double.NEGATIVE_INFINITY;
+            yExit = Double.POSITIVE_INFINITY;
+        }
+
+        double entry = Math.max(xEntry, yEntry);
+        double exit = Math.min(xExit, yExit);
+        if (entry > exit || entry > 1.0 || exit <= 0.0) return false;
+
+        time = Math.max(0.0, entry);
+        if (xEntry > yEntry) {
+            normalX = moveX > 0 ? -1 : 1;
+            normalY = 0;
+        } else {
+            normalX = 0;
+            normalY = moveY > 0 ? -1 : 1;
+        }
+        return true;
+    }
+}
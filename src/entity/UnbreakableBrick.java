@@ -1,11 +1,10 @@
 package entity;
 
-import sound.Sound;
-import javax.imageio.ImageIO;
+import asset.AssetCache;
+import asset.SpriteCache;
+import sound.SoundPlayer;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.Random;
 
 /**
  * Lớp {@code UnbreakableBrick} đại diện cho loại gạch không thể phá hủy trong trò chơi Arkanoid.
@@ -16,10 +15,9 @@ import java.util.Random;
  *
  * <p><b>Đặc điểm:</b></p>
  * <ul>
- *   <li>Máu ({@code hitPoints}) = {@link Integer#MAX_VALUE}</li>
- *   <li>Không bao giờ bị phá hủy ({@link #isDestroyed()} luôn trả về {@code false})</li>
+ *   <li>Không bao giờ bị phá hủy ({@link #isBreakable()} luôn trả về {@code false})</li>
  *   <li>Phát âm thanh riêng khi bị đánh trúng</li>
- *   <li>Hiển thị ảnh ngẫu nhiên từ bộ {@code unbreakable1.png}, {@code unbreakable2.png}</li>
+ *   <li>Hiển thị ảnh từ bộ {@code unbreakable1.png}, {@code unbreakable2.png}, chọn theo vị trí</li>
  * </ul>
  *
  * @see Brick
@@ -31,58 +29,51 @@ import java.util.Random;
  */
 public class UnbreakableBrick extends Brick {
 
-    /** Danh sách ảnh texture cho loại gạch này */
-    private static BufferedImage[] textures;
+    /** Bộ đệm sprite đã thu phóng sẵn (vẽ không cần co giãn ảnh mỗi khung hình) */
+    private static final SpriteCache sprites = SpriteCache.getInstance();
 
-    /** Cờ đánh dấu đã load ảnh hay chưa (chỉ load một lần duy nhất) */
-    private static boolean loaded = false;
+    /** Số texture của loại gạch này */
+    private static final int VARIANTS = 2;
 
-    /** Âm thanh dùng chung trong game */
-    private static final Sound sound = Sound.getInstance();
+    /** Danh sách ảnh texture cho loại gạch này (tải một lần, khi vẽ lần đầu) */
+    private static BufferedImage[] textures;
 
-    /** Ảnh được chọn ngẫu nhiên cho từng viên gạch */
-    private BufferedImage image;
+    /** Chỉ tạo qua {@link Brick#of(int)}. */
+    UnbreakableBrick() {
+        super(UNBREAKABLE);
+    }
 
     /**
-     * Khởi tạo một {@code UnbreakableBrick} tại vị trí, kích thước xác định.
+     * Lấy toàn bộ ảnh texture của {@code UnbreakableBrick} từ {@link AssetCache}.
      * <p>
-     * Mỗi viên gạch sẽ được gán ngẫu nhiên một ảnh texture trong bộ ảnh đã tải.
+     * Nếu không thể tải ảnh, sẽ chuyển sang chế độ hiển thị bằng màu mặc định.
      * </p>
-     *
-     * @param x hoành độ của gạch
-     * @param y tung độ của gạch
-     * @param width chiều rộng gạch
-     * @param height chiều cao gạch
      */
-    public UnbreakableBrick(int x, int y, int width, int height) {
-        super(x, y, width, height, Integer.MAX_VALUE);
+    private static BufferedImage[] textures() {
+        if (textures == null) {
+            textures = AssetCache.getInstance().getSprites(AssetCache.UNBREAKABLE_1, AssetCache.UNBREAKABLE_2);
+        }
+        return textures;
+    }
 
-        if (!loaded) loadTextures();
+    @Override
+    public int getInitialHitPoints() {
+        return 1;
+    }
 
-        if (textures != null && textures.length > 0) {
-            int idx = new Random().nextInt(textures.length);
-            image = textures[idx];
-        }
+    @Override
+    public int getVariantCount() {
+        return VARIANTS;
     }
 
     /**
-     * Tải toàn bộ ảnh texture của {@code UnbreakableBrick}.
-     * <p>
-     * Nếu không thể tải ảnh, sẽ chuyển sang chế độ hiển thị bằng màu mặc định.
-     * </p>
+     * Gạch không thể phá hủy.
+     *
+     * @return luôn là {@code false}
      */
-    private void loadTextures() {
-        try {
-            textures = new BufferedImage[]{
-                    ImageIO.read(getClass().getResource("/img/unbreakable1.png")),
-                    ImageIO.read(getClass().getResource("/img/unbreakable2.png"))
-            };
-            loaded = true;
-            System.out.println("✅ UnbreakableBrick textures loaded!");
-        } catch (IOException | IllegalArgumentException e) {
-            System.out.println("⚠️ Không thể tải ảnh UnbreakableBrick, dùng màu mặc định.");
-            textures = null;
-        }
+    @Override
+    public boolean isBreakable() {
+        return false;
     }
 
     /**
@@ -92,37 +83,24 @@ public class UnbreakableBrick extends Brick {
      * </p>
      */
     @Override
-    public void takeHit() {
+    public int takeHit(int hitPoints, SoundPlayer sound) {
         sound.play(3);
-        System.out.println("🧱 Unbreakable brick hit! No damage taken.");
-    }
-
-    /**
-     * Kiểm tra gạch có bị phá hủy hay không.
-     * <p>
-     * Gạch không thể phá hủy luôn trả về {@code false}.
-     * </p>
-     *
-     * @return luôn là {@code false}
-     */
-    @Override
-    public boolean isDestroyed() {
-        return false;
+        return hitPoints;
     }
 
     /**
      * Hiển thị viên gạch lên màn hình.
      * <p>
-     * - Nếu ảnh đã tải: vẽ ảnh ngẫu nhiên. <br>
+     * - Nếu ảnh đã tải: vẽ ảnh theo biến thể. <br>
      * - Nếu lỗi ảnh: vẽ màu xám đậm làm mặc định.
      * </p>
-     *
-     * @param g đối tượng {@link Graphics2D} dùng để vẽ
      */
     @Override
-    public void render(Graphics2D g) {
+    public void render(Graphics2D g, int x, int y, int width, int height, int hitPoints, int variant) {
+        BufferedImage[] tex = textures();
+        BufferedImage image = tex != null && tex.length > 0 ? tex[variant % tex.length] : null;
         if (image != null) {
-            g.drawImage(image, x, y, width, height, null);
+            sprites.draw(g, image, x, y, width, height);
         } else {
             g.setColor(Color.DARK_GRAY);
             g.fillRect(x, y, width, height);
@@ -0,0 +1,205 @@
+package metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.swing.SwingUtilities;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Lớp {@code GameMetrics} đo thời gian khung hình và tải mô phỏng của trò chơi.
+ * <p>
+ * Các số đo được ghi vào {@link Histogram} (không cấp phát); mỗi cửa sổ
+ * {@value #WINDOW_NANOS} ns, số liệu được chốt thành một {@link MetricsSnapshot} bất biến
+ * và bắt đầu cửa sổ mới. Bản chốt gần nhất được hiển thị trên lớp phủ F3
+ * ({@link MetricsOverlay}) và qua JMX ({@link GameMetricsMXBean}).
+ * </p>
+ *
+ * <p><b>Các số đo:</b></p>
+ * <ul>
+ *   <li>Thời gian {@code GameManager.update()} và {@code GameManager.render()}</li>
+ *   <li>Số phép kiểm tra va chạm và số gạch được kiểm tra mỗi bước; số vật phẩm, số bóng</li>
+ *   <li>Khoảng cách giữa hai khung hình; khung hình "rớt" khi khoảng cách vượt
+ *       1,5 lần ngân sách khung hình</li>
+ *   <li>Độ trễ của EDT: mỗi khung hình gửi một tác vụ mốc thời gian vào hàng đợi sự kiện
+ *       (nếu tác vụ trước đã chạy) và đo lúc nó được xử lý</li>
+ * </ul>
+ * Các hàm ghi đồng bộ trên đối tượng này (vài lần mỗi khung hình, không tranh chấp);
+ * hàm đọc chỉ đọc bản chốt {@code volatile}.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+
+    /** Tên MBean đăng ký với JMX. */
+    public static final String OBJECT_NAME = "Arkanoid:type=GameMetrics";
+
+    /** Độ dài một cửa sổ đo (ns). */
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    /** Khung hình bị coi là rớt khi khoảng cách vượt ngân sách nhân hệ số này. */
+    private static final double DROP_FACTOR = 1.5;
+
+    /** Histogram của cửa sổ hiện tại. */
+    private final Histogram update = new Histogram(), render = new Histogram(), frame = new Histogram(),
+            edt = new Histogram(), collisions = new Histogram(), bricks = new Histogram();
+
+    /** Số vật phẩm và số bóng ở bước gần nhất. */
+    private int powerUps, balls;
+
+    /** Số khung hình, số bước và số khung hình rớt trong cửa sổ hiện tại. */
+    private long frames, ticks, dropped;
+
+    /** Tổng số khung hình rớt. */
+    private long droppedTotal;
+
+    /** Thời điểm bắt đầu cửa sổ hiện tại và thời điểm kết thúc khung hình trước (ns). */
+    private long windowStart, lastFrameEnd;
+
+    /** Bản chốt gần nhất. */
+    private volatile MetricsSnapshot snapshot = MetricsSnapshot.EMPTY;
+
+    // ====== Đo độ trễ EDT ======
+
+    /** Thời điểm gửi tác vụ mốc vào EDT ({@code 0} = không có tác vụ đang chờ). */
+    private volatile long probePostedAt;
+
+    /** Độ trễ đo được của tác vụ mốc gần nhất, chờ ghi vào histogram ({@code -1} = chưa có). */
+    private volatile long probeLatency = -1;
+
+    /** Tác vụ mốc chạy trên EDT (tạo một lần). */
+    private final Runnable probe = () -> {
+        probeLatency = System.nanoTime() - probePostedAt;
+        probePostedAt = 0;
+    };
+
+    // ====== Ghi (luồng game) ======
+
+    /**
+     * Ghi một bước mô phỏng.
+     *
+     * @param nanos           thời gian {@code update()} (ns)
+     * @param collisionChecks số phép kiểm tra va chạm trong bước
+     * @param bricksTested    số gạch được kiểm tra trong bước
+     * @param powerUps        số vật phẩm đang rơi
+     * @param balls           số bóng đang bay
+     */
+    public synchronized void recordUpdate(long nanos, int collisionChecks, int bricksTested,
+                                          int powerUps, int balls) {
+        update.record(nanos);
+        collisions.record(collisionChecks);
+        bricks.record(bricksTested);
+        this.powerUps = powerUps;
+        this.balls = balls;
+        ticks++;
+    }
+
+    /**
+     * Ghi thời gian vẽ một khung hình.
+     *
+     * @param nanos thời gian {@code render()} (ns)
+     */
+    public synchronized void recordRender(long nanos) {
+        render.record(nanos);
+    }
+
+    /**
+     * Kết thúc một khung hình: ghi khoảng cách khung hình, đếm khung hình rớt,
+     * gửi tác vụ mốc EDT và chốt cửa sổ khi đủ thời gian.
+     *
+     * @param budgetNanos ngân sách một khung hình (ns), ví dụ {@code 1e9 / maxFps}
+     */
+    public synchronized void endFrame(long budgetNanos) {
+        long now = System.nanoTime();
+        if (windowStart == 0) windowStart = now;
+        if (lastFrameEnd != 0) {
+            long interval = now - lastFrameEnd;
+            frame.record(interval);
+            if (interval > budgetNanos * DROP_FACTOR) {
+                dropped++;
+                droppedTotal++;
+            }
+        }
+        lastFrameEnd = now;
+        frames++;
+
+        long latency = probeLatency;
+        if (latency >= 0) {
+            edt.record(latency);
+            probeLatency = -1;
+        }
+        if (probePostedAt == 0) {
+            probePostedAt = now;
+            SwingUtilities.invokeLater(probe);
+        }
+
+        long elapsed = now - windowStart;
+        if (elapsed >= WINDOW_NANOS) publish(now, elapsed);
+    }
+
+    /**
+     * Bỏ qua khoảng thời gian từ khung hình trước (ví dụ sau khi vòng lặp dừng rồi chạy lại),
+     * để lần chờ đó không bị tính là khung hình rớt.
+     */
+    public synchronized void resetFrameClock() {
+        lastFrameEnd = 0;
+    }
+
+    /** Chốt cửa sổ hiện tại thành bản chốt mới và bắt đầu cửa sổ mới. */
+    private void publish(long now, long elapsed) {
+        double seconds = elapsed / 1e9;
+        snapshot = new MetricsSnapshot(frames / seconds, ticks / seconds, update, render, frame,
+                edt, collisions, bricks, powerUps, balls, dropped, droppedTotal);
+        update.reset();
+        render.reset();
+        frame.reset();
+        edt.reset();
+        collisions.reset();
+        bricks.reset();
+        frames = ticks = dropped = 0;
+        windowStart = now;
+    }
+
+    // ====== Đọc ======
+
+    /** @return bản chốt của cửa sổ đo gần nhất */
+    public MetricsSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // ====== JMX ======
+
+    /**
+     * Đăng ký MBean với máy chủ MBean của JVM (thay bản đăng ký cũ nếu có).
+     */
+    public void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                server.registerMBean(this, name);
+            } catch (InstanceAlreadyExistsException e) {
+                server.unregisterMBean(name);
+                server.registerMBean(this, name);
+            }
+        } catch (JMException | SecurityException e) {
+            System.err.println("⚠️ Không đăng ký được MBean số đo: " + e.getMessage());
+        }
+    }
+
+    @Override public double getFps() { return snapshot.fps; }
+    @Override public double getTicksPerSecond() { return snapshot.tps; }
+    @Override public double getUpdateP50Micros() { return snapshot.updateP50; }
+    @Override public double getUpdateP99Micros() { return snapshot.updateP99; }
+    @Override public double getUpdateMaxMicros() { return snapshot.updateMax; }
+    @Override public double getRenderP50Micros() { return snapshot.renderP50; }
+    @Override public double getRenderP99Micros() { return snapshot.renderP99; }
+    @Override public double getRenderMaxMicros() { return snapshot.renderMax; }
+    @Override public double getFrameTimeP99Micros() { return snapshot.frameP99; }
+    @Override public double getEdtLatencyP99Micros() { return snapshot.edtP99; }
+    @Override public long getCollisionChecksP99() { return snapshot.collisionsP99; }
+    @Override public long getBricksTestedP99() { return snapshot.bricksP99; }
+    @Override public int getActivePowerUps() { return snapshot.powerUps; }
+    @Override public int getBalls() { return snapshot.balls; }
+    @Override public long getDroppedFrames() { return snapshot.droppedFrames; }
+    @Override public long getDroppedFramesTotal() { return snapshot.droppedFramesTotal; }
+}
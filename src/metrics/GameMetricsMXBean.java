@@ -0,0 +1,59 @@
+package metrics;
+
+/**
+ * Giao diện JMX của {@link GameMetrics}: đọc bằng JConsole hoặc VisualVM
+ * (MBean {@value GameMetrics#OBJECT_NAME}).
+ * <p>
+ * Mọi giá trị lấy từ cửa sổ đo gần nhất (1 giây); thời gian tính bằng micro giây.
+ * </p>
+ */
+public interface GameMetricsMXBean {
+
+    /** @return số khung hình mỗi giây */
+    double getFps();
+
+    /** @return số bước mô phỏng mỗi giây */
+    double getTicksPerSecond();
+
+    /** @return trung vị thời gian update (µs) */
+    double getUpdateP50Micros();
+
+    /** @return p99 thời gian update (µs) */
+    double getUpdateP99Micros();
+
+    /** @return thời gian update lớn nhất (µs) */
+    double getUpdateMaxMicros();
+
+    /** @return trung vị thời gian render (µs) */
+    double getRenderP50Micros();
+
+    /** @return p99 thời gian render (µs) */
+    double getRenderP99Micros();
+
+    /** @return thời gian render lớn nhất (µs) */
+    double getRenderMaxMicros();
+
+    /** @return p99 khoảng cách giữa hai khung hình (µs) */
+    double getFrameTimeP99Micros();
+
+    /** @return p99 độ trễ hàng đợi EDT (µs) */
+    double getEdtLatencyP99Micros();
+
+    /** @return p99 số phép kiểm tra va chạm mỗi bước */
+    long getCollisionChecksP99();
+
+    /** @return p99 số viên gạch được kiểm tra mỗi bước */
+    long getBricksTestedP99();
+
+    /** @return số vật phẩm đang rơi */
+    int getActivePowerUps();
+
+    /** @return số bóng đang bay */
+    int getBalls();
+
+    /** @return số khung hình bị rớt trong cửa sổ đo gần nhất */
+    long getDroppedFrames();
+
+    /** @return tổng số khung hình bị rớt từ khi khởi động */
+    long getDroppedFramesTotal();
+}
@@ -0,0 +1,107 @@
+package metrics;
+
+import java.util.Arrays;
+
+/**
+ * Lớp {@code Histogram} là histogram log-tuyến tính cho giá trị nguyên không âm
+ * (thời gian ns, số phép kiểm tra...), dùng để tính phân vị với chi phí rất thấp.
+ * <p>
+ * Giá trị {@code 0..15} có ô riêng; từ 16 trở lên, mỗi khoảng lũy thừa 2 được chia thành
+ * {@value #SUB_BUCKETS} ô đều nhau, nên sai số tương đối của phân vị dưới ~6%.
+ * Ghi một giá trị chỉ là vài phép dịch bit và một phép cộng vào mảng cố định
+ * (976 ô) — không cấp phát, không sắp xếp.
+ * </p>
+ * <p>Lớp này không tự đồng bộ; {@link GameMetrics} giữ khóa khi ghi và đọc.</p>
+ */
+public class Histogram {
+
+    /** Số bit của phần tuyến tính trong mỗi khoảng lũy thừa 2. */
+    private static final int SUB_BITS = 4;
+
+    /** Số ô trong mỗi khoảng lũy thừa 2. */
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /** Tổng số ô (đủ cho mọi giá trị {@code long} không âm). */
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    /** Số lần ghi vào từng ô. */
+    private final long[] counts = new long[BUCKETS];
+
+    /** Số giá trị đã ghi. */
+    private long count;
+
+    /** Tổng các giá trị đã ghi. */
+    private long sum;
+
+    /** Giá trị lớn nhất đã ghi. */
+    private long max;
+
+    /**
+     * Ghi một giá trị (giá trị âm được tính là 0).
+     *
+     * @param value giá trị cần ghi
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        if (value > max) max = value;
+    }
+
+    /** @return số giá trị đã ghi */
+    public long getCount() { return count; }
+
+    /** @return giá trị lớn nhất đã ghi ({@code 0} nếu chưa có) */
+    public long getMax() { return max; }
+
+    /** @return trung bình các giá trị đã ghi ({@code 0} nếu chưa có) */
+    public double getMean() { return count == 0 ? 0 : (double) sum / count; }
+
+    /**
+     * Giá trị tại một phân vị (điểm giữa của ô chứa phân vị đó, không vượt quá {@link #getMax()}).
+     *
+     * @param quantile phân vị trong khoảng [0, 1], ví dụ {@code 0.99}
+     * @return giá trị xấp xỉ, hoặc {@code 0} nếu chưa có dữ liệu
+     */
+    public long getValueAt(double quantile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(max, midpoint(i));
+        }
+        return max;
+    }
+
+    /** Xóa mọi giá trị đã ghi. */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    /**
+     * @param value giá trị không âm
+     * @return chỉ số ô chứa giá trị
+     */
+    static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int top = (int) (value >>> (exponent - SUB_BITS)); // trong khoảng [16, 32)
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + (top - SUB_BUCKETS);
+    }
+
+    /**
+     * @param index chỉ số ô
+     * @return giá trị ở giữa ô
+     */
+    static long midpoint(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+}
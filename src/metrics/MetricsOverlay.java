@@ -0,0 +1,75 @@
+package metrics;
+
+import java.awt.*;
+
+/**
+ * Lớp {@code MetricsOverlay} vẽ bảng số đo (bật/tắt bằng F3) ở góc màn hình.
+ * <p>
+ * Các dòng chữ chỉ được định dạng lại khi {@link GameMetrics} công bố bản chốt mới
+ * (mỗi giây một lần), nên mỗi khung hình chỉ tốn vài lệnh {@code drawString}.
+ * </p>
+ */
+public class MetricsOverlay {
+
+    /** Phông chữ của bảng số đo. */
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    /** Màu nền bán trong suốt của bảng. */
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+
+    /** Khoảng cách giữa các dòng và lề (pixel). */
+    private static final int LINE_HEIGHT = 14, PADDING = 6;
+
+    /** Bản chốt đã được định dạng thành {@link #lines}. */
+    private MetricsSnapshot formatted;
+
+    /** Các dòng chữ của bản chốt hiện tại. */
+    private String[] lines = new String[0];
+
+    /** Chiều rộng bảng (pixel), tính lại khi định dạng. */
+    private int boxWidth = -1;
+
+    /**
+     * Vẽ bảng số đo.
+     *
+     * @param g        đối tượng {@link Graphics2D} để vẽ
+     * @param snapshot bản chốt cần hiển thị
+     * @param x        hoành độ góc trên bên trái
+     * @param y        tung độ góc trên bên trái
+     */
+    public void render(Graphics2D g, MetricsSnapshot snapshot, int x, int y) {
+        g.setFont(FONT);
+        FontMetrics fm = g.getFontMetrics();
+        if (snapshot != formatted) {
+            formatted = snapshot;
+            lines = format(snapshot);
+            boxWidth = -1;
+        }
+        if (boxWidth < 0) {
+            for (String line : lines) boxWidth = Math.max(boxWidth, fm.stringWidth(line));
+        }
+
+        g.setColor(BACKGROUND);
+        g.fillRect(x, y, boxWidth + 2 * PADDING, lines.length * LINE_HEIGHT + 2 * PADDING);
+        g.setColor(Color.GREEN);
+        int baseline = y + PADDING + fm.getAscent();
+        for (String line : lines) {
+            g.drawString(line, x + PADDING, baseline);
+            baseline += LINE_HEIGHT;
+        }
+    }
+
+    /** @return các dòng chữ mô tả một bản chốt */
+    private static String[] format(MetricsSnapshot s) {
+        return new String[]{
+                String.format("FPS %5.1f   TPS %5.1f   drop %d (%d)", s.fps, s.tps, s.droppedFrames, s.droppedFramesTotal),
+                String.format("update  p50 %7.1f  p99 %7.1f  max %7.1f us", s.updateP50, s.updateP99, s.updateMax),
+                String.format("render  p50 %7.1f  p99 %7.1f  max %7.1f us", s.renderP50, s.renderP99, s.renderMax),
+                String.format("frame   p50 %7.1f  p99 %7.1f  max %7.1f us", s.frameP50, s.frameP99, s.frameMax),
+                String.format("EDT     p50 %7.1f  p99 %7.1f  max %7.1f us", s.edtP50, s.edtP99, s.edtMax),
+                String.format("checks/tick p50 %d  p99 %d  max %d", s.collisionsP50, s.collisionsP99, s.collisionsMax),
+                String.format("bricks/tick p50 %d  p99 %d  max %d", s.bricksP50, s.bricksP99, s.bricksMax),
+                String.format("balls %d   power-ups %d", s.balls, s.powerUps)
+        };
+    }
+}
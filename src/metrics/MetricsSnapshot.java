@@ -0,0 +1,81 @@
+package metrics;
+
+/**
+ * Lớp {@code MetricsSnapshot} là số liệu đã chốt của một cửa sổ đo (mặc định 1 giây).
+ * <p>
+ * Bất biến: {@link GameMetrics} tạo một bản mới mỗi cửa sổ rồi công bố qua biến
+ * {@code volatile}, nên lớp phủ F3 và MBean đọc mà không cần khóa.
+ * Thời gian tính bằng micro giây.
+ * </p>
+ */
+public final class MetricsSnapshot {
+
+    /** Bản rỗng (trước cửa sổ đo đầu tiên). */
+    static final MetricsSnapshot EMPTY = new MetricsSnapshot();
+
+    /** Số khung hình và số bước mô phỏng mỗi giây. */
+    public final double fps, tps;
+
+    /** Thời gian {@code GameManager.update()} (µs): trung vị, p99, lớn nhất. */
+    public final double updateP50, updateP99, updateMax;
+
+    /** Thời gian {@code GameManager.render()} (µs): trung vị, p99, lớn nhất. */
+    public final double renderP50, renderP99, renderMax;
+
+    /** Khoảng cách giữa hai khung hình (µs): trung vị, p99, lớn nhất. */
+    public final double frameP50, frameP99, frameMax;
+
+    /** Độ trễ hàng đợi sự kiện của EDT (µs): trung vị, p99, lớn nhất. */
+    public final double edtP50, edtP99, edtMax;
+
+    /** Số phép kiểm tra va chạm mỗi bước: trung vị, p99, lớn nhất. */
+    public final long collisionsP50, collisionsP99, collisionsMax;
+
+    /** Số viên gạch được kiểm tra mỗi bước: trung vị, p99, lớn nhất. */
+    public final long bricksP50, bricksP99, bricksMax;
+
+    /** Số vật phẩm đang rơi và số bóng đang bay (ở bước cuối của cửa sổ). */
+    public final int powerUps, balls;
+
+    /** Số khung hình bị rớt trong cửa sổ và tổng từ đầu. */
+    public final long droppedFrames, droppedFramesTotal;
+
+    private MetricsSnapshot() {
+        this(0, 0, new Histogram(), new Histogram(), new Histogram(), new Histogram(),
+                new Histogram(), new Histogram(), 0, 0, 0, 0);
+    }
+
+    MetricsSnapshot(double fps, double tps, Histogram update, Histogram render, Histogram frame,
+                    Histogram edt, Histogram collisions, Histogram bricks,
+                    int powerUps, int balls, long droppedFrames, long droppedFramesTotal) {
+        this.fps = fps;
+        this.tps = tps;
+        this.updateP50 = micros(update.getValueAt(0.5));
+        this.updateP99 = micros(update.getValueAt(0.99));
+        this.updateMax = micros(update.getMax());
+        this.renderP50 = micros(render.getValueAt(0.5));
+        this.renderP99 = micros(render.getValueAt(0.99));
+        this.renderMax = micros(render.getMax());
+        this.frameP50 = micros(frame.getValueAt(0.5));
+        this.frameP99 = micros(frame.getValueAt(0.99));
+        this.frameMax = micros(frame.getMax());
+        this.edtP50 = micros(edt.getValueAt(0.5));
+        this.edtP99 = micros(edt.getValueAt(0.99));
+        this.edtMax = micros(edt.getMax());
+        this.collisionsP50 = collisions.getValueAt(0.5);
+        this.collisionsP99 = collisions.getValueAt(0.99);
+        this.collisionsMax = collisions.getMax();
+        this.bricksP50 = bricks.getValueAt(0.5);
+        this.bricksP99 = bricks.getValueAt(0.99);
+        this.bricksMax = bricks.getMax();
+        this.powerUps = powerUps;
+        this.balls = balls;
+        this.droppedFrames = droppedFrames;
+        this.droppedFramesTotal = droppedFramesTotal;
+    }
+
+    /** @return giá trị ns đổi sang µs */
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
@@ -0,0 +1,114 @@
+package replay;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Lớp {@code ReplayFormat} mô tả định dạng nhị phân của file replay ({@code .rpl}).
+ * <p>
+ * File replay chỉ lưu những gì cần để mô phỏng lại ván chơi: seed của phiên chơi,
+ * trạng thái bắt đầu, và chuỗi phím nhấn/nhả kèm số bước (tick) mô phỏng.
+ * Mọi số nguyên được ghi dạng varint (7 bit mỗi byte) và thời điểm được ghi dạng
+ * khoảng cách (delta) so với bản ghi trước, nên một ván chơi vài phút chỉ tốn vài KB.
+ * </p>
+ *
+ * <pre>
+ * Header : "ARKR" | version | width | height | tickRate | seed (8 byte) | level | totalScore
+ *          | chaosBalls | blastFuseTicks | checkpointInterval
+ * Bản ghi: varint((deltaTick &lt;&lt; 2) | type) + dữ liệu
+ *   KEY_PRESS / KEY_RELEASE : varint(keyCode)
+ *   CHECKPOINT              : hash trạng thái cộng dồn (4 byte)
+ *   END                     : hash (4 byte) | varint(totalScore) | varint(score)
+ * </pre>
+ *
+ * @see ReplayRecorder
+ * @see ReplayPlayer
+ */
+final class ReplayFormat {
+
+    /** Chữ ký đầu file. */
+    static final byte[] MAGIC = {'A', 'R', 'K', 'R'};
+
+    /**
+     * Phiên bản định dạng (2: thêm số bóng chế độ chaos, mô phỏng multi-ball; 3: kho gạch {@code BrickField};
+     * 4: đồng hồ mô phỏng dừng khi tạm dừng, hiệu ứng hết hạn theo bánh xe hẹn giờ;
+     * 5: thanh đỡ và vật phẩm di chuyển theo thời lượng bước, không theo số bước;
+     * 6: thêm ngòi nổ của chuỗi nổ dây chuyền; 7: bố cục mỗi màn dựng từ seed riêng rút từ bộ sinh của phiên;
+     * 8: chuyển màn bằng hẹn giờ trên đồng hồ mô phỏng, đúng {@code LEVEL_DELAY_MS} thay vì một bước sau đó).
+     */
+    static final int VERSION = 8;
+
+    // Loại bản ghi (2 bit thấp của phần đầu bản ghi)
+    static final int KEY_PRESS = 0;
+    static final int KEY_RELEASE = 1;
+    static final int CHECKPOINT = 2;
+    static final int END = 3;
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * Gộp hash trạng thái của một tick vào hash cộng dồn.
+     *
+     * @param rolling   hash cộng dồn hiện tại
+     * @param stateHash hash trạng thái của tick vừa chạy
+     * @return hash cộng dồn mới
+     */
+    static int fold(int rolling, int stateHash) {
+        int h = (rolling ^ stateHash) * 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+
+    /** Ghi số nguyên không âm dạng varint. */
+    static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /** Đọc số nguyên dạng varint. */
+    static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("replay bị cắt cụt");
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("varint không hợp lệ");
+    }
+
+    /** Ghi số nguyên 32 bit (big-endian). */
+    static void writeInt(OutputStream out, int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    /** Đọc số nguyên 32 bit (big-endian). */
+    static int readInt(InputStream in) throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("replay bị cắt cụt");
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+
+    /** Ghi số nguyên 64 bit (big-endian). */
+    static void writeLong(OutputStream out, long value) throws IOException {
+        writeInt(out, (int) (value >>> 32));
+        writeInt(out, (int) value);
+    }
+
+    /** Đọc số nguyên 64 bit (big-endian). */
+    static long readLong(InputStream in) throws IOException {
+        return ((long) readInt(in) << 32) | (readInt(in) & 0xFFFFFFFFL);
+    }
+}
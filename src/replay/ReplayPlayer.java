@@ -0,0 +1,173 @@
+package replay;
+
+import Game.GameManager;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static replay.ReplayFormat.*;
+
+/**
+ * Lớp {@code ReplayPlayer} mô phỏng lại một file replay ở tốc độ tối đa (headless).
+ * <p>
+ * Một {@link GameManager} headless được khởi tạo với đúng seed và trạng thái bắt đầu,
+ * rồi nhận lại chuỗi phím ở đúng tick đã ghi. Sau mỗi tick, hash trạng thái được cộng dồn
+ * và so với các mốc kiểm tra trong file; mốc đầu tiên không khớp cho biết mô phỏng bị lệch
+ * trong khoảng tick nào. Điểm số cuối cũng được so với điểm đã ghi.
+ * </p>
+ *
+ * <pre>
+ * java -cp out:Resources replay.ReplayPlayer replays/arkanoid-20261018-101500.rpl
+ * </pre>
+ */
+public class ReplayPlayer {
+
+    /**
+     * Kết quả mô phỏng lại.
+     */
+    public static final class Result {
+        /** Số tick đã mô phỏng. */
+        public long ticks;
+        /** Số mốc kiểm tra hash đã so khớp. */
+        public int checkpoints;
+        /** Tick của mốc kiểm tra bị lệch đầu tiên ({@code -1} nếu không lệch). */
+        public long divergedAtTick = -1;
+        /** Tick của mốc kiểm tra khớp cuối cùng trước khi lệch. */
+        public long lastGoodTick;
+        /** Điểm đã ghi trong file và điểm mô phỏng lại. */
+        public int recordedTotalScore, recordedScore, totalScore, score;
+        /** File có bản ghi kết thúc (không bị cắt cụt). */
+        public boolean complete;
+
+        /** @return {@code true} nếu mọi mốc khớp và điểm số trùng khớp */
+        public boolean isVerified() {
+            return complete && divergedAtTick < 0
+                    && totalScore == recordedTotalScore && score == recordedScore;
+        }
+
+        @Override
+        public String toString() {
+            if (divergedAtTick >= 0) {
+                return "❌ Lệch mô phỏng trong khoảng tick (" + lastGoodTick + ", " + divergedAtTick + "]";
+            }
+            return (isVerified() ? "✅ Khớp" : "⚠️ Không kiểm chứng được")
+                    + " | ticks = " + ticks + " | checkpoints = " + checkpoints
+                    + " | totalScore = " + totalScore + " (ghi: " + recordedTotalScore + ")"
+                    + " | score = " + score + " (ghi: " + recordedScore + ")";
+        }
+    }
+
+    private ReplayPlayer() {
+    }
+
+    /**
+     * Mô phỏng lại replay từ file.
+     *
+     * @param file đường dẫn file replay
+     * @return kết quả kiểm chứng
+     * @throws IOException nếu lỗi đọc hoặc sai định dạng
+     */
+    public static Result play(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return play(in);
+        }
+    }
+
+    /**
+     * Mô phỏng lại replay từ luồng dữ liệu.
+     *
+     * @param in luồng dữ liệu replay
+     * @return kết quả kiểm chứng
+     * @throws IOException nếu lỗi đọc hoặc sai định dạng
+     */
+    public static Result play(InputStream in) throws IOException {
+        byte[] magic = in.readNBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC)) throw new IOException("không phải file replay");
+        int version = (int) readVarint(in);
+        if (version != VERSION) throw new IOException("phiên bản replay không hỗ trợ: " + version);
+
+        int width = (int) readVarint(in);
+        int height = (int) readVarint(in);
+        int tickRate = (int) readVarint(in);
+        long seed = readLong(in);
+        int level = (int) readVarint(in);
+        int totalScore = (int) readVarint(in);
+        int chaosBalls = (int) readVarint(in);
+        int blastFuseTicks = (int) readVarint(in);
+        readVarint(in); // checkpointInterval — các mốc đã nằm sẵn trong luồng bản ghi
+
+        GameManager game = new GameManager(width, height, true);
+        game.setTickRate(tickRate);
+        game.setChaosBalls(chaosBalls);
+        game.setBlastFuseTicks(blastFuseTicks);
+        game.startDeterministic(seed, level, totalScore);
+
+        Result result = new Result();
+        int rolling = 0;
+
+        while (true) {
+            int first = in.read();
+            if (first < 0) break; // File bị cắt cụt (ván chơi chưa kết thúc đúng cách)
+            long header = first < 0x80 ? first : (readVarint(in) << 7) | (first & 0x7F);
+            int type = (int) (header & 3);
+            long delta = header >>> 2;
+
+            for (long i = 0; i < delta; i++) {
+                game.update();
+                rolling = fold(rolling, game.stateHash());
+                result.ticks++;
+            }
+
+            switch (type) {
+                case KEY_PRESS -> game.onKeyPressed((int) readVarint(in));
+                case KEY_RELEASE -> game.onKeyReleased((int) readVarint(in));
+                case CHECKPOINT -> {
+                    if (readInt(in) != rolling) {
+                        result.divergedAtTick = result.ticks;
+                        return finish(result, game);
+                    }
+                    result.checkpoints++;
+                    result.lastGoodTick = result.ticks;
+                }
+                case END -> {
+                    if (readInt(in) != rolling) result.divergedAtTick = result.ticks;
+                    result.recordedTotalScore = (int) readVarint(in);
+                    result.recordedScore = (int) readVarint(in);
+                    result.complete = true;
+                    return finish(result, game);
+                }
+            }
+        }
+        return finish(result, game);
+    }
+
+    /** Điền điểm số mô phỏng lại vào kết quả. */
+    private static Result finish(Result result, GameManager game) {
+        result.totalScore = game.getTotalScore();
+        result.score = game.getScore();
+        return result;
+    }
+
+    /**
+     * Mô phỏng lại các file replay được truyền vào và in kết quả.
+     *
+     * @param args đường dẫn các file replay
+     * @throws IOException nếu lỗi đọc file
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Cách dùng: java replay.ReplayPlayer <file.rpl>...");
+            return;
+        }
+        for (String arg : args) {
+            long start = System.nanoTime();
+            Result result = play(Path.of(arg));
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("▶ " + arg + " → " + result + " (" + ms + " ms)");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static replay.ReplayFormat.*;
+
+/**
+ * Lớp {@code ReplayRecorder} ghi lại một ván chơi ở định dạng {@link ReplayFormat}.
+ * <p>
+ * {@code GameManager} gọi {@link #recordKey} mỗi khi nhận phím và {@link #recordTick}
+ * sau mỗi bước mô phỏng. Dữ liệu được ghi vào bộ nhớ (vài byte mỗi sự kiện), nên
+ * việc ghi không bao giờ chạm tới ổ đĩa bên trong {@code update()}; file chỉ được
+ * lưu khi ván chơi kết thúc ({@link #save(Path)}).
+ * </p>
+ * <p>
+ * Mỗi {@link #getCheckpointInterval()} tick, hash trạng thái cộng dồn được ghi kèm
+ * để {@link ReplayPlayer} phát hiện ngay khi mô phỏng lại bị lệch.
+ * </p>
+ */
+public class ReplayRecorder {
+
+    /** Khoảng cách (tick) mặc định giữa hai mốc kiểm tra hash (1 giây ở 60 tick/s). */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 60;
+
+    /** Dữ liệu replay đã ghi. */
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+
+    /** Khoảng cách giữa hai mốc kiểm tra hash. */
+    private final int checkpointInterval;
+
+    /** Số tick đã ghi. */
+    private long tick;
+
+    /** Tick của bản ghi gần nhất (để ghi delta). */
+    private long lastRecordTick;
+
+    /** Hash trạng thái cộng dồn. */
+    private int rollingHash;
+
+    /** Đã ghi header chưa / đã kết thúc chưa. */
+    private boolean begun, finished;
+
+    /** Khởi tạo với khoảng kiểm tra hash mặc định. */
+    public ReplayRecorder() {
+        this(DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * @param checkpointInterval số tick giữa hai mốc kiểm tra hash ({@code 1} = mỗi tick)
+     */
+    public ReplayRecorder(int checkpointInterval) {
+        this.checkpointInterval = Math.max(1, checkpointInterval);
+    }
+
+    /**
+     * Ghi header: trạng thái bắt đầu của ván chơi.
+     *
+     * @param width      chiều rộng khu vực chơi
+     * @param height     chiều cao khu vực chơi
+     * @param tickRate   số tick mỗi giây
+     * @param seed       seed của phiên chơi
+     * @param level      màn bắt đầu
+     * @param totalScore tổng điểm lúc bắt đầu
+     * @param chaosBalls số bóng thêm mỗi màn (chế độ chaos)
+     * @param blastFuseTicks ngòi nổ (số bước) giữa hai mắt xích của chuỗi nổ
+     */
+    public void begin(int width, int height, int tickRate, long seed, int level, int totalScore,
+                      int chaosBalls, int blastFuseTicks) {
+        if (begun) throw new IllegalStateException("replay đã bắt đầu");
+        begun = true;
+        try {
+            buffer.write(MAGIC);
+            writeVarint(buffer, VERSION);
+            writeVarint(buffer, width);
+            writeVarint(buffer, height);
+            writeVarint(buffer, tickRate);
+            writeLong(buffer, seed);
+            writeVarint(buffer, level);
+            writeVarint(buffer, totalScore);
+            writeVarint(buffer, chaosBalls);
+            writeVarint(buffer, blastFuseTicks);
+            writeVarint(buffer, checkpointInterval);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // ByteArrayOutputStream không ném lỗi
+        }
+    }
+
+    /**
+     * Ghi một sự kiện phím tại tick hiện tại.
+     *
+     * @param key     mã phím
+     * @param pressed {@code true} = nhấn, {@code false} = nhả
+     */
+    public void recordKey(int key, boolean pressed) {
+        if (!begun || finished) return;
+        writeRecord(pressed ? KEY_PRESS : KEY_RELEASE);
+        writeVarintUnchecked(key);
+    }
+
+    /**
+     * Ghi nhận một bước mô phỏng vừa chạy xong.
+     *
+     * @param stateHash hash trạng thái sau bước này
+     */
+    public void recordTick(int stateHash) {
+        if (!begun || finished) return;
+        tick++;
+        rollingHash = fold(rollingHash, stateHash);
+        if (tick % checkpointInterval == 0) {
+            writeRecord(CHECKPOINT);
+            writeIntUnchecked(rollingHash);
+        }
+    }
+
+    /**
+     * Kết thúc bản ghi, kèm điểm số cuối để kiểm chứng.
+     *
+     * @param totalScore tổng điểm cuối
+     * @param score      điểm màn hiện tại
+     */
+    public void finish(int totalScore, int score) {
+        if (!begun || finished) return;
+        writeRecord(END);
+        writeIntUnchecked(rollingHash);
+        writeVarintUnchecked(totalScore);
+        writeVarintUnchecked(score);
+        finished = true;
+    }
+
+    /** @return {@code true} nếu đã gọi {@link #finish} */
+    public boolean isFinished() { return finished; }
+
+    /** @return số tick đã ghi */
+    public long getTickCount() { return tick; }
+
+    /** @return số tick giữa hai mốc kiểm tra hash */
+    public int getCheckpointInterval() { return checkpointInterval; }
+
+    /** @return dữ liệu replay (đầy đủ sau khi {@link #finish}) */
+    public byte[] toByteArray() { return buffer.toByteArray(); }
+
+    /**
+     * Ghi dữ liệu replay ra luồng.
+     *
+     * @param out luồng đích
+     * @throws IOException nếu lỗi ghi
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        buffer.writeTo(out);
+    }
+
+    /**
+     * Lưu replay ra file (tạo thư mục cha nếu cần).
+     *
+     * @param file đường dẫn file
+     * @throws IOException nếu lỗi ghi
+     */
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            writeTo(out);
+        }
+    }
+
+    /** Ghi phần đầu bản ghi: delta tick và loại. */
+    private void writeRecord(int type) {
+        long delta = tick - lastRecordTick;
+        lastRecordTick = tick;
+        writeVarintUnchecked((delta << 2) | type);
+    }
+
+    private void writeVarintUnchecked(long value) {
+        try {
+            writeVarint(buffer, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeIntUnchecked(int value) {
+        try {
+            writeInt(buffer, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
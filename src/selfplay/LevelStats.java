@@ -0,0 +1,86 @@
+package selfplay;
+
+import metrics.Histogram;
+
+/**
+ * Lớp {@code LevelStats} cộng dồn kết quả các phiên tự chơi của một màn.
+ * <p>
+ * Số bước để phá màn và điểm được ghi vào {@link Histogram} (phân vị xấp xỉ, sai số tương đối
+ * vài phần trăm). Không an toàn luồng: {@link SelfPlay} cộng dồn trên một luồng, sau khi
+ * các phiên song song đã xong, theo thứ tự seed — nên báo cáo tái lập được.
+ * </p>
+ */
+public class LevelStats {
+
+    /** Màn chơi. */
+    private final int level;
+
+    /** Số phiên, số lần phá màn và số phiên hết giờ (chưa thắng, chưa thua). */
+    private int games, clears, timeouts;
+
+    /** Tổng số mạng bị mất và tổng số bước đã chạy. */
+    private long livesLost, ticks;
+
+    /** Số bước để phá màn (chỉ các phiên thắng) và điểm của mọi phiên. */
+    private final Histogram ticksToClear = new Histogram(), scores = new Histogram();
+
+    /**
+     * @param level màn chơi
+     */
+    public LevelStats(int level) {
+        this.level = level;
+    }
+
+    /**
+     * Cộng một phiên vào thống kê.
+     *
+     * @param result kết quả phiên tự chơi của màn này
+     */
+    public void add(SelfPlay.GameResult result) {
+        games++;
+        ticks += result.ticks;
+        livesLost += result.livesLost;
+        scores.record(result.score);
+        if (result.cleared) {
+            clears++;
+            ticksToClear.record(result.ticks);
+        } else if (!result.gameOver) {
+            timeouts++;
+        }
+    }
+
+    /** @return màn chơi */
+    public int getLevel() { return level; }
+
+    /** @return số phiên */
+    public int getGames() { return games; }
+
+    /** @return tỉ lệ phá màn ({@code 0..1}) */
+    public double getClearRate() { return games == 0 ? 0 : (double) clears / games; }
+
+    /** @return số phiên hết giờ */
+    public int getTimeouts() { return timeouts; }
+
+    /** @return số mạng mất trung bình mỗi phiên */
+    public double getMeanLivesLost() { return games == 0 ? 0 : (double) livesLost / games; }
+
+    /** @return tổng số bước mô phỏng đã chạy */
+    public long getTicks() { return ticks; }
+
+    /** @return phân bố số bước để phá màn */
+    public Histogram getTicksToClear() { return ticksToClear; }
+
+    /** @return phân bố điểm */
+    public Histogram getScores() { return scores; }
+
+    @Override
+    public String toString() {
+        return String.format("Level %d | games %d | clear %5.1f%% | timeouts %d | lives lost %.2f"
+                        + " | ticks to clear p50 %d p90 %d max %d"
+                        + " | score mean %.0f p10 %d p50 %d p90 %d max %d",
+                level, games, 100 * getClearRate(), timeouts, getMeanLivesLost(),
+                ticksToClear.getValueAt(0.5), ticksToClear.getValueAt(0.9), ticksToClear.getMax(),
+                scores.getMean(), scores.getValueAt(0.1), scores.getValueAt(0.5),
+                scores.getValueAt(0.9), scores.getMax());
+    }
+}
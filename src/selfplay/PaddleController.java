@@ -0,0 +1,42 @@
+package selfplay;
+
+import Game.GameManager;
+
+/**
+ * Giao diện {@code PaddleController} điều khiển thanh đỡ trong một phiên tự chơi.
+ * <p>
+ * Trước mỗi bước mô phỏng, {@link SelfPlay} hỏi bộ điều khiển hướng di chuyển mong muốn rồi
+ * chuyển thành phím trái/phải cho {@link GameManager} — giống hệt người chơi thật, nên phiên
+ * tự chơi đi qua đúng đường xử lý phím và vật lý của trò chơi.
+ * </p>
+ * <p>
+ * Mỗi phiên có bộ điều khiển riêng (có thể giữ trạng thái); bộ điều khiển chỉ đọc phiên của
+ * nó và không dùng trạng thái tĩnh, nên các phiên chạy song song độc lập với nhau.
+ * </p>
+ */
+public interface PaddleController {
+
+    /**
+     * Quyết định hướng di chuyển của thanh đỡ cho bước kế tiếp.
+     *
+     * @param game phiên chơi (chỉ đọc)
+     * @return {@code -1} sang trái, {@code 1} sang phải, {@code 0} đứng yên
+     */
+    int steer(GameManager game);
+
+    /**
+     * Tạo bộ điều khiển theo tên.
+     *
+     * @param name {@code "tracking"} (bám bóng) hoặc {@code "random"} (bấm phím ngẫu nhiên)
+     * @param seed seed của bộ điều khiển (thường là seed của phiên chơi)
+     * @return bộ điều khiển mới
+     * @throws IllegalArgumentException nếu tên không hợp lệ
+     */
+    static PaddleController create(String name, long seed) {
+        return switch (name) {
+            case "tracking" -> new TrackingController(seed);
+            case "random" -> new RandomController(seed);
+            default -> throw new IllegalArgumentException("bộ điều khiển không hợp lệ: " + name);
+        };
+    }
+}
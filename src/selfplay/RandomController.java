@@ -0,0 +1,40 @@
+package selfplay;
+
+import Game.GameManager;
+
+import java.util.Random;
+
+/**
+ * Bộ điều khiển "bấm phím ngẫu nhiên": cứ vài bước lại chọn ngẫu nhiên trái, phải hoặc đứng yên.
+ * <p>
+ * Hầu như không bao giờ thắng, nhưng quét được nhiều trạng thái vật lý khác nhau (bóng chạm
+ * mép thanh đỡ, thanh đỡ chạm tường...) — hữu ích để soát lỗi vật lý hơn là cân bằng màn.
+ * </p>
+ */
+public class RandomController implements PaddleController {
+
+    /** Số bước giữ nguyên một hướng trước khi chọn lại. */
+    private static final int HOLD_TICKS = 23;
+
+    /** Bộ sinh số ngẫu nhiên riêng của bộ điều khiển. */
+    private final Random random;
+
+    /** Hướng hiện tại và số bước còn giữ hướng đó. */
+    private int direction, hold;
+
+    /**
+     * @param seed seed của bộ điều khiển
+     */
+    public RandomController(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public int steer(GameManager game) {
+        if (hold-- <= 0) {
+            direction = random.nextInt(3) - 1;
+            hold = HOLD_TICKS;
+        }
+        return direction;
+    }
+}
@@ -0,0 +1,175 @@
+package selfplay;
+
+import Game.GameManager;
+import entity.BrickFactory;
+
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Lớp {@code SelfPlay} chạy hàng nghìn ván tự chơi headless song song trên mọi nhân CPU,
+ * để đánh giá độ cân bằng của các màn và bắt lỗi hồi quy vật lý.
+ * <p>
+ * Mỗi ván là một {@link GameManager} headless độc lập với seed riêng và
+ * {@link PaddleController} riêng, bắt đầu ở một màn của {@code BrickFactory} và chạy đến khi
+ * phá màn, hết mạng hoặc hết số bước cho phép. Các ván được chạy trên một
+ * {@link ForkJoinPool}; chúng không chia sẻ trạng thái có thể thay đổi nào (headless không
+ * phát âm thanh, không mở bảng xếp hạng hay tiến độ, không in nhật ký), nên tốc độ tăng gần
+ * tuyến tính theo số nhân.
+ * </p>
+ * <p>
+ * Kết quả được cộng dồn theo màn ({@link LevelStats}): tỉ lệ phá màn, số mạng mất,
+ * số bước để phá màn và phân bố điểm. Seed của mỗi ván chỉ phụ thuộc seed gốc, màn và số thứ
+ * tự ván, nên cùng tham số luôn cho cùng báo cáo, bất kể số luồng.
+ * </p>
+ *
+ * <pre>
+ * java -cp out:Resources selfplay.SelfPlay [ván/màn=200] [luồng=số nhân] [tracking|random] [số bước tối đa=36000] [seed=1]
+ * </pre>
+ */
+public class SelfPlay {
+
+    /** Kích thước khu vực chơi (giống cửa sổ game). */
+    private static final int WIDTH = 800, HEIGHT = 600;
+
+    /** Số màn của {@code BrickFactory} (kể cả màn thêm từ file). */
+    public static final int LEVEL_COUNT = BrickFactory.LEVEL_COUNT;
+
+    /**
+     * Kết quả một ván tự chơi.
+     */
+    public static final class GameResult {
+        /** Màn chơi và seed của ván. */
+        public int level;
+        public long seed;
+        /** Ván kết thúc vì phá màn / vì hết mạng (cả hai sai = hết số bước). */
+        public boolean cleared, gameOver;
+        /** Số mạng bị mất. */
+        public int livesLost;
+        /** Số bước mô phỏng đã chạy. */
+        public long ticks;
+        /** Điểm của màn. */
+        public int score;
+    }
+
+    /**
+     * Chơi một ván headless.
+     *
+     * @param level      màn chơi
+     * @param seed       seed của ván
+     * @param controller bộ điều khiển thanh đỡ của ván
+     * @param maxTicks   số bước tối đa
+     * @return kết quả ván
+     */
+    public static GameResult play(int level, long seed, PaddleController controller, long maxTicks) {
+        GameManager game = new GameManager(WIDTH, HEIGHT, true);
+        game.startDeterministic(seed, level, 0);
+        int startLives = game.getLives();
+
+        int direction = 0;
+        long ticks = 0;
+        while (ticks < maxTicks && !game.isLevelComplete() && !game.isGameOver()) {
+            int wanted = Integer.signum(controller.steer(game));
+            if (wanted != direction) {
+                // Chuyển hướng thành phím, như người chơi thật
+                if (direction != 0) game.onKeyReleased(direction < 0 ? KeyEvent.VK_LEFT : KeyEvent.VK_RIGHT);
+                if (wanted != 0) game.onKeyPressed(wanted < 0 ? KeyEvent.VK_LEFT : KeyEvent.VK_RIGHT);
+                direction = wanted;
+            }
+            game.update();
+            ticks++;
+        }
+
+        GameResult result = new GameResult();
+        result.level = level;
+        result.seed = seed;
+        result.cleared = game.isLevelComplete();
+        result.gameOver = game.isGameOver();
+        result.livesLost = startLives - Math.max(0, game.getLives());
+        result.ticks = ticks;
+        result.score = game.getScore();
+        return result;
+    }
+
+    /**
+     * Chạy {@code gamesPerLevel} ván cho mỗi màn trên {@code threads} luồng.
+     *
+     * @param gamesPerLevel số ván mỗi màn
+     * @param threads       số luồng của {@link ForkJoinPool}
+     * @param controller    tên bộ điều khiển ({@link PaddleController#create})
+     * @param maxTicks      số bước tối đa mỗi ván
+     * @param baseSeed      seed gốc
+     * @return thống kê theo màn (phần tử {@code i} là màn {@code i + 1})
+     */
+    public static LevelStats[] run(int gamesPerLevel, int threads, String controller,
+                                   long maxTicks, long baseSeed) {
+        PaddleController.create(controller, 0); // Kiểm tra tên trước khi chạy
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<ForkJoinTask<GameResult>> tasks = new ArrayList<>(gamesPerLevel * LEVEL_COUNT);
+            for (int level = 1; level <= LEVEL_COUNT; level++) {
+                for (int i = 0; i < gamesPerLevel; i++) {
+                    int lvl = level;
+                    long seed = seedOf(baseSeed, level, i);
+                    tasks.add(pool.submit(() -> play(lvl, seed, PaddleController.create(controller, seed), maxTicks)));
+                }
+            }
+
+            LevelStats[] stats = new LevelStats[LEVEL_COUNT];
+            for (int level = 1; level <= LEVEL_COUNT; level++) stats[level - 1] = new LevelStats(level);
+            for (ForkJoinTask<GameResult> task : tasks) {
+                GameResult result = task.join();
+                stats[result.level - 1].add(result);
+            }
+            return stats;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Seed của một ván, chỉ phụ thuộc seed gốc, màn và số thứ tự (trộn kiểu SplitMix64).
+     */
+    static long seedOf(long baseSeed, int level, int index) {
+        long z = baseSeed + 0x9E3779B97F4A7C15L * ((long) level << 32 | index);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Chạy tự chơi và in báo cáo theo màn.
+     *
+     * @param args [ván/màn] [luồng] [bộ điều khiển] [số bước tối đa] [seed]
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && (args[0].equals("-h") || args[0].equals("--help"))) {
+            System.out.println("Cách dùng: java selfplay.SelfPlay [ván/màn=200] [luồng=số nhân]"
+                    + " [tracking|random] [số bước tối đa=36000] [seed=1]");
+            return;
+        }
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String controller = args.length > 2 ? args[2] : "tracking";
+        long maxTicks = args.length > 3 ? Long.parseLong(args[3]) : 36_000;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+
+        System.out.println("▶ Tự chơi: " + games + " ván/màn × " + LEVEL_COUNT + " màn | " + threads
+                + " luồng | " + controller + " | tối đa " + maxTicks + " bước | seed " + seed);
+        long start = System.nanoTime();
+        LevelStats[] stats = run(games, threads, controller, maxTicks, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long ticks = 0;
+        for (LevelStats level : stats) {
+            System.out.println(level);
+            ticks += level.getTicks();
+        }
+        System.out.printf("⏱ %.1f s | %.0f ván/s | %.0f bước/s%n",
+                seconds, games * LEVEL_COUNT / seconds, ticks / seconds);
+    }
+}
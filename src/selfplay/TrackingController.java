@@ -0,0 +1,72 @@
+package selfplay;
+
+import Game.GameManager;
+import entity.BallPool;
+import entity.Paddle;
+
+import java.util.Random;
+
+/**
+ * Bộ điều khiển "bám bóng": đưa tâm thanh đỡ tới dưới quả bóng đang rơi thấp nhất.
+ * <p>
+ * Điểm đỡ lệch khỏi tâm một khoảng ngẫu nhiên (đổi mỗi khi bóng bật khỏi thanh đỡ), để bóng
+ * nảy theo nhiều góc khác nhau thay vì lặp lại một quỹ đạo. Khi không có bóng nào đang rơi,
+ * thanh đỡ quay về giữa màn.
+ * </p>
+ */
+public class TrackingController implements PaddleController {
+
+    /** Sai lệch cho phép giữa tâm thanh đỡ và điểm đích (pixel) trước khi di chuyển. */
+    private static final int DEADZONE = 6;
+
+    /** Bộ sinh số ngẫu nhiên riêng của bộ điều khiển. */
+    private final Random random;
+
+    /** Độ lệch điểm đỡ so với tâm thanh đỡ, theo tỉ lệ nửa chiều rộng ({@code -1..1}). */
+    private double aim;
+
+    /** Quả bóng được bám ở bước trước đang bay lên (vừa bật khỏi thanh đỡ). */
+    private boolean rising;
+
+    /**
+     * @param seed seed của bộ điều khiển
+     */
+    public TrackingController(long seed) {
+        this.random = new Random(seed);
+        this.aim = nextAim();
+    }
+
+    @Override
+    public int steer(GameManager game) {
+        Paddle paddle = game.getPaddle();
+        BallPool balls = game.getBalls();
+
+        // Quả bóng đang rơi và ở thấp nhất (gần thanh đỡ nhất)
+        int target = -1;
+        for (int i = 0; i < balls.size(); i++) {
+            if (balls.getDy(i) <= 0) continue;
+            if (target < 0 || balls.getY(i) > balls.getY(target)) target = i;
+        }
+
+        int goal;
+        if (target < 0) {
+            if (!rising) aim = nextAim(); // Bóng vừa bật lên: chọn điểm đỡ mới cho lần sau
+            rising = true;
+            goal = game.getWidth() / 2;
+        } else {
+            rising = false;
+            goal = balls.getX(target) + balls.getBallSize() / 2
+                    - (int) Math.round(aim * paddle.getWidth() / 2);
+        }
+
+        int center = paddle.getX() + paddle.getWidth() / 2;
+        if (goal < center - DEADZONE) return -1;
+        if (goal > center + DEADZONE) return 1;
+        return 0;
+    }
+
+    /** @return độ lệch điểm đỡ mới, trong khoảng {@code -0.8..0.8} */
+    private double nextAim() {
+        return (random.nextDouble() * 2 - 1) * 0.8;
+    }
+}
@@ -0,0 +1,327 @@
+package sound;
+
+import javax.sound.sampled.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Arrays;
+
+/**
+ * Lớp {@code AudioMixer} là bộ trộn âm phần mềm dùng một {@link SourceDataLine} duy nhất.
+ * <p>
+ * Thay vì mỗi hiệu ứng một {@link Clip} (phát lại thì phải dừng, tua, rồi chạy lại,
+ * và các tiếng liên tiếp như nổ dây chuyền cắt ngang nhau), bộ trộn hoạt động như sau:
+ * <ul>
+ * <li>Toàn bộ âm thanh được giải mã sẵn vào bộ nhớ thành PCM 16-bit stereo cùng một tần số
+ *     lấy mẫu ({@link #SAMPLE_RATE}), chuyển đổi tần số một lần khi tải.</li>
+ * <li>Một luồng âm thanh riêng trộn các "giọng" (voice) đang phát theo từng khối nhỏ
+ *     ({@link #PERIOD_FRAMES} khung) rồi ghi vào line; việc ghi bị chặn khi bộ đệm của line đầy,
+ *     nên chính line điều nhịp cho luồng trộn.</li>
+ * <li>Số giọng cố định ({@link #MAX_VOICES}); cùng một âm có thể phát chồng nhiều lần.
+ *     Khi hết giọng, giọng không lặp phát lâu nhất bị "cướp" (voice stealing).</li>
+ * <li>Luồng game chỉ đẩy lệnh vào {@link CommandQueue} không khóa, không bao giờ bị chặn.</li>
+ * </ul>
+ * Bộ đệm của line được giữ nhỏ (vài khối) để độ trễ từ lúc gửi lệnh đến lúc nghe thấy
+ * dưới khoảng 10ms (tùy thiết bị có chấp nhận kích thước đó không).
+ * </p>
+ *
+ * @see Sound
+ */
+class AudioMixer implements Runnable {
+
+    /** Tần số lấy mẫu của bộ trộn. */
+    static final float SAMPLE_RATE = 44100f;
+
+    /** Số kênh (stereo). */
+    static final int CHANNELS = 2;
+
+    /** Số khung mỗi lần trộn (~2.9ms ở 44.1kHz). */
+    static final int PERIOD_FRAMES = 128;
+
+    /** Số khối trộn chứa trong bộ đệm của line. */
+    static final int LINE_PERIODS = 3;
+
+    /** Số giọng phát đồng thời tối đa. */
+    static final int MAX_VOICES = 16;
+
+    /** Định dạng đầu ra: PCM 16-bit có dấu, little-endian, stereo. */
+    static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false);
+
+    // Mã lệnh (8 bit cao của lệnh)
+    private static final int CMD_PLAY = 1;
+    private static final int CMD_LOOP = 2;
+    private static final int CMD_STOP = 3;
+    private static final int CMD_VOLUME = 4;
+
+    /** Dữ liệu PCM (stereo xen kẽ) của từng âm, theo chỉ số âm. */
+    private final short[][] samples;
+
+    /** Âm lượng của từng âm (chỉ luồng trộn đọc/ghi). */
+    private final float[] volumes;
+
+    /** Hàng đợi lệnh từ các luồng khác. */
+    private final CommandQueue commands = new CommandQueue(256);
+
+    /** Line đầu ra. */
+    private final SourceDataLine line;
+
+    /** Luồng trộn âm. */
+    private final Thread thread;
+
+    /** Cờ cho luồng trộn chạy tiếp; {@link #close()} tắt cờ để luồng thoát vòng lặp. */
+    private volatile boolean running = true;
+
+    // Trạng thái các giọng (mảng song song, chỉ luồng trộn dùng)
+    private final int[] voiceSound = new int[MAX_VOICES];
+    private final int[] voicePosition = new int[MAX_VOICES];
+    private final boolean[] voiceLooping = new boolean[MAX_VOICES];
+    private final long[] voiceStarted = new long[MAX_VOICES];
+
+    /** Bộ đếm thứ tự bắt đầu phát (dùng để chọn giọng cũ nhất khi cướp giọng). */
+    private long startCounter;
+
+    /** Bộ cộng dồn mẫu của một khối trộn. */
+    private final int[] mixBuffer = new int[PERIOD_FRAMES * CHANNELS];
+
+    /** Bộ đệm byte ghi ra line. */
+    private final byte[] outBuffer = new byte[PERIOD_FRAMES * CHANNELS * 2];
+
+    /**
+     * Mở line đầu ra và khởi động luồng trộn âm.
+     *
+     * @param samples dữ liệu PCM đã chuyển về {@link #FORMAT} (phần tử {@code null} = không có âm)
+     * @throws LineUnavailableException nếu không mở được thiết bị âm thanh
+     */
+    AudioMixer(short[][] samples) throws LineUnavailableException {
+        this.samples = samples;
+        this.volumes = new float[samples.length];
+        Arrays.fill(volumes, 1f);
+        Arrays.fill(voiceSound, -1);
+
+        line = AudioSystem.getSourceDataLine(FORMAT);
+        line.open(FORMAT, outBuffer.length * LINE_PERIODS);
+        line.start();
+
+        thread = new Thread(this, "AudioMixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /** @param sound chỉ số âm cần phát một lần (có thể chồng lên lần phát trước) */
+    void play(int sound) { send(CMD_PLAY, sound, 0f); }
+
+    /** @param sound chỉ số âm cần phát lặp liên tục (bỏ qua nếu đang lặp) */
+    void loop(int sound) { send(CMD_LOOP, sound, 0f); }
+
+    /** @param sound chỉ số âm cần dừng (mọi giọng đang phát âm đó) */
+    void stop(int sound) { send(CMD_STOP, sound, 0f); }
+
+    /**
+     * @param sound  chỉ số âm
+     * @param volume âm lượng tuyến tính 0..1
+     */
+    void setVolume(int sound, float volume) { send(CMD_VOLUME, sound, volume); }
+
+    /**
+     * Độ trễ ước tính từ lúc gửi lệnh đến lúc âm thanh ra loa.
+     *
+     * @return độ trễ (ms) gồm bộ đệm của line và một khối trộn
+     */
+    double getLatencyMillis() {
+        int frames = line.getBufferSize() / FORMAT.getFrameSize() + PERIOD_FRAMES;
+        return frames * 1000.0 / SAMPLE_RATE;
+    }
+
+    /**
+     * Dừng luồng trộn, phát nốt phần còn trong bộ đệm của line rồi đóng line.
+     * Gọi nhiều lần không sao; sau khi đóng, các lệnh phát bị bỏ qua.
+     */
+    void close() {
+        if (!running) return;
+        running = false;
+        try {
+            thread.join(1000); // Lần ghi đang chặn trả về sau tối đa vài khối trộn
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!thread.isAlive()) line.drain(); // Không drain khi luồng trộn còn ghi dở
+        line.stop();
+        line.close();
+    }
+
+    /**
+     * Mã hóa và gửi lệnh (không chặn).
+     */
+    private void send(int op, int sound, float value) {
+        if (sound < 0 || sound >= samples.length) return;
+        long command = ((long) op << 48) | ((long) sound << 32) | (Float.floatToRawIntBits(value) & 0xFFFFFFFFL);
+        commands.offer(command);
+    }
+
+    /**
+     * Thân luồng trộn: xử lý lệnh, trộn một khối, ghi ra line (bị chặn khi line đầy),
+     * cho đến khi {@link #close()} được gọi.
+     */
+    @Override
+    public void run() {
+        while (running) {
+            drainCommands();
+            mix();
+            line.write(outBuffer, 0, outBuffer.length);
+        }
+    }
+
+    /**
+     * Xử lý toàn bộ lệnh đang chờ.
+     */
+    private void drainCommands() {
+        long command;
+        while ((command = commands.poll()) != CommandQueue.EMPTY) {
+            int op = (int) (command >>> 48);
+            int sound = (int) (command >>> 32) & 0xFFFF;
+            float value = Float.intBitsToFloat((int) command);
+            switch (op) {
+                case CMD_PLAY -> startVoice(sound, false);
+                case CMD_LOOP -> {
+                    if (!isLooping(sound)) startVoice(sound, true);
+                }
+                case CMD_STOP -> {
+                    for (int v = 0; v < MAX_VOICES; v++) {
+                        if (voiceSound[v] == sound) voiceSound[v] = -1;
+                    }
+                }
+                case CMD_VOLUME -> volumes[sound] = Math.max(0f, Math.min(1f, value));
+            }
+        }
+    }
+
+    /** @return {@code true} nếu âm đang được phát lặp */
+    private boolean isLooping(int sound) {
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voiceSound[v] == sound && voiceLooping[v]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gán âm cho một giọng trống, hoặc cướp giọng không lặp phát lâu nhất.
+     */
+    private void startVoice(int sound, boolean looping) {
+        if (samples[sound] == null || samples[sound].length == 0) return;
+        int chosen = -1;
+        long oldest = Long.MAX_VALUE;
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voiceSound[v] < 0) {
+                chosen = v;
+                break;
+            }
+            if (!voiceLooping[v] && voiceStarted[v] < oldest) {
+                oldest = voiceStarted[v];
+                chosen = v;
+            }
+        }
+        if (chosen < 0) return; // Mọi giọng đều đang lặp (nhạc nền) → bỏ qua
+
+        voiceSound[chosen] = sound;
+        voicePosition[chosen] = 0;
+        voiceLooping[chosen] = looping;
+        voiceStarted[chosen] = startCounter++;
+    }
+
+    /**
+     * Trộn một khối {@link #PERIOD_FRAMES} khung từ mọi giọng đang phát vào {@link #outBuffer}.
+     */
+    private void mix() {
+        int[] acc = mixBuffer;
+        Arrays.fill(acc, 0);
+
+        for (int v = 0; v < MAX_VOICES; v++) {
+            int sound = voiceSound[v];
+            if (sound < 0) continue;
+            short[] data = samples[sound];
+            int gain = (int) (volumes[sound] * 256f); // Hệ số cố định 8 bit phần lẻ
+            int pos = voicePosition[v];
+            int i = 0;
+            while (i < acc.length) {
+                if (pos >= data.length) {
+                    if (!voiceLooping[v]) break;
+                    pos = 0;
+                }
+                int n = Math.min(acc.length - i, data.length - pos);
+                for (int k = 0; k < n; k++) {
+                    acc[i + k] += (data[pos + k] * gain) >> 8;
+                }
+                i += n;
+                pos += n;
+            }
+            if (pos >= data.length && !voiceLooping[v]) {
+                voiceSound[v] = -1; // Phát xong, trả giọng
+            } else {
+                voicePosition[v] = pos;
+            }
+        }
+
+        byte[] out = outBuffer;
+        for (int i = 0, b = 0; i < acc.length; i++, b += 2) {
+            int s = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, acc[i]));
+            out[b] = (byte) s;
+            out[b + 1] = (byte) (s >> 8);
+        }
+    }
+
+    /**
+     * Giải mã một file âm thanh thành PCM 16-bit stereo ở {@link #SAMPLE_RATE}.
+     * Tần số lấy mẫu khác được chuyển đổi bằng nội suy tuyến tính; mono được nhân đôi kênh.
+     *
+     * @param url đường dẫn tài nguyên
+     * @return mẫu stereo xen kẽ
+     * @throws IOException                   nếu lỗi đọc file
+     * @throws UnsupportedAudioFileException nếu định dạng không hỗ trợ
+     */
+    static short[] load(URL url) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(url)) {
+            AudioFormat in = source.getFormat();
+            int channels = in.getChannels();
+            AudioFormat pcm = new AudioFormat(in.getSampleRate(), 16, channels, true, false);
+            byte[] bytes;
+            try (AudioInputStream converted = AudioSystem.getAudioInputStream(pcm, source)) {
+                bytes = readAll(converted);
+            }
+
+            int frames = bytes.length / (2 * channels);
+            double step = in.getSampleRate() / SAMPLE_RATE;
+            int outFrames = (int) (frames / step);
+            short[] out = new short[outFrames * CHANNELS];
+            for (int f = 0; f < outFrames; f++) {
+                double srcPos = f * step;
+                int i0 = (int) srcPos;
+                int i1 = Math.min(i0 + 1, frames - 1);
+                double t = srcPos - i0;
+                for (int c = 0; c < CHANNELS; c++) {
+                    int ch = Math.min(c, channels - 1);
+                    int a = sampleAt(bytes, i0, ch, channels);
+                    int b = sampleAt(bytes, i1, ch, channels);
+                    out[f * CHANNELS + c] = (short) Math.round(a + (b - a) * t);
+                }
+            }
+            return out;
+        }
+    }
+
+    /** Đọc một mẫu 16-bit little-endian. */
+    private static int sampleAt(byte[] bytes, int frame, int channel, int channels) {
+        int i = (frame * channels + channel) * 2;
+        return (short) ((bytes[i] & 0xFF) | (bytes[i + 1] << 8));
+    }
+
+    /** Đọc toàn bộ luồng vào mảng byte. */
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int n;
+        while ((n = in.read(chunk)) > 0) out.write(chunk, 0, n);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,91 @@
+package sound;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lớp {@code CommandQueue} là hàng đợi vòng không khóa (lock-free), kích thước cố định,
+ * dùng để gửi lệnh âm thanh từ luồng game / EDT sang luồng trộn âm ({@link AudioMixer}).
+ * <p>
+ * Mỗi lệnh được mã hóa trong một số {@code long}, nên việc gửi lệnh không cấp phát bộ nhớ
+ * và không bao giờ chặn: nếu hàng đợi đầy, lệnh bị bỏ (âm thanh đó không được phát)
+ * thay vì làm chậm vòng lặp game.
+ * </p>
+ * <p>
+ * Nhiều luồng có thể gửi lệnh cùng lúc; chỉ một luồng (luồng trộn âm) được lấy lệnh ra.
+ * Mỗi ô có một số thứ tự (sequence) để biết ô đã được ghi xong hay đã được đọc.
+ * </p>
+ */
+class CommandQueue {
+
+    /** Giá trị trả về khi hàng đợi rỗng. */
+    static final long EMPTY = Long.MIN_VALUE;
+
+    /** Mặt nạ chỉ số (dung lượng là lũy thừa của 2). */
+    private final int mask;
+
+    /** Nội dung các ô. */
+    private final long[] values;
+
+    /** Số thứ tự của từng ô. */
+    private final AtomicLongArray sequences;
+
+    /** Vị trí ghi tiếp theo (tranh chấp giữa các luồng gửi). */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Vị trí đọc tiếp theo (chỉ luồng trộn âm dùng). */
+    private long head;
+
+    /**
+     * Khởi tạo hàng đợi.
+     *
+     * @param capacity dung lượng tối thiểu (được làm tròn lên lũy thừa của 2)
+     */
+    CommandQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        values = new long[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+    }
+
+    /**
+     * Gửi một lệnh (không chặn, không cấp phát).
+     *
+     * @param command lệnh đã mã hóa (khác {@link #EMPTY})
+     * @return {@code false} nếu hàng đợi đầy
+     */
+    boolean offer(long command) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    values[index] = command;
+                    sequences.lazySet(index, pos + 1); // Công bố ô cho luồng đọc
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // Đầy
+            } else {
+                pos = tail.get(); // Luồng khác vừa chiếm ô này
+            }
+        }
+    }
+
+    /**
+     * Lấy lệnh kế tiếp (chỉ gọi từ luồng trộn âm).
+     *
+     * @return lệnh đã mã hóa, hoặc {@link #EMPTY} nếu không còn lệnh
+     */
+    long poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) return EMPTY;
+        long command = values[index];
+        sequences.lazySet(index, head + mask + 1); // Trả ô cho vòng ghi kế tiếp
+        head++;
+        return command;
+    }
+}
@@ -1,6 +1,6 @@
 package sound;
 
-import javax.sound.sampled.*;
+import javax.sound.sampled.LineUnavailableException;
 import java.net.URL;
 
 /**
@@ -9,6 +9,11 @@ import java.net.URL;
  * Lớp này được triển khai theo mẫu Singleton để đảm bảo chỉ có một thể hiện duy nhất
  * quản lý tài nguyên âm thanh, tránh việc tải lại các file âm thanh nhiều lần.
  * <p>
+ * Âm thanh được giải mã sẵn vào bộ nhớ và phát qua bộ trộn phần mềm {@link AudioMixer}
+ * (một line đầu ra, luồng âm thanh riêng, nhiều giọng phát chồng nhau). Các phương thức
+ * {@link #play}, {@link #loop}, {@link #stop}, {@link #setVolume} chỉ gửi lệnh vào hàng đợi
+ * không khóa nên không bao giờ chặn luồng game hay EDT.
+ * <p>
  * Các chỉ số âm thanh (sound index) được định nghĩa sẵn:
  * <ul>
  * <li>0: Nhạc nền (nen.wav)</li>
@@ -31,16 +36,23 @@ import java.net.URL;
  * @author [Tên của bạn]
  * @version 1.0
  */
-public class Sound {
+public class Sound implements SoundPlayer {
     /**
      * Thể hiện (instance) duy nhất của lớp Sound (Singleton).
      */
     private static Sound instance;
 
     /**
-     * Mảng lưu trữ các đối tượng Clip đã được tải trước.
+     * Không mở thiết bị âm thanh trong cả tiến trình (mọi lệnh phát bị bỏ qua), bật bằng thuộc tính
+     * hệ thống {@code -Darkanoid.headless=true} khi khởi động. Một phiên chơi headless không cần cờ này:
+     * nó phát qua {@link SoundPlayer#SILENT} và không bao giờ gọi {@link #getInstance()}.
      */
-    private final Clip[] clips = new Clip[15];
+    private static final boolean silent = Boolean.getBoolean("arkanoid.headless");
+
+    /**
+     * Bộ trộn âm ({@code null} nếu không mở được thiết bị âm thanh hoặc đang im lặng).
+     */
+    private AudioMixer mixer;
 
     // Các hằng số định danh cho âm thanh - giúp mã dễ đọc hơn
     public static final int MUSIC_BACKGROUND = 0;
@@ -62,12 +74,12 @@ public class Sound {
 
     /**
      * Constructor private để thực thi mẫu Singleton.
-     * Tải trước tất cả các tệp âm thanh từ thư mục resources/sound vào mảng clips.
-     * <p>
-     * Cũng thực hiện "làm nóng" (warm-up) mixer bằng cách phát và dừng ngay
-     * clip âm thanh 'click' để giảm độ trễ khi phát âm thanh đầu tiên.
+     * Giải mã trước tất cả các tệp âm thanh từ thư mục resources/sound thành PCM
+     * rồi khởi động bộ trộn. Line đầu ra luôn chạy (phát im lặng khi không có âm),
+     * nên không cần "làm nóng" cho lần phát đầu tiên.
      */
     private Sound() {
+        if (silent) return; // không tải clip, không chạm tới thiết bị âm thanh
         try {
             URL[] soundURLs = new URL[15];
             soundURLs[MUSIC_BACKGROUND] = getClass().getResource("/sound/nen.wav");
@@ -86,22 +98,21 @@ public class Sound {
             soundURLs[MUSIC_FINAL_WIN] = getClass().getResource("/sound/finalwin.wav");
             soundURLs[FX_PAUSE] = getClass().getResource("/sound/pause.wav");
 
-            // 🔹 Load toàn bộ âm thanh
+            // 🔹 Giải mã toàn bộ âm thanh vào bộ nhớ (cùng định dạng với bộ trộn)
+            short[][] samples = new short[soundURLs.length][];
             for (int i = 0; i < soundURLs.length; i++) {
                 if (soundURLs[i] != null) {
-                    AudioInputStream ais = AudioSystem.getAudioInputStream(soundURLs[i]);
-                    clips[i] = AudioSystem.getClip();
-                    clips[i].open(ais);
+                    samples[i] = AudioMixer.load(soundURLs[i]);
                 }
             }
 
-            // 🔹 Làm nóng mixer
-            if (clips[FX_CLICK] != null) {
-                clips[FX_CLICK].setFramePosition(0);
-                clips[FX_CLICK].start();
-                clips[FX_CLICK].stop();
-            }
+            // 🔹 Mở line đầu ra và khởi động luồng trộn âm
+            mixer = new AudioMixer(samples);
+            Runtime.getRuntime().addShutdownHook(new Thread(mixer::close, "AudioShutdown"));
+            System.out.printf("🔊 Audio mixer ready (latency ~%.1f ms)%n", mixer.getLatencyMillis());
 
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.out.println("⚠️ Không mở được thiết bị âm thanh, tắt âm: " + e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -122,35 +133,35 @@ public class Sound {
 
     /**
      * Phát âm thanh tại một chỉ số cụ thể một lần.
-     * Nếu clip đang chạy, nó sẽ bị dừng và bắt đầu lại từ đầu.
+     * Nếu âm đó đang phát, lần phát mới chồng lên (không cắt ngang lần trước).
      *
      * @param i Chỉ số của clip âm thanh cần phát (sử dụng các hằng số, ví dụ: {@code Sound.FX_CLICK}).
      */
+    @Override
     public void play(int i) {
-        if (clips[i] == null) return;
-        clips[i].stop();
-        clips[i].setFramePosition(0);
-        clips[i].start();
+        if (mixer == null) return;
+        mixer.play(i);
     }
 
     /**
      * Phát một âm thanh và lặp lại liên tục (ví dụ: nhạc nền).
+     * Nếu âm đó đang được lặp thì không làm gì.
      *
      * @param i Chỉ số của clip âm thanh cần lặp (ví dụ: {@code Sound.MUSIC_BACKGROUND}).
      */
     public void loop(int i) {
-        if (clips[i] == null) return;
-        clips[i].loop(Clip.LOOP_CONTINUOUSLY);
+        if (mixer == null) return;
+        mixer.loop(i);
     }
 
     /**
-     * Dừng phát một âm thanh đang chạy.
+     * Dừng phát một âm thanh đang chạy (mọi lần phát chồng của âm đó).
      *
      * @param i Chỉ số của clip âm thanh cần dừng.
      */
     public void stop(int i) {
-        if (clips[i] == null) return;
-        clips[i].stop();
+        if (mixer == null) return;
+        mixer.stop(i);
     }
 
     /**
@@ -158,22 +169,10 @@ public class Sound {
      *
      * @param i      Chỉ số của clip âm thanh cần điều chỉnh.
      * @param volume Mức âm lượng tuyến tính (linear), từ 0.0 (tắt tiếng) đến 1.0 (âm lượng đầy đủ).
+     *               Áp dụng cho cả các lần phát đang diễn ra của âm đó.
      */
     public void setVolume(int i, float volume) {
-        if (clips[i] == null) return;
-        try {
-            FloatControl gainControl = (FloatControl) clips[i].getControl(FloatControl.Type.MASTER_GAIN);
-            // Chuyển đổi âm lượng tuyến tính (0.0-1.0) sang decibel (dB)
-            float dB = (float) (Math.log10(volume) * 20);
-            gainControl.setValue(dB);
-        } catch (IllegalArgumentException e) {
-            // Xảy ra khi volume = 0 (log(0) là vô cực)
-            // Đặt ở mức âm lượng nhỏ nhất có thể
-            FloatControl gainControl = (FloatControl) clips[i].getControl(FloatControl.Type.MASTER_GAIN);
-            gainControl.setValue(gainControl.getMinimum());
-        } catch (Exception e) {
-            System.out.println("⚠️ Không thể chỉnh âm lượng clip " + i);
-            e.printStackTrace();
-        }
+        if (mixer == null) return;
+        mixer.setVolume(i, volume);
     }
-}
\ No newline at end of file
+}
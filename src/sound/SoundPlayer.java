@@ -0,0 +1,24 @@
+package sound;
+
+/**
+ * Giao diện {@code SoundPlayer} là nơi logic trò chơi gửi lệnh phát hiệu ứng âm thanh.
+ * <p>
+ * Mô phỏng ({@code GameManager}, {@code BallPool}, lưới gạch, vật phẩm) chỉ phát âm qua
+ * giao diện này, được truyền vào từng phiên chơi thay vì lấy singleton {@link Sound}:
+ * phiên chơi thật dùng {@link Sound#getInstance()}, còn phiên headless dùng {@link #SILENT},
+ * nên nhiều phiên mô phỏng chạy song song không chạm tới trạng thái tĩnh dùng chung nào.
+ * </p>
+ */
+@FunctionalInterface
+public interface SoundPlayer {
+
+    /** Không phát gì (mô phỏng headless, benchmark). */
+    SoundPlayer SILENT = i -> { };
+
+    /**
+     * Phát một hiệu ứng âm thanh một lần.
+     *
+     * @param i chỉ số âm thanh (ví dụ {@link Sound#FX_BREAK})
+     */
+    void play(int i);
+}
@@ -0,0 +1,64 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tiện ích ghi file an toàn khi mất điện đột ngột.
+ * <p>
+ * {@link #replace(Path, byte[])} không bao giờ ghi đè trực tiếp lên file đích: dữ liệu
+ * được ghi vào file tạm cùng thư mục, ép xuống đĩa ({@code fsync}), rồi đổi tên đè lên
+ * file đích bằng một thao tác nguyên tử. Sau sự cố, file đích hoặc là bản cũ nguyên vẹn,
+ * hoặc là bản mới nguyên vẹn — không bao giờ là bản ghi dở.
+ * </p>
+ */
+public final class AtomicFiles {
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * Thay nội dung file một cách nguyên tử.
+     *
+     * @param target file đích
+     * @param data   nội dung mới
+     * @throws IOException nếu không ghi được (file đích giữ nguyên)
+     */
+    public static void replace(Path target, byte[] data) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(true);
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(target);
+    }
+
+    /**
+     * Ép mục thư mục (tên file vừa đổi) xuống đĩa. Một số hệ điều hành (Windows)
+     * không cho mở thư mục — khi đó bỏ qua, vì đổi tên ở đó đã được ghi nhật ký sẵn.
+     *
+     * @param file file nằm trong thư mục cần ép
+     */
+    static void syncDirectory(Path file) {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir == null) return;
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException ignored) {
+            // Không hỗ trợ fsync thư mục trên nền tảng này
+        }
+    }
+}
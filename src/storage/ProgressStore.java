@@ -0,0 +1,240 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Lớp {@code ProgressStore} lưu tiến độ của người chơi: màn đã mở khóa và, cho từng màn,
+ * điểm cao nhất, thời gian hoàn thành nhanh nhất và số lần chơi.
+ * <p>
+ * Mọi thay đổi chỉ cập nhật mảng trong bộ nhớ rồi đánh dấu "bẩn"; luồng nền
+ * ({@code ProgressWriter}) ghi lại toàn bộ file bằng {@link AtomicFiles#replace}.
+ * Các thay đổi dồn dập (mở khóa + điểm + thời gian cùng lúc hoàn thành màn) được gộp
+ * vào một lần ghi: khi đã có một lần ghi đang chờ, thay đổi mới không xếp thêm việc,
+ * và lần ghi đó chụp trạng thái mới nhất tại thời điểm nó chạy.
+ * </p>
+ *
+ * <p><b>Định dạng file</b> (một khối nhỏ, đọc bằng một lần {@code readAllBytes}):</p>
+ * <pre>
+ * magic "ARKP" | phiên bản | màn đã mở | số màn N
+ * N x (điểm cao nhất, thời gian nhanh nhất ms, số lần chơi)
+ * CRC32 của mọi thứ phía trước
+ * </pre>
+ * File hỏng hoặc sai checksum bị bỏ qua (bắt đầu lại từ màn 1) thay vì làm game
+ * không khởi động được.
+ */
+public class ProgressStore implements AutoCloseable {
+
+    /** Chữ ký file ("ARKP"). */
+    static final int MAGIC = 0x41524B50;
+
+    /** Phiên bản định dạng. */
+    static final int VERSION = 1;
+
+    /** Giá trị "chưa có" của thời gian nhanh nhất. */
+    public static final int NO_TIME = 0;
+
+    /** Đường dẫn file tiến độ. */
+    private final Path path;
+
+    /** Số màn chơi. */
+    private final int levelCount;
+
+    /** Màn cao nhất đã mở khóa (bắt đầu từ 1). */
+    private int unlockedLevel = 1;
+
+    /** Điểm cao nhất, thời gian nhanh nhất (ms) và số lần chơi của từng màn (chỉ số = màn - 1). */
+    private final int[] bestScore, bestTimeMillis, attempts;
+
+    /** Đã có một lần ghi đang chờ trong luồng nền chưa (gộp các thay đổi liên tiếp). */
+    private boolean flushPending;
+
+    /** Luồng ghi nền. */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ProgressWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Mở kho tiến độ (tạo mới nếu chưa có file).
+     *
+     * @param path       file tiến độ
+     * @param levelCount số màn chơi
+     */
+    public ProgressStore(Path path, int levelCount) {
+        this.path = path;
+        this.levelCount = levelCount;
+        this.bestScore = new int[levelCount];
+        this.bestTimeMillis = new int[levelCount];
+        this.attempts = new int[levelCount];
+        load();
+    }
+
+    // ====== Đọc ======
+
+    /** @return màn cao nhất đã mở khóa */
+    public synchronized int getUnlockedLevel() { return unlockedLevel; }
+
+    /** @param level số màn (từ 1) @return điểm cao nhất của màn ({@code 0} nếu chưa qua) */
+    public synchronized int getBestScore(int level) { return bestScore[level - 1]; }
+
+    /** @param level số màn (từ 1) @return thời gian qua màn nhanh nhất (ms), hoặc {@link #NO_TIME} */
+    public synchronized int getBestTimeMillis(int level) { return bestTimeMillis[level - 1]; }
+
+    /** @param level số màn (từ 1) @return số lần bắt đầu chơi màn */
+    public synchronized int getAttempts(int level) { return attempts[level - 1]; }
+
+    /** @return số màn chơi */
+    public int getLevelCount() { return levelCount; }
+
+    // ====== Thay đổi (không chặn, ghi ở luồng nền) ======
+
+    /**
+     * Mở khóa tới màn {@code level} (không bao giờ khóa lại màn đã mở).
+     *
+     * @param level số màn cần mở
+     * @return {@code true} nếu màn cao nhất đã mở thay đổi
+     */
+    public synchronized boolean unlock(int level) {
+        level = Math.min(level, levelCount);
+        if (level <= unlockedLevel) return false;
+        unlockedLevel = level;
+        markDirty();
+        return true;
+    }
+
+    /**
+     * Ghi nhận một lần bắt đầu chơi màn.
+     *
+     * @param level số màn (từ 1)
+     */
+    public synchronized void recordAttempt(int level) {
+        attempts[level - 1]++;
+        markDirty();
+    }
+
+    /**
+     * Ghi nhận một lần qua màn; chỉ giữ điểm cao nhất và thời gian nhanh nhất.
+     *
+     * @param level      số màn (từ 1)
+     * @param score      điểm đạt được ở màn
+     * @param timeMillis thời gian qua màn (ms)
+     */
+    public synchronized void recordClear(int level, int score, int timeMillis) {
+        int i = level - 1;
+        boolean changed = false;
+        if (score > bestScore[i]) {
+            bestScore[i] = score;
+            changed = true;
+        }
+        if (timeMillis > 0 && (bestTimeMillis[i] == NO_TIME || timeMillis < bestTimeMillis[i])) {
+            bestTimeMillis[i] = timeMillis;
+            changed = true;
+        }
+        if (changed) markDirty();
+    }
+
+    /**
+     * Chờ lần ghi đang chờ (nếu có) hoàn tất.
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (Exception e) {
+            // Luồng ghi đã dừng: không còn gì để chờ
+        }
+    }
+
+    /**
+     * Ghi nốt thay đổi đang chờ rồi dừng luồng nền.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ====== Ghi nền ======
+
+    /** Xếp một lần ghi nếu chưa có lần nào đang chờ (gọi trong khóa). */
+    private void markDirty() {
+        if (flushPending) return;
+        flushPending = true;
+        writer.execute(this::write);
+    }
+
+    /** Chụp trạng thái mới nhất và thay file một cách nguyên tử. */
+    private void write() {
+        byte[] data;
+        synchronized (this) {
+            flushPending = false;
+            data = encode();
+        }
+        try {
+            AtomicFiles.replace(path, data);
+        } catch (IOException e) {
+            System.err.println("⚠️ Lỗi khi lưu tiến độ: " + e.getMessage());
+        }
+    }
+
+    /** @return nội dung file cho trạng thái hiện tại */
+    private byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(16 + levelCount * 12 + 4);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(unlockedLevel).putInt(levelCount);
+        for (int i = 0; i < levelCount; i++) {
+            buffer.putInt(bestScore[i]).putInt(bestTimeMillis[i]).putInt(attempts[i]);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    /** Đọc file tiến độ (nếu có và hợp lệ). */
+    private void load() {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            System.err.println("⚠️ Lỗi khi tải tiến độ: " + e.getMessage());
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (data.length < 20 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            System.err.println("⚠️ File tiến độ không hợp lệ, bắt đầu lại.");
+            return;
+        }
+        int unlocked = buffer.getInt();
+        int stored = buffer.getInt();
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        if (stored < 0 || data.length != 20 + stored * 12
+                || ByteBuffer.wrap(data, data.length - 4, 4).getInt() != (int) crc.getValue()) {
+            System.err.println("⚠️ File tiến độ sai checksum, bắt đầu lại.");
+            return;
+        }
+        // Số màn có thể khác (thêm/bớt màn): chỉ lấy phần chung
+        for (int i = 0; i < stored; i++) {
+            int score = buffer.getInt(), time = buffer.getInt(), tries = buffer.getInt();
+            if (i >= levelCount) continue;
+            bestScore[i] = score;
+            bestTimeMillis[i] = time;
+            attempts[i] = tries;
+        }
+        unlockedLevel = Math.max(1, Math.min(unlocked, levelCount));
+    }
+}
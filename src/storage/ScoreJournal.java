@@ -0,0 +1,411 @@
+package storage;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Lớp {@code ScoreJournal} lưu bảng điểm cao bằng nhật ký chỉ-ghi-thêm (append-only)
+ * có checksum, kèm ảnh chụp (snapshot) được nén gọn định kỳ.
+ * <p>
+ * Trên đĩa gồm hai file:
+ * <ul>
+ *   <li>{@code <tên>.snap} — ảnh chụp toàn bộ bảng điểm, kèm số thế hệ và CRC32.
+ *       Chỉ được thay bằng {@link AtomicFiles#replace} (ghi file tạm + đổi tên nguyên tử).</li>
+ *   <li>{@code <tên>.journal} — header (magic, phiên bản, thế hệ) rồi các bản ghi cố định
+ *       9 byte: thao tác (1), điểm (4), CRC32 của hai trường trên (4).</li>
+ * </ul>
+ * Thêm điểm chỉ cập nhật danh sách trong bộ nhớ rồi xếp một bản ghi vào luồng ghi nền
+ * ({@code LeaderboardWriter}); luồng này ghi thêm vào cuối nhật ký và {@code fsync},
+ * nên vòng lặp game không bao giờ chờ ổ đĩa. Sau {@code compactEvery} bản ghi, luồng nền
+ * ghi ảnh chụp thế hệ mới rồi làm rỗng nhật ký.
+ * </p>
+ *
+ * <p><b>Phục hồi sau sự cố (mất điện):</b></p>
+ * <ul>
+ *   <li>Bản ghi cuối bị cắt dở hoặc sai CRC: dừng đọc tại đó và cắt bỏ phần đuôi hỏng.</li>
+ *   <li>Sập giữa lúc nén gọn: ảnh chụp hoặc còn bản cũ, hoặc đã là bản mới; nhật ký của
+ *       thế hệ cũ (đã gộp vào ảnh chụp mới) bị nhận ra nhờ số thế hệ và bỏ qua.</li>
+ *   <li>Ảnh chụp hỏng: bỏ qua và bắt đầu bảng trống thay vì làm game không khởi động được.</li>
+ * </ul>
+ *
+ * <p>File {@code leaderboard.dat} cũ (tuần tự hóa Java) được chuyển sang một lần, khi
+ * chưa có ảnh chụp; file cũ được giữ nguyên.</p>
+ */
+public class ScoreJournal implements AutoCloseable {
+
+    /** Chữ ký file ảnh chụp ("ARKS"). */
+    static final int SNAPSHOT_MAGIC = 0x41524B53;
+
+    /** Chữ ký file nhật ký ("ARKL"). */
+    static final int JOURNAL_MAGIC = 0x41524B4C;
+
+    /** Phiên bản định dạng. */
+    static final int VERSION = 1;
+
+    /** Kích thước header nhật ký: magic, phiên bản, thế hệ. */
+    static final int JOURNAL_HEADER = 4 + 4 + 8;
+
+    /** Kích thước một bản ghi nhật ký: thao tác, điểm, CRC32. */
+    static final int RECORD_SIZE = 1 + 4 + 4;
+
+    /** Thao tác: thêm một điểm. */
+    static final byte OP_ADD = 1;
+
+    /** Thao tác: xóa toàn bộ bảng. */
+    static final byte OP_CLEAR = 2;
+
+    /** Đường dẫn ảnh chụp và nhật ký. */
+    private final Path snapshotPath, journalPath;
+
+    /** Số điểm tối đa được giữ. */
+    private final int capacity;
+
+    /** Số bản ghi nhật ký giữa hai lần nén gọn. */
+    private final int compactEvery;
+
+    /** Bảng điểm trong bộ nhớ, giảm dần ({@code count} phần tử đầu hợp lệ). */
+    private final int[] scores;
+
+    /** Số điểm hiện có. */
+    private int count;
+
+    /** Số bản ghi đã xếp vào nhật ký kể từ lần nén gọn gần nhất. */
+    private int pendingRecords;
+
+    // ====== Chỉ luồng ghi nền truy cập ======
+
+    /** Thế hệ của ảnh chụp hiện tại (nhật ký chỉ hợp lệ khi cùng thế hệ). */
+    private long generation;
+
+    /** Kênh ghi thêm vào nhật ký ({@code null} nếu không mở được — chỉ giữ trong bộ nhớ). */
+    private FileChannel journal;
+
+    /** Bộ đệm một bản ghi (dùng lại). */
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+    /** CRC32 dùng lại cho bản ghi. */
+    private final CRC32 crc = new CRC32();
+
+    /** Luồng ghi nền (một luồng, giữ đúng thứ tự ghi). */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "LeaderboardWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Mở (hoặc tạo mới) bảng điểm: đọc ảnh chụp, phát lại nhật ký, cắt bỏ đuôi hỏng.
+     *
+     * @param baseName     đường dẫn gốc; dùng {@code baseName.snap} và {@code baseName.journal}
+     * @param capacity     số điểm tối đa được giữ
+     * @param compactEvery số bản ghi nhật ký giữa hai lần nén gọn
+     * @param legacyFile   file tuần tự hóa kiểu cũ cần chuyển sang (có thể {@code null})
+     */
+    public ScoreJournal(Path baseName, int capacity, int compactEvery, Path legacyFile) {
+        this.snapshotPath = baseName.resolveSibling(baseName.getFileName() + ".snap");
+        this.journalPath = baseName.resolveSibling(baseName.getFileName() + ".journal");
+        this.capacity = capacity;
+        this.compactEvery = Math.max(1, compactEvery);
+        this.scores = new int[capacity];
+
+        boolean hasSnapshot = loadSnapshot();
+        if (!hasSnapshot && legacyFile != null && migrateLegacy(legacyFile)) {
+            writeSnapshot(++generation, copy()); // Chuyển một lần; các lần sau đọc ảnh chụp
+        }
+        openJournal();
+    }
+
+    // ====== Thao tác ======
+
+    /**
+     * Thêm một điểm: cập nhật ngay trong bộ nhớ, ghi xuống đĩa ở luồng nền.
+     *
+     * @param score điểm mới
+     */
+    public synchronized void add(int score) {
+        apply(OP_ADD, score);
+        enqueue(OP_ADD, score);
+    }
+
+    /**
+     * Xóa toàn bộ bảng điểm (ghi xuống đĩa ở luồng nền).
+     */
+    public synchronized void clear() {
+        apply(OP_CLEAR, 0);
+        enqueue(OP_CLEAR, 0);
+    }
+
+    /**
+     * @return bản sao bảng điểm, giảm dần
+     */
+    public synchronized List<Integer> getScores() {
+        List<Integer> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) list.add(scores[i]);
+        return list;
+    }
+
+    /**
+     * Chờ mọi thao tác đã xếp hàng được ghi xuống đĩa.
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (Exception e) {
+            // Luồng ghi đã dừng: không còn gì để chờ
+        }
+    }
+
+    /**
+     * Ghi nốt các thao tác đang chờ rồi đóng nhật ký.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeJournal();
+    }
+
+    // ====== Bộ nhớ ======
+
+    /**
+     * Áp một thao tác lên bảng trong bộ nhớ (dùng chung cho thao tác mới và phát lại).
+     */
+    private void apply(byte op, int score) {
+        if (op == OP_CLEAR) {
+            count = 0;
+            return;
+        }
+        int i = count < capacity ? count++ : capacity;
+        while (i > 0 && scores[i - 1] < score) {
+            if (i < capacity) scores[i] = scores[i - 1];
+            i--;
+        }
+        if (i < capacity) scores[i] = score;
+    }
+
+    /** @return bản sao bảng điểm hiện tại */
+    private int[] copy() {
+        int[] snapshot = new int[count];
+        System.arraycopy(scores, 0, snapshot, 0, count);
+        return snapshot;
+    }
+
+    /**
+     * Xếp một bản ghi vào luồng nền; đủ {@code compactEvery} bản ghi thì xếp thêm
+     * một lần nén gọn với ảnh chụp đúng trạng thái lúc này (gọi trong khóa, nên thứ tự
+     * trong hàng đợi khớp với thứ tự thay đổi trong bộ nhớ).
+     */
+    private void enqueue(byte op, int score) {
+        writer.execute(() -> append(op, score));
+        if (++pendingRecords >= compactEvery) {
+            pendingRecords = 0;
+            int[] snapshot = copy();
+            writer.execute(() -> compact(snapshot));
+        }
+    }
+
+    // ====== Luồng ghi nền ======
+
+    /** Ghi thêm một bản ghi vào cuối nhật ký và ép xuống đĩa. */
+    private void append(byte op, int score) {
+        if (journal == null) return;
+        record.clear();
+        record.put(op).putInt(score);
+        crc.reset();
+        crc.update(record.array(), 0, 5);
+        record.putInt((int) crc.getValue());
+        record.flip();
+        try {
+            while (record.hasRemaining()) journal.write(record);
+            journal.force(false);
+        } catch (IOException e) {
+            System.err.println("⚠️ Lỗi khi ghi leaderboard: " + e.getMessage());
+        }
+    }
+
+    /** Ghi ảnh chụp thế hệ mới rồi làm rỗng nhật ký. */
+    private void compact(int[] snapshot) {
+        if (!writeSnapshot(generation + 1, snapshot)) return;
+        generation++;
+        try {
+            if (journal == null) return;
+            journal.truncate(0);
+            journal.position(0);
+            writeHeader();
+        } catch (IOException e) {
+            System.err.println("⚠️ Lỗi khi nén gọn leaderboard: " + e.getMessage());
+        }
+    }
+
+    // ====== Định dạng trên đĩa ======
+
+    /**
+     * Ghi ảnh chụp: magic, phiên bản, thế hệ, số điểm, các điểm, CRC32 của mọi thứ phía trước.
+     *
+     * @return {@code true} nếu ghi thành công
+     */
+    private boolean writeSnapshot(long gen, int[] snapshot) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 8 + 4 + snapshot.length * 4 + 4);
+        buffer.putInt(SNAPSHOT_MAGIC).putInt(VERSION).putLong(gen).putInt(snapshot.length);
+        for (int s : snapshot) buffer.putInt(s);
+        CRC32 sum = new CRC32();
+        sum.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) sum.getValue());
+        try {
+            AtomicFiles.replace(snapshotPath, buffer.array());
+            return true;
+        } catch (IOException e) {
+            System.err.println("⚠️ Lỗi khi lưu ảnh chụp leaderboard: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Đọc ảnh chụp (một lần đọc cả file).
+     *
+     * @return {@code true} nếu có ảnh chụp hợp lệ
+     */
+    private boolean loadSnapshot() {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(snapshotPath);
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            System.err.println("⚠️ Lỗi khi tải leaderboard: " + e.getMessage());
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (data.length < 24 || buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != VERSION) {
+            System.err.println("⚠️ Ảnh chụp leaderboard không hợp lệ, bỏ qua.");
+            return false;
+        }
+        long gen = buffer.getLong();
+        int n = buffer.getInt();
+        if (n < 0 || n > capacity || data.length != 24 + n * 4) {
+            System.err.println("⚠️ Ảnh chụp leaderboard không hợp lệ, bỏ qua.");
+            return false;
+        }
+        CRC32 sum = new CRC32();
+        sum.update(data, 0, data.length - 4);
+        if (ByteBuffer.wrap(data, data.length - 4, 4).getInt() != (int) sum.getValue()) {
+            System.err.println("⚠️ Ảnh chụp leaderboard sai checksum, bỏ qua.");
+            return false;
+        }
+        for (int i = 0; i < n; i++) scores[i] = buffer.getInt();
+        count = n;
+        generation = gen;
+        return true;
+    }
+
+    /**
+     * Chuyển file tuần tự hóa kiểu cũ ({@code List<Integer>}) sang bảng trong bộ nhớ.
+     *
+     * @return {@code true} nếu đọc được file cũ
+     */
+    private boolean migrateLegacy(Path legacyFile) {
+        if (!Files.exists(legacyFile)) return false;
+        try (ObjectInputStream ois = new ObjectInputStream(Files.newInputStream(legacyFile))) {
+            Object obj = ois.readObject();
+            if (obj instanceof List<?>) {
+                for (Object o : (List<?>) obj) {
+                    if (o instanceof Integer) apply(OP_ADD, (Integer) o);
+                }
+            }
+            System.out.println("📂 Đã chuyển leaderboard cũ (" + count + " điểm)");
+            return true;
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("⚠️ Lỗi khi đọc leaderboard cũ: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Phát lại nhật ký cùng thế hệ với ảnh chụp, cắt bỏ đuôi hỏng, rồi mở để ghi thêm.
+     * Nhật ký khác thế hệ (đã gộp vào ảnh chụp) hoặc header hỏng được làm mới.
+     */
+    private void openJournal() {
+        long goodLength = 0;
+        try {
+            byte[] data = Files.exists(journalPath) ? Files.readAllBytes(journalPath) : new byte[0];
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            if (data.length >= JOURNAL_HEADER && buffer.getInt() == JOURNAL_MAGIC
+                    && buffer.getInt() == VERSION && buffer.getLong() == generation) {
+                goodLength = replay(data);
+            }
+
+            journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (goodLength == 0) {
+                journal.truncate(0);
+                writeHeader();
+            } else if (goodLength < data.length) {
+                System.err.println("⚠️ Nhật ký leaderboard bị cắt dở, bỏ "
+                        + (data.length - goodLength) + " byte cuối.");
+                journal.truncate(goodLength);
+                journal.force(false);
+            }
+            journal.position(journal.size());
+        } catch (IOException e) {
+            System.err.println("⚠️ Không mở được nhật ký leaderboard: " + e.getMessage());
+            closeJournal();
+        }
+        System.out.println("📂 Loaded leaderboard (" + count + " entries)");
+    }
+
+    /**
+     * Phát lại các bản ghi hợp lệ nằm liền nhau sau header.
+     *
+     * @return độ dài phần nhật ký hợp lệ (tính cả header)
+     */
+    private long replay(byte[] data) {
+        int pos = JOURNAL_HEADER;
+        CRC32 sum = new CRC32();
+        while (pos + RECORD_SIZE <= data.length) {
+            sum.reset();
+            sum.update(data, pos, 5);
+            ByteBuffer rec = ByteBuffer.wrap(data, pos, RECORD_SIZE);
+            byte op = rec.get();
+            int score = rec.getInt();
+            if (rec.getInt() != (int) sum.getValue() || (op != OP_ADD && op != OP_CLEAR)) break;
+            apply(op, score);
+            pendingRecords++;
+            pos += RECORD_SIZE;
+        }
+        return pos;
+    }
+
+    /** Ghi header nhật ký cho thế hệ hiện tại và ép xuống đĩa. */
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER);
+        header.putInt(JOURNAL_MAGIC).putInt(VERSION).putLong(generation).flip();
+        while (header.hasRemaining()) journal.write(header);
+        journal.force(false);
+    }
+
+    /** Đóng kênh nhật ký (bỏ qua lỗi). */
+    private void closeJournal() {
+        if (journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException ignored) {
+            // Đang đóng: không còn gì để làm
+        }
+        journal = null;
+    }
+}
@@ -0,0 +1,105 @@
+package timing;
+
+/**
+ * Lớp {@code GameClock} là đồng hồ mô phỏng của một phiên chơi, đếm bằng tick.
+ * <p>
+ * Đồng hồ chỉ tiến khi mô phỏng thật sự chạy ({@code GameManager} không gọi {@link #advance()}
+ * lúc tạm dừng hay sau khi kết thúc), nên mọi thời hạn đo bằng nó tự dừng theo trò chơi và
+ * không phụ thuộc khung hình chậm hay tốc độ máy. Thời gian mili giây được cộng dồn theo
+ * tần số của từng đoạn: đổi tần số giữa chừng không làm các mốc thời gian đã lấy bị co giãn.
+ * </p>
+ * <p>
+ * Các hiệu ứng có thời hạn được đặt trên {@link TimerWheel} của đồng hồ
+ * ({@link #getTimers()}) thay vì tự so mốc thời gian mỗi bước.
+ * </p>
+ *
+ * @see TimerWheel
+ */
+public final class GameClock {
+
+    /** Tần số cập nhật mặc định (bước/giây). */
+    public static final int DEFAULT_TICK_RATE = 60;
+
+    /** Bánh xe hẹn giờ, tiến cùng đồng hồ. */
+    private final TimerWheel timers = new TimerWheel();
+
+    /** Số bước mỗi giây dùng để đổi tick sang mili giây. */
+    private int tickRate;
+
+    /** Số mili giây đã cộng dồn đến lần đổi tần số gần nhất. */
+    private long millisBase;
+
+    /** Tick tại lần đổi tần số gần nhất. */
+    private long baseTick;
+
+    /** Khởi tạo đồng hồ với tần số mặc định. */
+    public GameClock() {
+        this(DEFAULT_TICK_RATE);
+    }
+
+    /**
+     * @param tickRate số bước cập nhật mỗi giây
+     */
+    public GameClock(int tickRate) {
+        setTickRate(tickRate);
+    }
+
+    /**
+     * Tiến đồng hồ một tick và chạy các hẹn giờ đến hạn.
+     */
+    public void advance() {
+        timers.advance();
+    }
+
+    /** @return số tick đã chạy */
+    public long getTicks() {
+        return timers.now();
+    }
+
+    /** @return thời gian mô phỏng đã chạy (ms) */
+    public long getMillis() {
+        return millisBase + (timers.now() - baseTick) * 1000 / tickRate;
+    }
+
+    /**
+     * Đổi một khoảng thời gian sang số tick (làm tròn lên, tối thiểu 1).
+     *
+     * @param millis khoảng thời gian (ms)
+     * @return số tick tương ứng ở tần số hiện tại
+     */
+    public long ticksFor(long millis) {
+        return Math.max(1, (millis * tickRate + 999) / 1000);
+    }
+
+    /** @return bánh xe hẹn giờ của đồng hồ */
+    public TimerWheel getTimers() {
+        return timers;
+    }
+
+    /** @return số bước mỗi giây */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Đổi tần số cập nhật; thời gian đã chạy được chốt theo tần số cũ.
+     *
+     * @param tickRate số bước cập nhật mỗi giây (tối thiểu 1)
+     */
+    public void setTickRate(int tickRate) {
+        if (this.tickRate > 0) {
+            millisBase = getMillis();
+            baseTick = timers.now();
+        }
+        this.tickRate = Math.max(1, tickRate);
+    }
+
+    /**
+     * Đưa đồng hồ về tick 0 và hủy mọi hẹn giờ.
+     */
+    public void reset() {
+        timers.reset();
+        millisBase = 0;
+        baseTick = 0;
+    }
+}
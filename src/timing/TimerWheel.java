@@ -0,0 +1,274 @@
+package timing;
+
+import java.util.Arrays;
+
+/**
+ * Lớp {@code TimerWheel} là bánh xe hẹn giờ băm (hashed timer wheel) đếm theo tick mô phỏng.
+ * <p>
+ * Bánh xe có {@value #SLOTS} ngăn; hẹn giờ hết hạn ở tick {@code t} nằm trong ngăn
+ * {@code t & (SLOTS - 1)}, mỗi ngăn là một danh sách liên kết đôi theo chỉ số.
+ * Đặt và hủy hẹn giờ đều O(1); mỗi tick chỉ duyệt một ngăn, nên nhiều hiệu ứng có thời hạn
+ * cùng lúc gần như không tốn gì mỗi bước. Hẹn giờ xa hơn một vòng bánh xe vẫn nằm trong ngăn
+ * của nó và chỉ chạy khi đến đúng tick hết hạn.
+ * </p>
+ * <p>
+ * Trạng thái được lưu trong các mảng nguyên thủy (giống {@code BallPool}): đặt hẹn giờ không
+ * cấp phát đối tượng, trừ khi phải nới rộng mảng. Mỗi hẹn giờ được trả về dưới dạng một
+ * "thẻ" {@code long} gồm chỉ số và thế hệ, nên hủy một thẻ đã chạy hoặc đã hủy là vô hại.
+ * Hẹn giờ cùng tick hết hạn chạy theo thứ tự được đặt (tất định, dùng được cho replay).
+ * </p>
+ * <p>
+ * Không an toàn luồng: chỉ dùng trên luồng mô phỏng.
+ * </p>
+ *
+ * @see GameClock
+ */
+public final class TimerWheel {
+
+    /** Thẻ "không có hẹn giờ". */
+    public static final long NONE = 0;
+
+    /** Số ngăn của bánh xe (lũy thừa của 2). */
+    static final int SLOTS = 512;
+
+    /** Mặt nạ lấy ngăn từ tick. */
+    private static final int MASK = SLOTS - 1;
+
+    /** Giá trị "không có" cho các liên kết theo chỉ số. */
+    private static final int NIL = -1;
+
+    /** Phần tử đầu và cuối của từng ngăn. */
+    private final int[] slotHead = new int[SLOTS], slotTail = new int[SLOTS];
+
+    // ====== Hẹn giờ (mỗi mảng một thuộc tính) ======
+    /** Tick hết hạn. */
+    private long[] deadline;
+    /** Tác vụ chạy khi hết hạn ({@code null} = ô trống). */
+    private Runnable[] task;
+    /** Liên kết trong ngăn (hoặc trong danh sách ô trống, qua {@code next}). */
+    private int[] next, prev;
+    /** Thế hệ của ô, tăng mỗi lần ô được giải phóng. */
+    private int[] generation;
+
+    /** Đầu danh sách ô trống. */
+    private int free = NIL;
+
+    /** Số hẹn giờ đang chờ. */
+    private int pending;
+
+    /** Tick hiện tại của bánh xe. */
+    private long now;
+
+    /** Thẻ của các hẹn giờ vừa hết hạn ở tick đang xử lý (dùng lại). */
+    private long[] firing = new long[16];
+
+    /** Khởi tạo bánh xe rỗng ở tick 0. */
+    public TimerWheel() {
+        Arrays.fill(slotHead, NIL);
+        Arrays.fill(slotTail, NIL);
+        allocate(16);
+    }
+
+    /**
+     * Đặt một hẹn giờ.
+     *
+     * @param delayTicks số tick tính từ tick hiện tại (tối thiểu 1)
+     * @param action     tác vụ chạy khi hết hạn
+     * @return thẻ của hẹn giờ (dùng cho {@link #cancel(long)})
+     */
+    public long schedule(long delayTicks, Runnable action) {
+        if (action == null) throw new IllegalArgumentException("action == null");
+        if (free == NIL) allocate(deadline.length * 2);
+        int i = free;
+        free = next[i];
+
+        deadline[i] = now + Math.max(1, delayTicks);
+        task[i] = action;
+        link(i, (int) (deadline[i] & MASK));
+        pending++;
+        return handle(i);
+    }
+
+    /**
+     * Hủy một hẹn giờ (nếu có) rồi đặt lại với thời hạn mới — dùng để "làm mới" hiệu ứng.
+     *
+     * @param timer      thẻ cũ (có thể là {@link #NONE})
+     * @param delayTicks số tick tính từ tick hiện tại
+     * @param action     tác vụ chạy khi hết hạn
+     * @return thẻ mới
+     */
+    public long reschedule(long timer, long delayTicks, Runnable action) {
+        cancel(timer);
+        return schedule(delayTicks, action);
+    }
+
+    /**
+     * Hủy một hẹn giờ.
+     *
+     * @param timer thẻ do {@link #schedule} trả về
+     * @return {@code true} nếu hẹn giờ đang chờ và đã bị hủy
+     */
+    public boolean cancel(long timer) {
+        int i = indexOf(timer);
+        if (i == NIL) return false;
+        if (prev[i] != NIL || slotHead[(int) (deadline[i] & MASK)] == i) {
+            unlink(i, (int) (deadline[i] & MASK));
+        }
+        // Ngược lại ô đang nằm trong danh sách chạy của tick này: giải phóng là đủ
+        release(i);
+        return true;
+    }
+
+    /**
+     * @param timer thẻ do {@link #schedule} trả về
+     * @return {@code true} nếu hẹn giờ chưa chạy và chưa bị hủy
+     */
+    public boolean isPending(long timer) {
+        return indexOf(timer) != NIL;
+    }
+
+    /**
+     * Số tick còn lại của một hẹn giờ.
+     *
+     * @param timer thẻ do {@link #schedule} trả về
+     * @return số tick còn lại, hoặc {@code 0} nếu hẹn giờ không còn chờ
+     */
+    public long remaining(long timer) {
+        int i = indexOf(timer);
+        return i == NIL ? 0 : deadline[i] - now;
+    }
+
+    /** @return số hẹn giờ đang chờ */
+    public int size() {
+        return pending;
+    }
+
+    /** @return tick hiện tại của bánh xe */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * Tiến bánh xe một tick và chạy các hẹn giờ hết hạn ở tick đó, theo thứ tự được đặt.
+     * Tác vụ được phép đặt hoặc hủy hẹn giờ khác.
+     */
+    public void advance() {
+        now++;
+        int slot = (int) (now & MASK);
+        if (slotHead[slot] == NIL) return;
+
+        // Tách các hẹn giờ đến hạn ra trước, để tác vụ có thể sửa bánh xe khi chạy
+        int due = 0;
+        for (int i = slotHead[slot]; i != NIL; ) {
+            int after = next[i];
+            if (deadline[i] == now) {
+                unlink(i, slot);
+                if (due == firing.length) firing = Arrays.copyOf(firing, due * 2);
+                firing[due++] = handle(i);
+            }
+            i = after;
+        }
+
+        for (int k = 0; k < due; k++) {
+            int i = indexOf(firing[k]);
+            if (i == NIL) continue; // Đã bị tác vụ trước hủy
+            Runnable action = task[i];
+            release(i);
+            action.run();
+        }
+    }
+
+    /**
+     * Hủy mọi hẹn giờ (giữ nguyên tick hiện tại), ví dụ khi tải màn chơi mới.
+     */
+    public void clear() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            for (int i = slotHead[slot]; i != NIL; ) {
+                int after = next[i];
+                release(i);
+                i = after;
+            }
+            slotHead[slot] = slotTail[slot] = NIL;
+        }
+    }
+
+    /**
+     * Đưa bánh xe về tick 0 và hủy mọi hẹn giờ.
+     */
+    public void reset() {
+        clear();
+        now = 0;
+    }
+
+    // ====== Nội bộ ======
+
+    /** @return thẻ của ô {@code i} ở thế hệ hiện tại */
+    private long handle(int i) {
+        return ((long) generation[i] << 32) | i;
+    }
+
+    /** @return chỉ số ô nếu thẻ còn hiệu lực, ngược lại {@link #NIL} */
+    private int indexOf(long timer) {
+        if (timer == NONE) return NIL;
+        int i = (int) timer;
+        if (i < 0 || i >= task.length || task[i] == null) return NIL;
+        return generation[i] == (int) (timer >>> 32) ? i : NIL;
+    }
+
+    /** Nối ô {@code i} vào cuối ngăn {@code slot}. */
+    private void link(int i, int slot) {
+        int tail = slotTail[slot];
+        prev[i] = tail;
+        next[i] = NIL;
+        if (tail == NIL) slotHead[slot] = i;
+        else next[tail] = i;
+        slotTail[slot] = i;
+    }
+
+    /** Gỡ ô {@code i} khỏi ngăn {@code slot}. */
+    private void unlink(int i, int slot) {
+        int p = prev[i], n = next[i];
+        if (p == NIL) slotHead[slot] = n;
+        else next[p] = n;
+        if (n == NIL) slotTail[slot] = p;
+        else prev[n] = p;
+        prev[i] = next[i] = NIL;
+    }
+
+    /** Trả ô {@code i} về danh sách ô trống (thẻ cũ hết hiệu lực). */
+    private void release(int i) {
+        task[i] = null;
+        generation[i]++;
+        prev[i] = NIL;
+        next[i] = free;
+        free = i;
+        pending--;
+    }
+
+    /**
+     * Cấp phát lại các mảng với dung lượng mới; các ô mới được đưa vào danh sách ô trống.
+     * Thế hệ bắt đầu từ 1 để không thẻ nào trùng {@link #NONE}.
+     */
+    private void allocate(int capacity) {
+        int old = deadline == null ? 0 : deadline.length;
+        if (deadline == null) {
+            deadline = new long[capacity];
+            task = new Runnable[capacity];
+            next = new int[capacity];
+            prev = new int[capacity];
+            generation = new int[capacity];
+        } else {
+            deadline = Arrays.copyOf(deadline, capacity);
+            task = Arrays.copyOf(task, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            generation = Arrays.copyOf(generation, capacity);
+        }
+        for (int i = capacity - 1; i >= old; i--) {
+            generation[i] = 1;
+            prev[i] = NIL;
+            next[i] = free;
+            free = i;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package Game;
+
+import org.junit.jupiter.api.Test;
+import selfplay.PaddleController;
+
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Kiểm tra {@link GameManager#update()} không cấp phát bộ nhớ ở trạng thái ổn định.
+ * <p>
+ * Mỗi màn được chơi headless bởi bộ điều khiển bám bóng; số byte luồng hiện tại cấp phát
+ * ({@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}) được cộng dồn quanh
+ * từng lần gọi {@code update()}. Mọi màn được chơi một lượt khởi động trước (nạp lớp, JIT biên dịch
+ * đường nóng), rồi mới chơi lại để đo. Các bước có chuyển trạng thái (mất mạng, hoàn thành/chuyển màn,
+ * thua) được bỏ qua vì chúng dựng lại màn hoặc phát bóng mới.
+ * </p>
+ * <p>
+ * Đôi khi chính JVM cấp phát vài chục byte trên luồng game ở một bước bất kỳ (lúc JIT biên dịch lại
+ * đường nóng), nên mỗi màn được đo tối đa {@value #ATTEMPTS} lượt và chỉ cần một lượt sạch:
+ * chơi lại cùng seed đi đúng các bước cũ, nên cấp phát thật của mã game lặp lại ở mọi lượt và vẫn bị bắt.
+ * </p>
+ */
+class TickAllocationTest {
+
+    private static final int WIDTH = 800, HEIGHT = 600;
+    private static final int LEVELS = 5;
+    private static final long SEED = 7L;
+    /** Số bước chơi mỗi màn. */
+    private static final int TICKS = 20_000;
+    /** Số lượt đo tối đa mỗi màn. */
+    private static final int ATTEMPTS = 3;
+
+    @Test
+    void steadyStateTicksDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM không hỗ trợ đo cấp phát theo luồng");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int level = 1; level <= LEVELS; level++) play(threads, level); // Lượt khởi động
+
+        for (int level = 1; level <= LEVELS; level++) {
+            long[] result = play(threads, level);
+            for (int attempt = 1; attempt < ATTEMPTS && result[0] != 0; attempt++) result = play(threads, level);
+            assertTrue(result[1] > 0, "màn " + level + ": không có bước ổn định nào được đo");
+            assertEquals(0, result[0], "màn " + level + ": số byte cấp phát trong " + result[1] + " bước ổn định");
+        }
+    }
+
+    /**
+     * Chơi một màn và đo cấp phát của các bước ổn định.
+     *
+     * @return {@code {số byte cấp phát, số bước ổn định đã đo}}
+     */
+    private static long[] play(com.sun.management.ThreadMXBean threads, int level) {
+        GameManager game = new GameManager(WIDTH, HEIGHT, true);
+        game.startDeterministic(SEED, level, 0);
+        PaddleController controller = PaddleController.create("tracking", SEED);
+
+        long allocated = 0, measured = 0;
+        for (int t = 0; t < TICKS && !game.isGameOver() && !game.isGameWin(); t++) {
+            steer(game, controller.steer(game));
+
+            int lives = game.getLives(), currentLevel = game.getCurrentLevel();
+            boolean levelComplete = game.isLevelComplete();
+            long before = threads.getCurrentThreadAllocatedBytes();
+            game.update();
+            long bytes = threads.getCurrentThreadAllocatedBytes() - before;
+
+            if (lives == game.getLives() && currentLevel == game.getCurrentLevel()
+                    && levelComplete == game.isLevelComplete() && !game.isGameOver() && !game.isGameWin()) {
+                allocated += bytes;
+                measured++;
+            }
+        }
+        return new long[]{allocated, measured};
+    }
+
+    /** Chuyển hướng mong muốn thành phím trái/phải, như {@code SelfPlay}. */
+    private static void steer(GameManager game, int direction) {
+        if (direction < 0) {
+            game.onKeyReleased(KeyEvent.VK_RIGHT);
+            game.onKeyPressed(KeyEvent.VK_LEFT);
+        } else if (direction > 0) {
+            game.onKeyReleased(KeyEvent.VK_LEFT);
+            game.onKeyPressed(KeyEvent.VK_RIGHT);
+        } else {
+            game.onKeyReleased(KeyEvent.VK_LEFT);
+            game.onKeyReleased(KeyEvent.VK_RIGHT);
+        }
+    }
+}
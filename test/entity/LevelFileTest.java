@@ -0,0 +1,116 @@
+package entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Kiểm tra {@link LevelFile}: biên dịch lưới ký tự, giải mã vào {@link BrickField},
+ * và bỏ qua file nguồn sai cú pháp hoặc bộ đệm biên dịch đã cũ/hỏng.
+ */
+class LevelFileTest {
+
+    private static final int START_Y = 50;
+    private static final long STAMP = 1_700_000_000_000L;
+
+    private static final List<String> SOURCE = List.of(
+            "# Hàng trên không thể phá, hàng dưới lệch nửa viên",
+            "UUNN",
+            "",
+            ">NX?.");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compiledLevelDecodesToSameLayout() {
+        BrickField bricks = LevelFile.decode(ByteBuffer.wrap(compile()), START_Y, new Random(1));
+
+        assertEquals(7, bricks.getLiveCount());
+        assertEquals(2, bricks.getLiveCount(Brick.UNBREAKABLE));
+        int half = BrickFactory.BRICK_WIDTH / 2, w = BrickFactory.BRICK_WIDTH, h = BrickFactory.BRICK_HEIGHT;
+        assertEquals(List.of(
+                        List.of(0, START_Y), List.of(w, START_Y), List.of(2 * w, START_Y), List.of(3 * w, START_Y),
+                        List.of(half, START_Y + h), List.of(half + w, START_Y + h), List.of(half + 2 * w, START_Y + h)),
+                positions(bricks));
+    }
+
+    @Test
+    void randomCellsFollowTheSessionSeed() {
+        byte[] compiled = compile();
+        for (long seed = 0; seed < 20; seed++) {
+            assertEquals(types(LevelFile.decode(ByteBuffer.wrap(compiled), START_Y, new Random(seed))),
+                    types(LevelFile.decode(ByteBuffer.wrap(compiled), START_Y, new Random(seed))));
+        }
+    }
+
+    @Test
+    void invalidSourceIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LevelFile.compile(List.of("NNZN"), STAMP, 4));
+        assertThrows(IllegalArgumentException.class, () -> LevelFile.compile(List.of("# trống"), STAMP, 7));
+        assertThrows(IllegalArgumentException.class,
+                () -> LevelFile.compile(List.of("N".repeat(LevelFile.MAX_COLS + 1)), STAMP, 21));
+    }
+
+    @Test
+    void cacheIsUsedOnlyWhileItMatchesTheSource() throws IOException {
+        Path cache = dir.resolve("level1.bin");
+        Files.write(cache, compile());
+
+        assertNotNull(LevelFile.loadCache(cache, STAMP, sourceSize(), START_Y, new Random(1)));
+        assertNull(LevelFile.loadCache(cache, STAMP + 1, sourceSize(), START_Y, new Random(1)));
+        assertNull(LevelFile.loadCache(cache, STAMP, sourceSize() + 1, START_Y, new Random(1)));
+        assertNull(LevelFile.loadCache(dir.resolve("missing.bin"), STAMP, sourceSize(), START_Y, new Random(1)));
+    }
+
+    @Test
+    void corruptCacheIsIgnored() throws IOException {
+        byte[] compiled = compile();
+        Path cache = dir.resolve("level1.bin");
+
+        Files.write(cache, Arrays.copyOf(compiled, compiled.length - 3)); // Cắt cụt giữa lưới
+        assertNull(LevelFile.loadCache(cache, STAMP, sourceSize(), START_Y, new Random(1)));
+
+        byte[] badMagic = compiled.clone();
+        badMagic[0] ^= 0x01;
+        Files.write(cache, badMagic);
+        assertNull(LevelFile.loadCache(cache, STAMP, sourceSize(), START_Y, new Random(1)));
+    }
+
+    private static byte[] compile() {
+        return LevelFile.compile(SOURCE, STAMP, sourceSize());
+    }
+
+    private static long sourceSize() {
+        return String.join("\n", SOURCE).length();
+    }
+
+    /** @return tọa độ {@code (x, y)} của mọi gạch còn sống, theo thứ tự ô */
+    private static List<List<Integer>> positions(BrickField bricks) {
+        List<List<Integer>> list = new ArrayList<>();
+        for (int c = bricks.nextLive(0); c >= 0; c = bricks.nextLive(c + 1)) {
+            list.add(List.of(bricks.getX(c), bricks.getY(c)));
+        }
+        return list;
+    }
+
+    /** @return loại của mọi gạch còn sống, theo thứ tự ô */
+    private static List<Byte> types(BrickField bricks) {
+        List<Byte> list = new ArrayList<>();
+        for (int c = bricks.nextLive(0); c >= 0; c = bricks.nextLive(c + 1)) list.add(bricks.getType(c));
+        return list;
+    }
+}
@@ -0,0 +1,89 @@
+package storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Kiểm tra {@link ProgressStore} trên file thật: tiến độ được giữ qua lần mở lại, và file hỏng
+ * bị bỏ qua (bắt đầu lại từ màn 1) thay vì làm hỏng tiến độ.
+ */
+class ProgressStoreTest {
+
+    private static final int LEVELS = 5;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void progressSurvivesReopen() {
+        writeSampleProgress();
+        try (ProgressStore store = new ProgressStore(file(), LEVELS)) {
+            assertEquals(3, store.getUnlockedLevel());
+            assertEquals(2, store.getAttempts(2));
+            assertEquals(500, store.getBestScore(2));
+            assertEquals(12_000, store.getBestTimeMillis(2));
+            assertEquals(0, store.getBestScore(1));
+        }
+    }
+
+    @Test
+    void levelCountChangeKeepsCommonLevels() {
+        writeSampleProgress();
+        try (ProgressStore store = new ProgressStore(file(), LEVELS + 2)) {
+            assertEquals(3, store.getUnlockedLevel());
+            assertEquals(500, store.getBestScore(2));
+            assertEquals(0, store.getBestScore(LEVELS + 2));
+        }
+        try (ProgressStore store = new ProgressStore(file(), 2)) {
+            assertEquals(2, store.getUnlockedLevel()); // Không mở quá số màn hiện có
+            assertEquals(500, store.getBestScore(2));
+        }
+    }
+
+    @Test
+    void corruptFileStartsOver() throws IOException {
+        writeSampleProgress();
+        byte[] data = Files.readAllBytes(file());
+        data[24] ^= 0x01; // Điểm cao nhất của màn 1
+        Files.write(file(), data);
+        assertFreshProgress();
+    }
+
+    @Test
+    void truncatedFileStartsOver() throws IOException {
+        writeSampleProgress();
+        byte[] data = Files.readAllBytes(file());
+        Files.write(file(), Arrays.copyOf(data, data.length - 6));
+        assertFreshProgress();
+    }
+
+    private void writeSampleProgress() {
+        try (ProgressStore store = new ProgressStore(file(), LEVELS)) {
+            store.unlock(3);
+            store.recordAttempt(2);
+            store.recordAttempt(2);
+            store.recordClear(2, 500, 15_000);
+            store.recordClear(2, 300, 12_000); // Chỉ giữ điểm cao nhất và thời gian nhanh nhất
+        }
+    }
+
+    private void assertFreshProgress() {
+        try (ProgressStore store = new ProgressStore(file(), LEVELS)) {
+            assertEquals(1, store.getUnlockedLevel());
+            assertEquals(0, store.getBestScore(2));
+            assertEquals(ProgressStore.NO_TIME, store.getBestTimeMillis(2));
+            assertEquals(0, store.getAttempts(2));
+        }
+    }
+
+    private Path file() {
+        return dir.resolve("progress.bin");
+    }
+}
@@ -0,0 +1,131 @@
+package storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Kiểm tra {@link ScoreJournal} trên file thật: ghi, mở lại, và phục hồi sau các kiểu hỏng
+ * mà một lần mất điện có thể để lại (bản ghi cắt dở, sai CRC, sập giữa lúc nén gọn, ảnh chụp hỏng).
+ */
+class ScoreJournalTest {
+
+    private static final int CAPACITY = 10;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void scoresSurviveReopen() {
+        try (ScoreJournal journal = open(100)) {
+            journal.add(300);
+            journal.add(100);
+            journal.add(200);
+        }
+        try (ScoreJournal journal = open(100)) {
+            assertEquals(List.of(300, 200, 100), journal.getScores());
+            journal.clear();
+            journal.add(50);
+        }
+        try (ScoreJournal journal = open(100)) {
+            assertEquals(List.of(50), journal.getScores());
+        }
+    }
+
+    @Test
+    void journalTruncatedMidRecordIsCutBackToLastGoodRecord() throws IOException {
+        try (ScoreJournal journal = open(100)) {
+            journal.add(100);
+            journal.add(200);
+            journal.add(300);
+        }
+        byte[] data = Files.readAllBytes(journalPath());
+        Files.write(journalPath(), Arrays.copyOf(data, data.length - 4)); // Bản ghi cuối cắt dở
+
+        try (ScoreJournal journal = open(100)) {
+            assertEquals(List.of(200, 100), journal.getScores());
+            journal.add(50); // Ghi tiếp ngay sau bản ghi tốt cuối cùng
+        }
+        assertEquals(ScoreJournal.JOURNAL_HEADER + 3 * ScoreJournal.RECORD_SIZE, Files.size(journalPath()));
+        try (ScoreJournal journal = open(100)) {
+            assertEquals(List.of(200, 100, 50), journal.getScores());
+        }
+    }
+
+    @Test
+    void recordWithBadCrcStopsReplay() throws IOException {
+        try (ScoreJournal journal = open(100)) {
+            journal.add(100);
+            journal.add(200);
+            journal.add(300);
+        }
+        byte[] data = Files.readAllBytes(journalPath());
+        data[ScoreJournal.JOURNAL_HEADER + ScoreJournal.RECORD_SIZE + 2] ^= 0x10; // Điểm của bản ghi thứ hai
+        Files.write(journalPath(), data);
+
+        try (ScoreJournal journal = open(100)) {
+            assertEquals(List.of(100), journal.getScores());
+        }
+        assertEquals(ScoreJournal.JOURNAL_HEADER + ScoreJournal.RECORD_SIZE, Files.size(journalPath()));
+    }
+
+    @Test
+    void staleJournalFromCrashDuringCompactionIsIgnored() throws IOException {
+        try (ScoreJournal journal = open(100)) {
+            journal.add(100);
+            journal.add(200);
+        }
+        byte[] staleJournal = Files.readAllBytes(journalPath());
+
+        try (ScoreJournal journal = open(1)) {
+            journal.add(300); // Nén gọn: ảnh chụp thế hệ mới chứa cả 3 điểm, nhật ký được làm rỗng
+        }
+        // Sập sau khi ghi ảnh chụp nhưng trước khi làm rỗng nhật ký: nhật ký thế hệ cũ còn nguyên
+        Files.write(journalPath(), staleJournal);
+
+        try (ScoreJournal journal = open(100)) {
+            assertEquals(List.of(300, 200, 100), journal.getScores());
+        }
+        assertEquals(ScoreJournal.JOURNAL_HEADER, Files.size(journalPath()));
+    }
+
+    @Test
+    void corruptSnapshotFallsBackToEmptyTable() throws IOException {
+        try (ScoreJournal journal = open(1)) {
+            journal.add(100);
+            journal.add(200);
+        }
+        assertTrue(Files.exists(snapshotPath()));
+        byte[] data = Files.readAllBytes(snapshotPath());
+        data[20] ^= 0x01; // Điểm đầu tiên trong ảnh chụp
+        Files.write(snapshotPath(), data);
+
+        try (ScoreJournal journal = open(100)) {
+            assertEquals(List.of(), journal.getScores());
+            journal.add(42);
+        }
+        try (ScoreJournal journal = open(100)) {
+            assertEquals(List.of(42), journal.getScores());
+        }
+    }
+
+    private ScoreJournal open(int compactEvery) {
+        return new ScoreJournal(dir.resolve("leaderboard"), CAPACITY, compactEvery, null);
+    }
+
+    private Path journalPath() {
+        return dir.resolve("leaderboard.journal");
+    }
+
+    private Path snapshotPath() {
+        return dir.resolve("leaderboard.snap");
+    }
+}
@@ -0,0 +1,33 @@
+package timing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Kiểm tra {@link GameClock}: đổi tần số cập nhật giữa chừng không co giãn các mốc thời gian đã lấy.
+ */
+class GameClockTest {
+
+    @Test
+    void tickRateChangeKeepsElapsedMillis() {
+        GameClock clock = new GameClock(60);
+        advance(clock, 120);
+        long before = clock.getMillis();
+        assertEquals(2000, before);
+
+        clock.setTickRate(120);
+        assertEquals(before, clock.getMillis()); // Mốc đã lấy không bị chia đôi
+        advance(clock, 120);
+        assertEquals(3000, clock.getMillis());
+
+        clock.reset();
+        assertEquals(0, clock.getMillis());
+        advance(clock, 60);
+        assertEquals(500, clock.getMillis());
+    }
+
+    private static void advance(GameClock clock, int ticks) {
+        for (int i = 0; i < ticks; i++) clock.advance();
+    }
+}